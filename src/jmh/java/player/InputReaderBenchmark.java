@@ -0,0 +1,76 @@
+package player;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import player.Player.FastIntReader;
+
+/**
+ * Compares {@link Scanner} against {@link FastIntReader} when parsing a turn input. <br>
+ * The turn follows the usual referee layout: an entity count followed by one line of ints per entity.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputReaderBenchmark {
+
+    private static final int VALUES_PER_ENTITY = 6;
+
+    @Param({ "10", "100", "1000" })
+    private int entities;
+
+    private byte[] turn;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder input = new StringBuilder().append(entities).append('\n');
+        for (int i = 0; i < entities; i++) {
+            for (int j = 0; j < VALUES_PER_ENTITY; j++) {
+                input.append(j == 0 ? "" : " ").append(random.nextInt(40000) - 20000);
+            }
+            input.append('\n');
+        }
+        turn = input.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public long scanner() {
+        Scanner in = new Scanner(new ByteArrayInputStream(turn));
+        long checksum = 0;
+        int count = in.nextInt() * VALUES_PER_ENTITY;
+        for (int i = 0; i < count; i++) {
+            checksum += in.nextInt();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long fastIntReader() {
+        FastIntReader in = new FastIntReader(new ByteArrayInputStream(turn), 8192);
+        long checksum = 0;
+        int count = in.nextInt() * VALUES_PER_ENTITY;
+        for (int i = 0; i < count; i++) {
+            checksum += in.nextInt();
+        }
+        return checksum;
+    }
+}
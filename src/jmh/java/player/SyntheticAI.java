@@ -0,0 +1,55 @@
+package player;
+
+import java.util.SplittableRandom;
+import java.util.function.IntSupplier;
+
+import com.google.common.collect.ImmutableMap;
+
+import player.Player.AI;
+import player.Player.Action;
+import player.engine.SyntheticGE;
+
+/**
+ * AI that reads one input per turn and then burns CPU for a fixed number of iterations
+ */
+public final class SyntheticAI extends AI {
+
+    private static final Action[] NO_ACTIONS = new Action[0];
+
+    private final IntSupplier input;
+    private final int cost;
+    private long state;
+
+    /**
+     * @param cost number of busy iterations per turn
+     */
+    public SyntheticAI(IntSupplier input, int cost) {
+        this(input, cost, "synthetic");
+    }
+
+    public SyntheticAI(IntSupplier input, int cost, String id) {
+        super(ImmutableMap.of("cost", cost, "id", id), SyntheticAI::noOp);
+        this.input = input;
+        this.cost = cost;
+    }
+
+    @Override
+    public Action[] play() {
+        state = SyntheticGE.burn(state ^ input.getAsInt(), cost);
+        return NO_ACTIONS;
+    }
+
+    @Override
+    public boolean reset(SplittableRandom random) {
+        state = 0;
+        return true;
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    private static void noOp() {
+        // ILB
+    }
+}
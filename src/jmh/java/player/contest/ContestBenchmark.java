@@ -0,0 +1,87 @@
+package player.contest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import player.Player.AI;
+import player.SyntheticAI;
+import player.contest.Contest.ContestResult;
+import player.engine.GameEngine;
+import player.engine.SyntheticGE;
+
+/**
+ * Time of a whole contest for a growing number of AIs. <br>
+ * Every pair of AIs plays a game, so it should grow with the square of the number of AIs, any faster growth comes
+ * from the harness.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContestBenchmark {
+
+    private static final int NUMBER_OF_MATCHES = 4;
+    private static final int ROUNDS = 20;
+
+    @Param({ "2", "4", "8", "16" })
+    private int numberOfAIs;
+
+    @Param({ "0", "1000" })
+    private int cost;
+
+    private List<Function<IntSupplier, Supplier<AI>>> ais;
+    private List<Supplier<GameEngine>> gameEngines;
+    private ForkJoinPool forkJoinPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ais = new ArrayList<>();
+        for (int i = 0; i < numberOfAIs; i++) {
+            String id = "ai-" + i;
+            ais.add((input) -> () -> new SyntheticAI(input, cost, id));
+        }
+        gameEngines = Collections.singletonList(() -> new SyntheticGE(ROUNDS, cost));
+        forkJoinPool = new ForkJoinPool();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        forkJoinPool.shutdownNow();
+    }
+
+    @Benchmark
+    public ContestResult contest() throws Exception {
+        return new Contest(ais, gameEngines, forkJoinPool, NUMBER_OF_MATCHES).call();
+    }
+
+    @Benchmark
+    public ContestResult contestWithReusedInstances() throws Exception {
+        return Contest.newBuilder(ais, gameEngines, forkJoinPool, forkJoinPool)
+                .withNumberOfMatches(NUMBER_OF_MATCHES)
+                .withInstancesReused(true)
+                .build()
+                .call();
+    }
+}
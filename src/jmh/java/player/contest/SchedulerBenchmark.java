@@ -0,0 +1,91 @@
+package player.contest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import player.Player.AI;
+import player.SyntheticAI;
+import player.contest.Contest.ContestResult;
+import player.engine.GameEngine;
+import player.engine.SyntheticGE;
+
+/**
+ * Compares a contest run on two fixed thread pools, games blocking on matches, against a single shared fork/join
+ * pool, for a growing number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    private static final int NUMBER_OF_AIS = 6;
+    private static final int NUMBER_OF_MATCHES = 8;
+    private static final int ROUNDS = 50;
+    private static final int COST = 2_000;
+
+    @Param({ "1", "2", "4", "8" })
+    private int threads;
+
+    private List<Function<IntSupplier, Supplier<AI>>> ais;
+    private List<Supplier<GameEngine>> gameEngines;
+
+    private ExecutorService gameExecutorService;
+    private ExecutorService matchExecutorService;
+    private ForkJoinPool forkJoinPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ais = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_AIS; i++) {
+            String id = "ai-" + i;
+            ais.add((input) -> () -> new SyntheticAI(input, COST, id));
+        }
+        gameEngines = Collections.singletonList(() -> new SyntheticGE(ROUNDS, COST));
+
+        gameExecutorService = Executors.newFixedThreadPool(threads);
+        matchExecutorService = Executors.newFixedThreadPool(threads);
+        forkJoinPool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        gameExecutorService.shutdownNow();
+        matchExecutorService.shutdownNow();
+        forkJoinPool.shutdownNow();
+    }
+
+    @Benchmark
+    public ContestResult nestedThreadPools() throws Exception {
+        return new Contest(ais, gameEngines, gameExecutorService, matchExecutorService, NUMBER_OF_MATCHES).call();
+    }
+
+    @Benchmark
+    public ContestResult forkJoinPool() throws Exception {
+        return new Contest(ais, gameEngines, forkJoinPool, NUMBER_OF_MATCHES).call();
+    }
+}
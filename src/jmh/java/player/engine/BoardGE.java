@@ -0,0 +1,84 @@
+package player.engine;
+
+import java.util.SplittableRandom;
+
+import com.google.common.collect.ImmutableMap;
+
+import player.Player.Action;
+
+/**
+ * Game engine playing on a board of int cells, where each round overwrites a few pseudo random cells, so benchmarks
+ * can measure state copies for a known board size and number of changes per round. <br>
+ * It feeds one input to each AI per round and never finishes. Its whole state lives in cells, so it supports
+ * snapshots and state hashes.
+ */
+public final class BoardGE extends ConfigurableGE {
+
+    private static final int SEED = 0;
+    private static final int PLAYER_SCORE = 1;
+    private static final int OPPONENT_SCORE = 2;
+    private static final int BOARD = 3;
+
+    private final int boardSize;
+    private final int changes;
+
+    /**
+     * @param boardSize number of board cells
+     * @param changes number of board cells written per round
+     */
+    public BoardGE(int boardSize, int changes) {
+        super(ImmutableMap.of("boardSize", boardSize, "changes", changes), BOARD + boardSize);
+        this.boardSize = boardSize;
+        this.changes = changes;
+    }
+
+    @Override
+    public void start() {
+        for (int i = 0; i < getNumberOfCells(); i++) {
+            setCell(i, 0);
+        }
+        setCell(SEED, 0x9E3779B9);
+    }
+
+    @Override
+    protected Winner runRound(Action[] playerActions, Action[] opponentActions) {
+        int x = getCell(SEED);
+        for (int i = 0; i < changes; i++) {
+            x = x * 1103515245 + 12345;
+            int cell = BOARD + ((x >>> 1) % boardSize);
+            setCell(cell, getCell(cell) + 1);
+        }
+        setCell(SEED, x);
+        setCell(PLAYER_SCORE, getCell(PLAYER_SCORE) + (x & 1));
+        setCell(OPPONENT_SCORE, getCell(OPPONENT_SCORE) + (x >>> 31));
+
+        toPlayerInput(x);
+        toOpponentInput(~x);
+        return Winner.ON_GOING;
+    }
+
+    @Override
+    protected boolean resetState(SplittableRandom random) {
+        return true;
+    }
+
+    @Override
+    public boolean supportsSnapshots() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsStateHash() {
+        return true;
+    }
+
+    @Override
+    public int getPlayerScore() {
+        return getCell(PLAYER_SCORE);
+    }
+
+    @Override
+    public int getOpponentScore() {
+        return getCell(OPPONENT_SCORE);
+    }
+}
@@ -0,0 +1,61 @@
+package player.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Input throughput of a {@link ConfigurableGE}, as seen by an AI reading its turn inputs one value at a time or all
+ * at once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurableGEBenchmark {
+
+    @Param({ "8", "256", "4096" })
+    private int valuesPerRound;
+
+    private int[] round;
+    private int[] dst;
+    private SyntheticGE gameEngine;
+
+    @Setup
+    public void setUp() {
+        round = new int[valuesPerRound];
+        for (int i = 0; i < valuesPerRound; i++) {
+            round[i] = i * 31 - 1000;
+        }
+        dst = new int[valuesPerRound];
+        gameEngine = new SyntheticGE(1, 0);
+    }
+
+    @Benchmark
+    public void singleValueReads(Blackhole blackhole) {
+        gameEngine.toPlayerInput(round, 0, round.length);
+        for (int i = 0; i < valuesPerRound; i++) {
+            blackhole.consume(gameEngine.playerInput());
+        }
+    }
+
+    @Benchmark
+    public int[] bulkReads() {
+        gameEngine.toPlayerInput(round, 0, round.length);
+        gameEngine.playerInput(dst, 0, valuesPerRound);
+        return dst;
+    }
+}
@@ -0,0 +1,77 @@
+package player.engine;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the primitive input channel used by {@link ConfigurableGE} against the boxed queue it replaced. <br>
+ * Each invocation feeds a whole round of inputs and then drains it, as an engine and an AI do every round.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputChannelBenchmark {
+
+    @Param({ "8", "256", "4096" })
+    private int valuesPerRound;
+
+    private int[] round;
+    private int[] dst;
+
+    private Queue<Integer> boxed;
+    private IntRingBuffer primitive;
+
+    @Setup
+    public void setUp() {
+        round = new int[valuesPerRound];
+        for (int i = 0; i < valuesPerRound; i++) {
+            round[i] = i * 31 - 1000;
+        }
+        dst = new int[valuesPerRound];
+
+        boxed = new ArrayDeque<>();
+        primitive = new IntRingBuffer();
+    }
+
+    @Benchmark
+    public void boxedQueue(Blackhole blackhole) {
+        for (int value : round) {
+            boxed.add(value);
+        }
+        while (!boxed.isEmpty()) {
+            blackhole.consume(boxed.poll().intValue());
+        }
+    }
+
+    @Benchmark
+    public void ringBuffer(Blackhole blackhole) {
+        primitive.addAll(round, 0, round.length);
+        while (!primitive.isEmpty()) {
+            blackhole.consume(primitive.poll());
+        }
+    }
+
+    @Benchmark
+    public int[] ringBufferBulk() {
+        primitive.addAll(round, 0, round.length);
+        primitive.poll(dst, 0, dst.length);
+        return dst;
+    }
+}
@@ -0,0 +1,68 @@
+package player.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of simulating a few rounds from a saved state and going back to it, as search AIs do thousands of times per
+ * turn: restoring a {@link ConfigurableGE} snapshot from its undo log, against deep copying the whole state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({ "64", "4096", "65536" })
+    private int boardSize;
+
+    @Param({ "1", "8" })
+    private int rounds;
+
+    private static final int CHANGES = 4;
+
+    private BoardGE root;
+    private BoardGE scratch;
+    private int token;
+
+    @Setup
+    public void setUp() {
+        root = new BoardGE(boardSize, CHANGES);
+        root.start();
+        root.run(null, null);
+        scratch = new BoardGE(boardSize, CHANGES);
+        token = root.snapshot();
+    }
+
+    @Benchmark
+    public int undoLog() {
+        for (int i = 0; i < rounds; i++) {
+            root.run(null, null);
+        }
+        int score = root.getPlayerScore();
+        root.restore(token);
+        return score;
+    }
+
+    @Benchmark
+    public int deepCopy() {
+        scratch.copyFrom(root);
+        for (int i = 0; i < rounds; i++) {
+            scratch.run(null, null);
+        }
+        return scratch.getPlayerScore();
+    }
+}
@@ -0,0 +1,58 @@
+package player.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of hashing the state after each simulated round, as a search probing its transposition table does: the
+ * incremental {@link ConfigurableGE#stateHash()}, against rehashing every cell. Both restore a snapshot after the
+ * round, so the board does not drift.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateHashBenchmark {
+
+    @Param({ "64", "4096" })
+    private int boardSize;
+
+    private BoardGE engine;
+    private int token;
+
+    @Setup
+    public void setUp() {
+        engine = new BoardGE(boardSize, 4);
+        engine.start();
+        token = engine.snapshot();
+    }
+
+    @Benchmark
+    public long incremental() {
+        engine.run(null, null);
+        long hash = engine.stateHash();
+        engine.restore(token);
+        return hash;
+    }
+
+    @Benchmark
+    public long full() {
+        engine.run(null, null);
+        long hash = engine.rehash();
+        engine.restore(token);
+        return hash;
+    }
+}
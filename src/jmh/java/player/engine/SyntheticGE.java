@@ -0,0 +1,83 @@
+package player.engine;
+
+import java.util.SplittableRandom;
+
+import com.google.common.collect.ImmutableMap;
+
+import player.Player.Action;
+
+/**
+ * Game engine whose rounds do nothing but burning CPU, so benchmarks measure the harness overhead for a known
+ * engine cost. <br>
+ * It feeds one input to each AI per round and finishes after a fixed number of rounds.
+ */
+public final class SyntheticGE extends ConfigurableGE {
+
+    private final int maxRounds;
+    private final int cost;
+
+    private long state;
+    private int playerScore;
+    private int opponentScore;
+
+    /**
+     * @param rounds number of rounds per match
+     * @param cost number of busy iterations per round
+     */
+    public SyntheticGE(int rounds, int cost) {
+        super(ImmutableMap.of("rounds", rounds, "cost", cost));
+        this.maxRounds = rounds;
+        this.cost = cost;
+    }
+
+    @Override
+    public void start() {
+        state = 0x9E3779B97F4A7C15L;
+        playerScore = 0;
+        opponentScore = 0;
+        toPlayerInput((int) state);
+        toOpponentInput((int) (state >>> 32));
+    }
+
+    @Override
+    protected Winner runRound(Action[] playerActions, Action[] opponentActions) {
+        state = burn(state, cost);
+
+        playerScore += (int) (state & 1);
+        opponentScore += (int) (state >>> 63);
+
+        toPlayerInput((int) state);
+        toOpponentInput((int) (state >>> 32));
+
+        if (getNumberOfRounds() + 1 < maxRounds) {
+            return Winner.ON_GOING;
+        }
+        return playerScore >= opponentScore ? Winner.PLAYER : Winner.OPPONENT;
+    }
+
+    @Override
+    protected boolean resetState(SplittableRandom random) {
+        return true;
+    }
+
+    @Override
+    public int getPlayerScore() {
+        return playerScore;
+    }
+
+    @Override
+    public int getOpponentScore() {
+        return opponentScore;
+    }
+
+    /**
+     * Steps a linear congruential generator {@code iterations} times
+     */
+    public static long burn(long seed, int iterations) {
+        long x = seed;
+        for (int i = 0; i < iterations; i++) {
+            x = x * 6364136223846793005L + 1442695040888963407L;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,77 @@
+package player.game;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import player.Player.AI;
+import player.SyntheticAI;
+import player.engine.GameEngine;
+import player.engine.SyntheticGE;
+import player.game.Game.GameResult;
+
+/**
+ * Time of a whole game for a growing number of matches and threads. <br>
+ * Ideally it grows linearly with the number of matches and shrinks linearly with the number of threads, up to the
+ * number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+
+    private static final int ROUNDS = 50;
+
+    @Param({ "1", "8", "64" })
+    private int numberOfMatches;
+
+    @Param({ "1", "2", "4" })
+    private int threads;
+
+    @Param({ "0", "1000" })
+    private int cost;
+
+    private Function<IntSupplier, Supplier<AI>> ai;
+    private Supplier<GameEngine> gameEngine;
+    private ForkJoinPool forkJoinPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ai = (input) -> () -> new SyntheticAI(input, cost);
+        gameEngine = () -> new SyntheticGE(ROUNDS, cost);
+        forkJoinPool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        forkJoinPool.shutdownNow();
+    }
+
+    @Benchmark
+    public GameResult game() throws Exception {
+        return Game.newBuilder(ai, ai, gameEngine, forkJoinPool)
+                .withNumberOfMatches(numberOfMatches)
+                .withMatchResultsRetained(false)
+                .build()
+                .call();
+    }
+}
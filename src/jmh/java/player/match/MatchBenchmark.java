@@ -0,0 +1,93 @@
+package player.match;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import player.Player.AI;
+import player.SyntheticAI;
+import player.engine.GameEngine;
+import player.engine.SyntheticGE;
+import player.match.Match.MatchResult;
+import player.replay.ReplayRecorder;
+
+/**
+ * Time per round of a single match, reported per round. <br>
+ * With a zero cost it measures the match loop alone, higher costs show how the harness overhead fades away. <br>
+ * {@code recorded} adds the cost of writing the match to a replay file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark {
+
+    private static final int ROUNDS = 100;
+
+    @Param({ "0", "100", "1000" })
+    private int cost;
+
+    private Function<IntSupplier, Supplier<AI>> ai;
+    private Supplier<GameEngine> gameEngine;
+    private MatchPool matchPool;
+    private Path replayFile;
+    private ReplayRecorder recorder;
+
+    @Setup
+    public void setUp() throws IOException {
+        ai = (input) -> () -> new SyntheticAI(input, cost);
+        gameEngine = () -> new SyntheticGE(ROUNDS, cost);
+        matchPool = new MatchPool(ai, ai, gameEngine);
+        replayFile = Files.createTempFile("benchmark", ".replay");
+        recorder = new ReplayRecorder(replayFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        recorder.close();
+        Files.delete(replayFile);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public MatchResult newInstances() {
+        return new Match(ai, ai, gameEngine).call();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public MatchResult recorded() {
+        return Match.newBuilder(ai, ai, gameEngine)
+                .withReplayRecorder(recorder)
+                .build()
+                .call();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public MatchResult reusedInstances() {
+        MatchResult result = matchPool.newMatch().call();
+        matchPool.release(result);
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package player.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import player.Player.Action;
+import player.Player.TurnBudget;
+import player.engine.BoardGE;
+import player.engine.GameEngine;
+
+/**
+ * Playouts per second of a {@link Mcts} search on a cheap engine, so it measures the search overhead: tree descent,
+ * rollouts and snapshot restores. <br>
+ * Parallel searches use 4 threads, their score scales with the available cores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsBenchmark {
+
+    private static final int PLAYOUTS = 10_000;
+
+    @Param({ "4", "16" })
+    private int moves;
+
+    @Param({ "0", "10" })
+    private int rolloutDepth;
+
+    private static final int THREADS = 4;
+
+    private BoardGE engine;
+    private Mcts mcts;
+    private List<GameEngine> engines;
+    private ExecutorService executorService;
+    private ParallelMcts root;
+    private ParallelMcts tree;
+
+    @Setup
+    public void setUp() {
+        engine = new BoardGE(256, 4);
+        engine.start();
+        mcts = newSearch().build();
+
+        engines = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            BoardGE threadEngine = new BoardGE(256, 4);
+            threadEngine.start();
+            engines.add(threadEngine);
+        }
+        executorService = Executors.newFixedThreadPool(THREADS);
+        root = ParallelMcts.root(newSearch(), THREADS, executorService);
+        tree = ParallelMcts.tree(newSearch(), THREADS, executorService);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    private Mcts.Builder newSearch() {
+        return Mcts.newBuilder(new ConstantMoves(moves))
+                .withRolloutDepth(rolloutDepth)
+                .withMaxPlayouts(PLAYOUTS)
+                .withRandom(new SplittableRandom(7L));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYOUTS)
+    public Action[] search() {
+        return mcts.search(engine, TurnBudget.unlimited());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYOUTS)
+    public Action[] rootParallel() {
+        return root.search(engines, TurnBudget.unlimited());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYOUTS)
+    public Action[] treeParallel() {
+        return tree.search(engines, TurnBudget.unlimited());
+    }
+
+    private static final class ConstantMoves implements MoveGenerator {
+
+        private final Action[][] moves;
+
+        ConstantMoves(int numberOfMoves) {
+            this.moves = new Action[numberOfMoves][];
+            for (int i = 0; i < numberOfMoves; i++) {
+                moves[i] = new Action[] { new Action() };
+            }
+        }
+
+        @Override
+        public int playerMoves(GameEngine engine) {
+            return moves.length;
+        }
+
+        @Override
+        public int opponentMoves(GameEngine engine) {
+            return moves.length;
+        }
+
+        @Override
+        public Action[] playerMove(GameEngine engine, int index) {
+            return moves[index];
+        }
+
+        @Override
+        public Action[] opponentMove(GameEngine engine, int index) {
+            return moves[index];
+        }
+    }
+}
@@ -1,26 +1,47 @@
 package player;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
+import java.util.InputMismatchException;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.IntSupplier;
 
 public final class Player {
 
+    /**
+     * Response time allowed by the referee on each turn but the first
+     */
+    private static final long TURN_LIMIT_MILLIS = 100;
+
+    /**
+     * Kept for reading the input, writing the actions and garbage collection pauses
+     */
+    private static final long TURN_MARGIN_MILLIS = 15;
+
+    private static final long TURN_BUDGET_MILLIS = TURN_LIMIT_MILLIS - TURN_MARGIN_MILLIS;
+
     public static void main(String args[]) {
 
-        Scanner in = new Scanner(System.in);
+        FastIntReader in = new FastIntReader(System.in);
+        ActionWriter out = new ActionWriter(System.out);
+        TurnBudget budget = new TurnBudget(TURN_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
 
         Repository repo = null;
         AI ai = null;
 
         while (true) {
             ai.updateRepository();
-            Action[] actions = ai.play();
-            for (Action action : actions) {
-                System.out.println(action.asString());
-            }
+            budget.startTurn();
+            Action[] actions = ai.play(budget);
+            out.write(actions);
+            budget.endTurn();
         }
     }
 
@@ -36,6 +57,14 @@ public final class Player {
         public String asString() {
             return "";
         }
+
+        /**
+         * Appends this action command to {@code out}. <br>
+         * Override it to write the command piece by piece and avoid building a string per action.
+         */
+        public void writeTo(Appendable out) throws IOException {
+            out.append(asString());
+        }
     }
 
     public static abstract class AI {
@@ -66,6 +95,30 @@ public final class Player {
          */
         public abstract Action[] play();
 
+        /**
+         * Implements the IA algorithm within a turn time limit. <br>
+         * Anytime algorithms should override it and poll {@link TurnBudget#shouldStop()}, by default the budget is
+         * ignored.
+         *
+         * @return the best ordered set of actions found
+         */
+        public Action[] play(TurnBudget budget) {
+            return play();
+        }
+
+        /**
+         * Brings the AI back to the state it had right after being built with {@code random}, so it can play another
+         * match against the same game engine. Any randomness must be drawn from {@code random} from then on, so that
+         * a reused AI plays a seeded match as a new one would. Expensive AIs (large tables, precomputed data) should
+         * override it. <br>
+         * AIs are not reusable by default.
+         *
+         * @return {@code false} if the AI cannot be reset, in which case a new one must be built
+         */
+        public boolean reset(SplittableRandom random) {
+            return false;
+        }
+
         public Map<String, Object> getConf() {
             return conf;
         }
@@ -114,4 +167,392 @@ public final class Player {
     public interface RepositoryUpdater {
         void update();
     }
+
+    /**
+     * Keeps track of the time spent on each turn, based on {@link System#nanoTime()}, and of its latency statistics.
+     */
+    public static final class TurnBudget {
+
+        /**
+         * {@link #shouldStop()} reads the clock once every 64 calls
+         */
+        private static final int CLOCK_CHECK_MASK = 0x3F;
+
+        private final long budgetNanos;
+        private final boolean unlimited;
+
+        private long turnStart;
+        private int calls;
+        private boolean expired;
+
+        private int turns;
+        private int overruns;
+        private long lastNanos;
+        private long maxNanos;
+        private long totalNanos;
+
+        public TurnBudget(long budget, TimeUnit unit) {
+            this(unit.toNanos(budget), false);
+        }
+
+        private TurnBudget(long budgetNanos, boolean unlimited) {
+            if (budgetNanos <= 0) {
+                throw new IllegalArgumentException("Budget must be positive, but found " + budgetNanos + "ns");
+            }
+            this.budgetNanos = budgetNanos;
+            this.unlimited = unlimited;
+            this.turnStart = System.nanoTime();
+        }
+
+        /**
+         * Builds a budget that never expires, but still records turns latency
+         */
+        public static TurnBudget unlimited() {
+            return new TurnBudget(Long.MAX_VALUE, true);
+        }
+
+        public void startTurn() {
+            turnStart = System.nanoTime();
+            calls = 0;
+            expired = false;
+        }
+
+        /**
+         * @return the turn duration in nanoseconds
+         */
+        public long endTurn() {
+            long elapsed = System.nanoTime() - turnStart;
+
+            turns++;
+            lastNanos = elapsed;
+            totalNanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+            if (elapsed > budgetNanos) {
+                overruns++;
+            }
+            return elapsed;
+        }
+
+        /**
+         * Cheap check meant for tight loops, the clock is only read once every few calls
+         */
+        public boolean shouldStop() {
+            if (expired) {
+                return true;
+            }
+            if ((++calls & CLOCK_CHECK_MASK) != 0) {
+                return false;
+            }
+            return isExpired();
+        }
+
+        public boolean isExpired() {
+            if (!expired && !unlimited && elapsedNanos() >= budgetNanos) {
+                expired = true;
+            }
+            return expired;
+        }
+
+        public long elapsedNanos() {
+            return System.nanoTime() - turnStart;
+        }
+
+        public long remainingNanos() {
+            return unlimited ? Long.MAX_VALUE : Math.max(0L, budgetNanos - elapsedNanos());
+        }
+
+        /**
+         * Runs deeper and deeper searches while there is time left. <br>
+         * The first depth is always started, a deeper one is not when it is unlikely to finish, that is, when the
+         * remaining time is shorter than the time the previous depth took.
+         *
+         * @return the actions found by the deepest complete search, or no actions at all if not even the first depth
+         *         could be completed
+         */
+        public Action[] iterativeDeepening(DepthSearch search, int maxDepth) {
+            Action[] best = new Action[0];
+            long lastIterationNanos = 0;
+
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                if (depth > 1 && (isExpired() || remainingNanos() < lastIterationNanos)) {
+                    break;
+                }
+
+                long iterationStart = System.nanoTime();
+                Action[] actions = search.search(depth, this);
+                if (actions == null) {
+                    break;
+                }
+
+                best = actions;
+                lastIterationNanos = System.nanoTime() - iterationStart;
+            }
+            return best;
+        }
+
+        public long getBudgetNanos() {
+            return budgetNanos;
+        }
+
+        public boolean isUnlimited() {
+            return unlimited;
+        }
+
+        public int getTurns() {
+            return turns;
+        }
+
+        /**
+         * @return the number of turns that took longer than the budget
+         */
+        public int getOverruns() {
+            return overruns;
+        }
+
+        public long getLastNanos() {
+            return lastNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getAverageNanos() {
+            return turns == 0 ? 0.0 : (double) totalNanos / turns;
+        }
+
+        @Override
+        public String toString() {
+            return "TurnBudget{budgetNanos=" + (unlimited ? "unlimited" : budgetNanos)
+                    + ", turns=" + turns
+                    + ", overruns=" + overruns
+                    + ", averageNanos=" + getAverageNanos()
+                    + ", maxNanos=" + maxNanos
+                    + "}";
+        }
+    }
+
+    /**
+     * A search bounded by depth, used for iterative deepening
+     */
+    public interface DepthSearch {
+
+        /**
+         * @return the best actions found at the given depth, or {@code null} if the search was aborted because the
+         *         budget ran out
+         */
+        Action[] search(int depth, TurnBudget budget);
+    }
+
+    /**
+     * Reads whitespace separated ASCII values from an input stream without regular expressions nor intermediate
+     * strings. <br>
+     * Can be directly provided as a {@link Repository} input supplier.
+     */
+    public static final class FastIntReader implements IntSupplier {
+
+        private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+        private final InputStream in;
+        private final byte[] buffer;
+        private int position;
+        private int limit;
+
+        public FastIntReader(InputStream in) {
+            this(in, DEFAULT_BUFFER_SIZE);
+        }
+
+        FastIntReader(InputStream in, int bufferSize) {
+            this.in = in;
+            this.buffer = new byte[bufferSize];
+            this.position = 0;
+            this.limit = 0;
+        }
+
+        @Override
+        public int getAsInt() {
+            return nextInt();
+        }
+
+        public int nextInt() {
+            return (int) nextLong();
+        }
+
+        public long nextLong() {
+            int c = skipWhitespaces();
+            if (c < 0) {
+                throw new NoSuchElementException();
+            }
+
+            boolean negative = c == '-';
+            if (negative) {
+                position++;
+                c = peek();
+            }
+
+            if (c < '0' || c > '9') {
+                throw new InputMismatchException("Expected a digit, but found " + (c < 0 ? "EOF" : (char) c));
+            }
+
+            long value = 0;
+            while (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                position++;
+                c = peek();
+            }
+
+            return negative ? -value : value;
+        }
+
+        /**
+         * Reads the next whitespace separated token into {@code dst}
+         *
+         * @return the token length
+         */
+        public int nextToken(char[] dst) {
+            int c = skipWhitespaces();
+            if (c < 0) {
+                throw new NoSuchElementException();
+            }
+
+            int length = 0;
+            while (c > ' ') {
+                if (length == dst.length) {
+                    throw new IllegalArgumentException("Token does not fit into a buffer of size " + dst.length);
+                }
+                dst[length++] = (char) c;
+                position++;
+                c = peek();
+            }
+            return length;
+        }
+
+        /**
+         * Reads the rest of the current line into {@code dst}, line terminator excluded
+         *
+         * @return the line length, or -1 if the stream is over
+         */
+        public int nextLine(char[] dst) {
+            int c = peek();
+            if (c < 0) {
+                return -1;
+            }
+
+            int length = 0;
+            while (c >= 0 && c != '\n') {
+                position++;
+                if (c != '\r') {
+                    if (length == dst.length) {
+                        throw new IllegalArgumentException("Line does not fit into a buffer of size " + dst.length);
+                    }
+                    dst[length++] = (char) c;
+                }
+                c = peek();
+            }
+
+            if (c == '\n') {
+                position++;
+            }
+            return length;
+        }
+
+        public boolean hasNext() {
+            return skipWhitespaces() >= 0;
+        }
+
+        private int skipWhitespaces() {
+            int c = peek();
+            while (c >= 0 && c <= ' ') {
+                position++;
+                c = peek();
+            }
+            return c;
+        }
+
+        private int peek() {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position] & 0xFF;
+        }
+
+        private boolean fill() {
+            try {
+                int read = in.read(buffer, 0, buffer.length);
+                if (read <= 0) {
+                    return false;
+                }
+                position = 0;
+                limit = read;
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes all actions of a turn, one per line, with a single write and flush to the underlying stream.
+     */
+    public static final class ActionWriter {
+
+        private final OutputStream out;
+        private final StringBuilder text;
+        private byte[] bytes;
+
+        public ActionWriter(OutputStream out) {
+            this.out = out;
+            this.text = new StringBuilder(256);
+            this.bytes = new byte[1024];
+        }
+
+        public void write(Action[] actions) {
+            text.setLength(0);
+            try {
+                for (Action action : actions) {
+                    action.writeTo(text);
+                    text.append('\n');
+                }
+
+                int length = encode();
+                out.write(bytes, 0, length);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * UTF-8 encodes the turn text into the reusable byte buffer
+         */
+        private int encode() {
+            int maxLength = text.length() * 3;
+            if (bytes.length < maxLength) {
+                bytes = new byte[Math.max(maxLength, bytes.length * 2)];
+            }
+
+            int length = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | c >> 6);
+                    bytes[length++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    bytes[length++] = (byte) (0xF0 | codePoint >> 18);
+                    bytes[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    bytes[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    bytes[length++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    bytes[length++] = (byte) (0xE0 | c >> 12);
+                    bytes[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    bytes[length++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            return length;
+        }
+    }
 }
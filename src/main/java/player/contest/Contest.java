@@ -1,40 +1,66 @@
 package player.contest;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 
 import player.Player.AI;
 import player.engine.GameEngine;
 import player.engine.Winner;
+import player.game.ForkJoinTasks;
 import player.game.Game;
 import player.game.Game.GameResult;
-import player.match.Match;
+import player.game.ProgressListener;
+import player.match.MatchProfile;
+import player.match.MatchResultCache;
+import player.match.SeededAIFactory;
+import player.match.SeededGameEngineFactory;
+import player.match.Seeds;
 
 /**
- * Play any number of AIs against each other and then check its performances
+ * Play any number of AIs against each other and then check its performances. <br>
+ * Games and matches may share a single {@link ForkJoinPool}: games are then split into fork/join tasks and every
+ * match is scheduled by work-stealing, without any thread blocked waiting for another pool.
  */
 public final class Contest implements Callable<Contest.ContestResult> {
 
     private static final int DEFAULT_NUMBER_OF_MATCHES = 5;
 
-    private final List<Function<IntSupplier, Supplier<AI>>> ais;
-    private final List<Supplier<GameEngine>> gameEngines;
+    private final List<SeededAIFactory> ais;
+    private final List<SeededGameEngineFactory> gameEngines;
     private final ExecutorService gameExecutorService;
     private final ExecutorService matchExecutorService;
     private final int numberOfMatches;
+    private final ProgressListener<GameResult> progressListener;
+    private final boolean reuseInstances;
+    private final boolean profiled;
+    private final long seed;
+    @Nullable
+    private final MatchResultCache cache;
+    @Nullable
+    private final Ladder ladder;
+    private final List<String> ladderIds;
 
     public Contest(
             List<Function<IntSupplier, Supplier<AI>>> ais,
@@ -42,7 +68,24 @@ public final class Contest implements Callable<Contest.ContestResult> {
             ExecutorService gameExecutorService,
             ExecutorService matchExecutorService) {
 
-        this(ais, gameEngines, gameExecutorService, matchExecutorService, DEFAULT_NUMBER_OF_MATCHES);
+        this(newBuilder(ais, gameEngines, gameExecutorService, matchExecutorService));
+    }
+
+    public Contest(
+            List<Function<IntSupplier, Supplier<AI>>> ais,
+            List<Supplier<GameEngine>> gameEngines,
+            ForkJoinPool pool) {
+
+        this(newBuilder(ais, gameEngines, pool, pool));
+    }
+
+    public Contest(
+            List<Function<IntSupplier, Supplier<AI>>> ais,
+            List<Supplier<GameEngine>> gameEngines,
+            ForkJoinPool pool,
+            int numberOfMatches) {
+
+        this(newBuilder(ais, gameEngines, pool, pool).withNumberOfMatches(numberOfMatches));
     }
 
     public Contest(
@@ -52,13 +95,55 @@ public final class Contest implements Callable<Contest.ContestResult> {
             ExecutorService matchExecutorService,
             int numberOfMatches) {
 
-        this.ais = ais;
-        this.gameEngines = gameEngines;
-        this.gameExecutorService = gameExecutorService;
-        this.matchExecutorService = matchExecutorService;
-        this.numberOfMatches = numberOfMatches;
+        this(newBuilder(ais, gameEngines, gameExecutorService, matchExecutorService)
+                .withNumberOfMatches(numberOfMatches));
+    }
+
+    private Contest(Builder builder) {
+        this.ais = builder.ais;
+        this.gameEngines = builder.gameEngines;
+        this.gameExecutorService = builder.gameExecutorService;
+        this.matchExecutorService = builder.matchExecutorService;
+        this.numberOfMatches = builder.numberOfMatches;
+        this.progressListener = builder.progressListener;
+        this.reuseInstances = builder.reuseInstances;
+        this.profiled = builder.profiled;
+        this.seed = builder.seed;
+        this.cache = builder.cache;
+        this.ladder = builder.ladder;
+        this.ladderIds = builder.ladderIds;
+    }
+
+    public static Builder newBuilder(
+            List<Function<IntSupplier, Supplier<AI>>> ais,
+            List<Supplier<GameEngine>> gameEngines,
+            ExecutorService gameExecutorService,
+            ExecutorService matchExecutorService) {
+
+        return new Builder(
+                ais.stream().map(SeededAIFactory::of).collect(Collectors.toList()),
+                gameEngines.stream().map(SeededGameEngineFactory::of).collect(Collectors.toList()),
+                gameExecutorService,
+                matchExecutorService);
+    }
+
+    /**
+     * Builds a contest whose matches draw their randomness from the contest seed, see {@link Builder#withSeed(long)}
+     */
+    public static Builder newSeededBuilder(
+            List<SeededAIFactory> ais,
+            List<SeededGameEngineFactory> gameEngines,
+            ExecutorService gameExecutorService,
+            ExecutorService matchExecutorService) {
+
+        return new Builder(ais, gameEngines, gameExecutorService, matchExecutorService);
     }
 
+    /**
+     * Plays every pairing of AIs on every game engine. Progress is notified in completion order, as soon as each
+     * game is over, whereas scores are updated in pairing order, as soon as all former pairings are over, so that
+     * the classification does not depend on the scheduling.
+     */
     @Override
     public ContestResult call() throws InterruptedException, ExecutionException {
 
@@ -66,90 +151,337 @@ public final class Contest implements Callable<Contest.ContestResult> {
             throw new IllegalStateException("Unable to play a contest with a single provided AI");
         }
 
-        List<Callable<GameResult>> games = new ArrayList<>();
-        for (Supplier<GameEngine> gameEngine : gameEngines) {
+        List<Pairing> pairings = new ArrayList<>();
+        for (int e = 0; e < gameEngines.size(); e++) {
+            SeededGameEngineFactory gameEngine = gameEngines.get(e);
 
             for (int i = 0; i < ais.size() - 1; i++) {
-                Function<IntSupplier, Supplier<AI>> player = ais.get(i);
+                SeededAIFactory player = ais.get(i);
                 for (int j = i + 1; j < ais.size(); j++) {
-                    Function<IntSupplier, Supplier<AI>> opponent = ais.get(j);
-                    games.add(
-                            new Game(
-                                    player,
-                                    opponent,
-                                    gameEngine,
-                                    matchExecutorService,
-                                    numberOfMatches));
+                    SeededAIFactory opponent = ais.get(j);
+                    Game.Builder builder = Game.newSeededBuilder(player, opponent, gameEngine, matchExecutorService)
+                            .withNumberOfMatches(numberOfMatches)
+                            .withMatchResultsRetained(false)
+                            .withInstancesReused(reuseInstances)
+                            .withProfiling(profiled)
+                            .withSeed(gameSeed(seed, e, i, j));
+                    if (cache != null) {
+                        builder.withResultCache(cache);
+                    }
+                    pairings.add(new Pairing(i, j, builder.build()));
                 }
             }
         }
 
-        List<Future<GameResult>> futures = gameExecutorService.invokeAll(games);
-
         Score[] scores = new Score[ais.size()];
+        play(pairings, gameExecutorService, new Scoring(pairings, scores, progressListener, this::rate));
+        return new ContestResult(scores);
+    }
 
-        int offset = 0;
+    private void rate(Pairing pairing) {
+        if (ladder != null) {
+            ladder.record(
+                    ladderIds.get(pairing.player),
+                    ladderIds.get(pairing.opponent),
+                    pairing.result.getPlayerVictoryCount(),
+                    pairing.result.getOpponentVictoryCount());
+        }
+    }
 
-        for (int g = 0; g < gameEngines.size(); g++) {
+    /**
+     * Plays the games of {@code pairings} and records each one as soon as it is over, in completion order: as
+     * fork/join tasks if {@code gameExecutorService} is a {@link ForkJoinPool}, through a {@link CompletionService}
+     * otherwise
+     */
+    static void play(List<Pairing> pairings, ExecutorService gameExecutorService, Scoring scoring)
+            throws InterruptedException, ExecutionException {
+
+        if (gameExecutorService instanceof ForkJoinPool) {
+            ForkJoinTasks.invoke(
+                    (ForkJoinPool) gameExecutorService,
+                    new PairingsTask(pairings, 0, pairings.size(), scoring));
+            return;
+        }
 
-            for (int i = 0; i < ais.size() - 1; i++) {
-                int k = 0;
+        CompletionService<Pairing> completionService = new ExecutorCompletionService<>(gameExecutorService);
+        List<Future<Pairing>> futures = new ArrayList<>(pairings.size());
+        try {
+            for (Pairing pairing : pairings) {
+                futures.add(completionService.submit(pairing));
+            }
+            for (int i = 0; i < pairings.size(); i++) {
+                scoring.record(completionService.take().get());
+            }
+        } finally {
+            for (Future<Pairing> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
 
-                for (int j = i + 1; j < ais.size(); j++) {
+    /**
+     * The game seed only depends on the game engine and AIs indexes, so that appending AIs or game engines keeps
+     * the seeds of the former pairings, and their cached matches
+     */
+    static long gameSeed(long seed, int gameEngine, int player, int opponent) {
+        return Seeds.derive(Seeds.derive(Seeds.derive(seed, gameEngine), player), opponent);
+    }
+
+    /**
+     * Accounts a game between the AIs at indexes {@code player} and {@code opponent} into their scores
+     */
+    static void updateScores(Score[] scores, int player, int opponent, GameResult result) {
+        AI playerAI = result.getPlayer();
+        if (playerAI == null) {
+            throw new IllegalStateException("Expected at least one player, but none found");
+        }
 
-                    Future<GameResult> future = futures.get(offset + k);
-                    GameResult result = future.get();
+        if (scores[player] == null) {
+            scores[player] = new Score(playerAI);
+        }
 
-                    AI player = result
-                            .getMatchResults()
-                            .stream()
-                            .map(Match.MatchResult::getPlayer)
-                            .findAny()
-                            .orElseThrow(
-                                    () -> new IllegalStateException("Expected at least one player, but none found"));
+        Score playerScore = scores[player];
 
-                    if (scores[i] == null) {
-                        scores[i] = new Score(player);
-                    }
+        playerScore.updateAverageNumberOfRoundsMean(result.getAverageNumberOfRounds());
+        playerScore.updateAverageScoreMean(result.getAveragePlayerScore());
+        playerScore.updateAverageWinRateMean(result.getPlayerWinRate());
 
-                    Score playerScore = scores[i];
+        AI opponentAI = result.getOpponent();
+        if (opponentAI == null) {
+            throw new IllegalStateException("Expected at least one opponent, but none found");
+        }
 
-                    playerScore.updateAverageNumberOfRoundsMean(result.getAverageNumberOfRounds());
-                    playerScore.updateAverageScoreMean(result.getAveragePlayerScore());
-                    playerScore.updateAverageWinRateMean(result.getPlayerWinRate());
+        if (scores[opponent] == null) {
+            scores[opponent] = new Score(opponentAI);
+        }
 
-                    AI opponent = result
-                            .getMatchResults()
-                            .stream()
-                            .map(Match.MatchResult::getOpponent)
-                            .findAny()
-                            .orElseThrow(
-                                    () -> new IllegalStateException("Expected at least one opponent, but none found"));
+        Score opponentScore = scores[opponent];
 
-                    if (scores[j] == null) {
-                        scores[j] = new Score(opponent);
-                    }
+        opponentScore.updateAverageNumberOfRoundsMean(result.getAverageNumberOfRounds());
+        opponentScore.updateAverageScoreMean(result.getAverageOpponentScore());
+        opponentScore.updateAverageWinRateMean(1.0 - result.getPlayerWinRate());
 
-                    Score opponentScore = scores[j];
+        if (result.hasProfile()) {
+            playerScore.updateThinkTime(result.getProfile().getPlayer());
+            opponentScore.updateThinkTime(result.getProfile().getOpponent());
+        }
 
-                    opponentScore.updateAverageNumberOfRoundsMean(result.getAverageNumberOfRounds());
-                    opponentScore.updateAverageScoreMean(result.getAverageOpponentScore());
-                    opponentScore.updateAverageWinRateMean(1.0 - result.getPlayerWinRate());
+        if (Winner.PLAYER == result.getWinner()) {
+            playerScore.incrementVictoryCount();
+        } else {
+            opponentScore.incrementVictoryCount();
+        }
+    }
 
-                    if (Winner.PLAYER == result.getWinner()) {
-                        playerScore.incrementVictoryCount();
-                    } else {
-                        opponentScore.incrementVictoryCount();
-                    }
+    /**
+     * A game between the AIs at the given indexes
+     */
+    static final class Pairing implements Callable<Pairing> {
+
+        final int player;
+        final int opponent;
+        private final Game game;
+        GameResult result;
+        private boolean recorded;
+
+        Pairing(int player, int opponent, Game game) {
+            this.player = player;
+            this.opponent = opponent;
+            this.game = game;
+        }
 
-                    k++;
+        @Override
+        public Pairing call() throws InterruptedException, ExecutionException {
+            result = game.call();
+            return this;
+        }
+    }
+
+    private static final class PairingsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Pairing> pairings;
+        private final int from;
+        private final int to;
+        private final Scoring scoring;
+
+        private PairingsTask(List<Pairing> pairings, int from, int to, Scoring scoring) {
+            this.pairings = pairings;
+            this.from = from;
+            this.to = to;
+            this.scoring = scoring;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int i = from; i < to; i++) {
+                    scoring.record(ForkJoinTasks.call(pairings.get(i)));
                 }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new PairingsTask(pairings, from, middle, scoring),
+                    new PairingsTask(pairings, middle, to, scoring));
+        }
+    }
 
-                offset += ais.size() - (i + 1);
+    /**
+     * Scores games as they complete, but in pairing order: a game is scored into {@code scores} as soon as all former
+     * pairings are, then handed to {@code onScored}, and its result is released right after
+     */
+    static final class Scoring {
+
+        private final List<Pairing> pairings;
+        private final Score[] scores;
+        private final ProgressListener<GameResult> progressListener;
+        private final Consumer<Pairing> onScored;
+        private int completed;
+        private int scored;
+
+        Scoring(
+                List<Pairing> pairings,
+                Score[] scores,
+                ProgressListener<GameResult> progressListener,
+                Consumer<Pairing> onScored) {
+
+            this.pairings = pairings;
+            this.scores = scores;
+            this.progressListener = progressListener;
+            this.onScored = onScored;
+            this.completed = 0;
+            this.scored = 0;
+        }
+
+        synchronized void record(Pairing pairing) {
+            pairing.recorded = true;
+            completed++;
+            progressListener.onProgress(pairing.result, completed, pairings.size());
+
+            while (scored < pairings.size() && pairings.get(scored).recorded) {
+                Pairing next = pairings.get(scored);
+                updateScores(scores, next.player, next.opponent, next.result);
+                onScored.accept(next);
+                next.result = null;
+                scored++;
             }
         }
+    }
+
+    public static final class Builder {
+
+        private final List<SeededAIFactory> ais;
+        private final List<SeededGameEngineFactory> gameEngines;
+        private final ExecutorService gameExecutorService;
+        private final ExecutorService matchExecutorService;
+        private int numberOfMatches;
+        private ProgressListener<GameResult> progressListener;
+        private boolean reuseInstances;
+        private boolean profiled;
+        private long seed;
+        private boolean seeded;
+        @Nullable
+        private MatchResultCache cache;
+        @Nullable
+        private Ladder ladder;
+        private List<String> ladderIds;
+
+        private Builder(
+                List<SeededAIFactory> ais,
+                List<SeededGameEngineFactory> gameEngines,
+                ExecutorService gameExecutorService,
+                ExecutorService matchExecutorService) {
+
+            this.ais = ais;
+            this.gameEngines = gameEngines;
+            this.gameExecutorService = gameExecutorService;
+            this.matchExecutorService = matchExecutorService;
+            this.numberOfMatches = DEFAULT_NUMBER_OF_MATCHES;
+            this.progressListener = ProgressListener.noOp();
+            this.reuseInstances = false;
+            this.profiled = false;
+            this.seed = Seeds.random();
+            this.seeded = false;
+            this.cache = null;
+            this.ladder = null;
+            this.ladderIds = ImmutableList.of();
+        }
 
-        return new ContestResult(scores);
+        public Builder withNumberOfMatches(int numberOfMatches) {
+            this.numberOfMatches = numberOfMatches;
+            return this;
+        }
+
+        /**
+         * Notified with each game result as soon as the game is over
+         */
+        public Builder withProgressListener(ProgressListener<GameResult> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * Reuses AIs and game engines across the matches of each game, see {@link Game.Builder#withInstancesReused}
+         */
+        public Builder withInstancesReused(boolean reuseInstances) {
+            this.reuseInstances = reuseInstances;
+            return this;
+        }
+
+        /**
+         * Profiles every match, so that each score reports its AI think time, see {@link Score#getThinkTime()}
+         */
+        public Builder withProfiling(boolean profiled) {
+            this.profiled = profiled;
+            return this;
+        }
+
+        /**
+         * Derives the seed of each game from {@code seed} and the pairing index, a random seed is used by default
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            this.seeded = true;
+            return this;
+        }
+
+        /**
+         * Only plays the matches missing from {@code cache}, so that adding an AI to the contest only plays its own
+         * pairings. It requires a seed and fresh instances, see {@link Game.Builder#withResultCache}
+         */
+        public Builder withResultCache(MatchResultCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Rates each game in {@code ladder}, in pairing order, so that ratings do not depend on scheduling
+         *
+         * @param ids the ladder ids of the AIs, in the same order, distinct even for AIs of the same class and
+         *        configuration
+         */
+        public Builder withLadder(Ladder ladder, List<String> ids) {
+            Preconditions.checkArgument(ids.size() == ais.size(), "Expected %s ladder ids, but found %s",
+                    ais.size(), ids.size());
+            Preconditions.checkArgument(new HashSet<>(ids).size() == ids.size(),
+                    "Ladder ids must be distinct, but found %s", ids);
+            this.ladder = ladder;
+            this.ladderIds = ImmutableList.copyOf(ids);
+            return this;
+        }
+
+        public Contest build() {
+            Preconditions.checkState(
+                    cache == null || seeded,
+                    "Unable to look up matches played with a random seed, set one");
+            Preconditions.checkState(
+                    cache == null || !reuseInstances,
+                    "Unable to cache matches played by reused instances, build new ones");
+            return new Contest(this);
+        }
     }
 
     public static class ContestResult {
@@ -163,13 +495,25 @@ public final class Contest implements Callable<Contest.ContestResult> {
                         .reversed();
 
         ContestResult(Score[] scores) {
+            this(scores, new boolean[scores.length]);
+        }
 
+        /**
+         * Ranks the AIs flagged in {@code first} ahead of the others, whatever their scores
+         */
+        ContestResult(Score[] scores, boolean[] first) {
+
+            List<Score> leading = new ArrayList<>();
+            List<Score> trailing = new ArrayList<>();
             for (int i = 0; i < scores.length; i++) {
                 Preconditions.checkNotNull(scores[i], "Unexpected null value at %s", i);
+                (first[i] ? leading : trailing).add(scores[i]);
             }
 
-            this.classification = Arrays.asList(scores);
-            Collections.sort(classification, SCORE_COMPARATOR);
+            Collections.sort(leading, SCORE_COMPARATOR);
+            Collections.sort(trailing, SCORE_COMPARATOR);
+            leading.addAll(trailing);
+            this.classification = leading;
         }
 
         List<Score> getClassification() {
@@ -201,6 +545,9 @@ public final class Contest implements Callable<Contest.ContestResult> {
         private double averageWinRate;
         private int averageWinRateCount;
 
+        @Nullable
+        private MatchProfile.Timing thinkTime;
+
         Score(AI ai) {
             this.ai = ai;
 
@@ -236,6 +583,13 @@ public final class Contest implements Callable<Contest.ContestResult> {
             averageWinRateCount++;
         }
 
+        void updateThinkTime(MatchProfile.Timing timing) {
+            if (thinkTime == null) {
+                thinkTime = new MatchProfile.Timing();
+            }
+            thinkTime.recordAll(timing);
+        }
+
         AI getAi() {
             return ai;
         }
@@ -256,6 +610,19 @@ public final class Contest implements Callable<Contest.ContestResult> {
             return averageWinRate;
         }
 
+        public boolean hasThinkTime() {
+            return thinkTime != null;
+        }
+
+        /**
+         * @return the AI {@code play()} latencies and allocations over all its matches
+         * @throws IllegalStateException if matches were not profiled
+         */
+        public MatchProfile.Timing getThinkTime() {
+            Preconditions.checkState(thinkTime != null, "Matches were not profiled");
+            return thinkTime;
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this)
@@ -264,6 +631,7 @@ public final class Contest implements Callable<Contest.ContestResult> {
                     .add("averageScore", averageScore)
                     .add("averageNumberOfRounds", averageNumberOfRounds)
                     .add("averageWinRate", averageWinRate)
+                    .add("thinkTime", thinkTime)
                     .toString();
         }
     }
@@ -0,0 +1,17 @@
+package player.contest;
+
+import java.util.List;
+
+import player.match.SeededAIFactory;
+import player.match.SeededGameEngineFactory;
+
+/**
+ * The AIs and game engines of a contest, built the same way by every process of a {@link DistributedContest}. <br>
+ * Implementations must be public and have a public no-argument constructor.
+ */
+public interface ContestSetup {
+
+    List<SeededAIFactory> getAIs();
+
+    List<SeededGameEngineFactory> getGameEngines();
+}
@@ -0,0 +1,91 @@
+package player.contest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import player.game.Game;
+import player.game.Game.GameResult;
+import player.match.SeededAIFactory;
+import player.match.SeededGameEngineFactory;
+
+/**
+ * Worker process of a {@link DistributedContest}. <br>
+ * It connects back to the coordinator and plays the games it is sent, on a local pool, until told to stop. Each
+ * result is sent back before the next game is given, so idle workers are the ones fed. <br>
+ * Usage: {@code ContestWorker <port> <setup class> <threads>}
+ */
+public final class ContestWorker {
+
+    static final byte WORK = 1;
+    static final byte STOP = 2;
+    static final byte RESULT = 3;
+    static final byte ERROR = 4;
+
+    private ContestWorker() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[0]);
+        ContestSetup setup = newSetup(args[1]);
+        ForkJoinPool pool = new ForkJoinPool(Integer.parseInt(args[2]));
+
+        List<SeededAIFactory> ais = setup.getAIs();
+        List<SeededGameEngineFactory> gameEngines = setup.getGameEngines();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+            while (in.readByte() == WORK) {
+                int gameEngine = in.readInt();
+                int player = in.readInt();
+                int opponent = in.readInt();
+                int numberOfMatches = in.readInt();
+                long seed = in.readLong();
+
+                try {
+                    GameResult result = Game.newSeededBuilder(
+                            ais.get(player),
+                            ais.get(opponent),
+                            gameEngines.get(gameEngine),
+                            pool)
+                            .withNumberOfMatches(numberOfMatches)
+                            .withMatchResultsRetained(false)
+                            .withSeed(seed)
+                            .build()
+                            .call();
+
+                    out.writeByte(RESULT);
+                    result.writeTo(out);
+                } catch (Exception e) {
+                    out.writeByte(ERROR);
+                    out.writeUTF(stackTrace(e));
+                }
+                out.flush();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    static ContestSetup newSetup(String className) throws ReflectiveOperationException {
+        return Class.forName(className).asSubclass(ContestSetup.class).getDeclaredConstructor().newInstance();
+    }
+
+    private static String stackTrace(Exception e) {
+        StringWriter trace = new StringWriter();
+        e.printStackTrace(new PrintWriter(trace));
+        String message = trace.toString();
+        return message.length() > 8192 ? message.substring(0, 8192) : message;
+    }
+}
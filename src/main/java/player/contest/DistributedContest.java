@@ -0,0 +1,519 @@
+package player.contest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Preconditions;
+
+import player.Player.AI;
+import player.contest.Contest.ContestResult;
+import player.contest.Contest.Score;
+import player.engine.GameEngine;
+import player.game.Game.GameResult;
+import player.game.ProgressListener;
+import player.match.Seeds;
+
+/**
+ * Contest whose games are played by worker JVMs forked on this host, so that a contest is not bounded by a single
+ * heap, and a crashing or leaking AI only takes its worker down. <br>
+ * AIs and game engines cannot be sent to another process, so every process builds them from the same
+ * {@link ContestSetup} class, and only game coordinates travel: engine and AI indexes, number of matches and seed.
+ * Workers are fed over loopback sockets, one game at a time, each one asking for the next game once done, so faster
+ * workers play more games. <br>
+ * A game whose worker fails is handed to another worker, and a crashed or hung worker is replaced, until the game
+ * fails more than the allowed number of retries. A worker is hung once a game takes longer than the game timeout.
+ * <br>
+ * Game seeds are derived as in {@link Contest}, so both play the same matches for the same seed. Game results only
+ * carry statistics back, neither match results nor profiles.
+ */
+public final class DistributedContest implements Callable<ContestResult> {
+
+    private static final int DEFAULT_NUMBER_OF_MATCHES = 5;
+    private static final int DEFAULT_MAX_RETRIES = 2;
+    private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+    private static final long DEFAULT_GAME_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Class<? extends ContestSetup> setup;
+    private final int workers;
+    private final int workerThreads;
+    private final List<String> jvmOptions;
+    private final int numberOfMatches;
+    private final int maxRetries;
+    private final int gameTimeoutMillis;
+    private final long seed;
+    private final ProgressListener<GameResult> progressListener;
+
+    private DistributedContest(Builder builder) {
+        this.setup = builder.setup;
+        this.workers = builder.workers;
+        this.workerThreads = builder.workerThreads;
+        this.jvmOptions = builder.jvmOptions;
+        this.numberOfMatches = builder.numberOfMatches;
+        this.maxRetries = builder.maxRetries;
+        this.gameTimeoutMillis = builder.gameTimeoutMillis;
+        this.seed = builder.seed;
+        this.progressListener = builder.progressListener;
+    }
+
+    public static Builder newBuilder(Class<? extends ContestSetup> setup) {
+        return new Builder(setup);
+    }
+
+    /**
+     * Plays every pairing of AIs on every game engine, scores are updated in pairing order once all games are over
+     *
+     * @throws ExecutionException if a game failed more than the allowed number of retries
+     */
+    @Override
+    public ContestResult call() throws InterruptedException, ExecutionException {
+        ContestSetup local;
+        try {
+            local = ContestWorker.newSetup(setup.getName());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unable to build " + setup.getName(), e);
+        }
+
+        int numberOfAIs = local.getAIs().size();
+        if (numberOfAIs < 2) {
+            throw new IllegalStateException("Unable to play a contest with a single provided AI");
+        }
+
+        List<Unit> units = new ArrayList<>();
+        for (int e = 0; e < local.getGameEngines().size(); e++) {
+            for (int i = 0; i < numberOfAIs - 1; i++) {
+                for (int j = i + 1; j < numberOfAIs; j++) {
+                    units.add(new Unit(units.size(), e, i, j, Contest.gameSeed(seed, e, i, j)));
+                }
+            }
+        }
+
+        Run run = new Run(local, units);
+        try (ServerSocket server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+
+            ExecutorService links = Executors.newFixedThreadPool(workers);
+            try {
+                for (int w = 0; w < Math.min(workers, units.size()); w++) {
+                    links.execute(() -> run.serve(server));
+                }
+                run.await();
+            } finally {
+                // Socket reads are not interruptible, workers are disconnected so that links stop reading
+                run.disconnect();
+                links.shutdownNow();
+                links.awaitTermination(CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (IOException e) {
+            throw new ExecutionException(e);
+        }
+
+        Score[] scores = new Score[numberOfAIs];
+        for (Unit unit : units) {
+            Contest.updateScores(scores, unit.player, unit.opponent, unit.result);
+        }
+        return new ContestResult(scores);
+    }
+
+    /**
+     * State shared by the threads serving the workers of a single call
+     */
+    private final class Run {
+
+        private final ContestSetup local;
+        private final BlockingDeque<Unit> pending;
+        private final CountDownLatch remaining;
+        private final AtomicReference<Throwable> failure;
+        private final Set<Worker> connected;
+        private final AI[] ais;
+        private final GameEngine[] gameEngines;
+        private final int total;
+        private int completed;
+
+        private Run(ContestSetup local, List<Unit> units) {
+            this.local = local;
+            this.pending = new LinkedBlockingDeque<>(units);
+            this.remaining = new CountDownLatch(units.size());
+            this.failure = new AtomicReference<>();
+            this.connected = Collections.newSetFromMap(new ConcurrentHashMap<>());
+            this.ais = new AI[local.getAIs().size()];
+            this.gameEngines = new GameEngine[local.getGameEngines().size()];
+            this.total = units.size();
+            this.completed = 0;
+        }
+
+        private void await() throws InterruptedException, ExecutionException {
+            while (!remaining.await(100, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+            checkFailure();
+        }
+
+        private void checkFailure() throws ExecutionException {
+            Throwable cause = failure.get();
+            if (cause != null) {
+                throw new ExecutionException(cause);
+            }
+        }
+
+        /**
+         * Forks a worker and feeds it until all games are played, replacing it whenever it crashes
+         */
+        private void serve(ServerSocket server) {
+            try {
+                while (remaining.getCount() > 0 && failure.get() == null) {
+                    Worker worker = Worker.fork(server, command(server.getLocalPort()), gameTimeoutMillis);
+                    connected.add(worker);
+                    try {
+                        feed(worker);
+                    } finally {
+                        connected.remove(worker);
+                        worker.close();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        /**
+         * Returns once all games are played, or once the worker is lost
+         */
+        private void feed(Worker worker) throws InterruptedException {
+            while (remaining.getCount() > 0 && failure.get() == null) {
+                Unit unit = pending.pollFirst(100, TimeUnit.MILLISECONDS);
+                if (unit == null) {
+                    continue;
+                }
+
+                String error;
+                try {
+                    error = worker.play(unit, numberOfMatches);
+                    if (error == null) {
+                        unit.result = GameResult.readFrom(worker.in, ai(unit.player), ai(unit.opponent),
+                                gameEngine(unit.gameEngine));
+                    }
+                } catch (SocketTimeoutException e) {
+                    retry(unit, "Worker timed out after " + gameTimeoutMillis + " ms");
+                    return;
+                } catch (IOException e) {
+                    retry(unit, "Worker lost: " + e);
+                    return;
+                }
+
+                if (error != null) {
+                    retry(unit, error);
+                    continue;
+                }
+
+                synchronized (this) {
+                    completed++;
+                    progressListener.onProgress(unit.result, completed, total);
+                }
+                remaining.countDown();
+            }
+        }
+
+        private void retry(Unit unit, String error) {
+            unit.attempts++;
+            if (unit.attempts > maxRetries) {
+                failure.compareAndSet(null, new IllegalStateException(
+                        "Game " + unit + " failed " + unit.attempts + " times, last error: " + error));
+                return;
+            }
+            // At the tail, so that the worker that failed plays another game first
+            pending.addLast(unit);
+        }
+
+        /**
+         * @return the representative of an AI, only used to identify it in scores, it is never played. It is built
+         *         once, and factories are never called concurrently.
+         */
+        private synchronized AI ai(int index) {
+            if (ais[index] == null) {
+                ais[index] = local.getAIs().get(index).create(DistributedContest::noInput, new SplittableRandom(seed));
+            }
+            return ais[index];
+        }
+
+        /**
+         * @return the representative of a game engine, see {@link #ai(int)}
+         */
+        private synchronized GameEngine gameEngine(int index) {
+            if (gameEngines[index] == null) {
+                gameEngines[index] = local.getGameEngines().get(index).create(new SplittableRandom(seed));
+            }
+            return gameEngines[index];
+        }
+
+        /**
+         * Closes the connection of all workers, so that threads blocked reading from them fail right away
+         */
+        private void disconnect() {
+            for (Worker worker : connected) {
+                worker.disconnect();
+            }
+        }
+    }
+
+    private static int noInput() {
+        throw new IllegalStateException("AIs of a distributed contest are only played by workers");
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ContestWorker.class.getName());
+        command.add(Integer.toString(port));
+        command.add(setup.getName());
+        command.add(Integer.toString(workerThreads));
+        return command;
+    }
+
+    /**
+     * A game to play, identified by its engine and AIs indexes
+     */
+    private static final class Unit {
+
+        private final int index;
+        private final int gameEngine;
+        private final int player;
+        private final int opponent;
+        private final long seed;
+        private int attempts;
+        @Nullable
+        private GameResult result;
+
+        private Unit(int index, int gameEngine, int player, int opponent, long seed) {
+            this.index = index;
+            this.gameEngine = gameEngine;
+            this.player = player;
+            this.opponent = opponent;
+            this.seed = seed;
+            this.attempts = 0;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + index + " (engine " + gameEngine + ", " + player + " vs " + opponent + ")";
+        }
+    }
+
+    /**
+     * A worker process and its connection
+     */
+    private static final class Worker implements AutoCloseable {
+
+        private final Process process;
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        private Worker(Process process, Socket socket) throws IOException {
+            this.process = process;
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        /**
+         * Forks are serialized on the server socket, so that the accepted connection is the forked worker one
+         */
+        private static Worker fork(ServerSocket server, List<String> command, int gameTimeoutMillis)
+                throws IOException {
+
+            synchronized (server) {
+                Process process = new ProcessBuilder(command)
+                        .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                try {
+                    Socket socket = server.accept();
+                    socket.setSoTimeout(gameTimeoutMillis);
+                    return new Worker(process, socket);
+                } catch (SocketTimeoutException e) {
+                    process.destroyForcibly();
+                    throw new IOException("Worker did not connect in time: " + command, e);
+                }
+            }
+        }
+
+        /**
+         * Sends {@code unit} to the worker and waits for its reply
+         *
+         * @return the error raised by the game, or {@code null} if its result is ready to be read from {@link #in}
+         * @throws SocketTimeoutException if the game took longer than the game timeout
+         */
+        @Nullable
+        private String play(Unit unit, int numberOfMatches) throws IOException {
+            out.writeByte(ContestWorker.WORK);
+            out.writeInt(unit.gameEngine);
+            out.writeInt(unit.player);
+            out.writeInt(unit.opponent);
+            out.writeInt(numberOfMatches);
+            out.writeLong(unit.seed);
+            out.flush();
+
+            byte reply = in.readByte();
+            if (reply == ContestWorker.ERROR) {
+                return in.readUTF();
+            }
+            return null;
+        }
+
+        private void disconnect() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already disconnected
+            }
+        }
+
+        /**
+         * Stops the worker, or kills it if it is lost or does not stop in time
+         */
+        @Override
+        public void close() {
+            try {
+                out.writeByte(ContestWorker.STOP);
+                out.flush();
+                socket.close();
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (IOException e) {
+                process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private final Class<? extends ContestSetup> setup;
+        private int workers;
+        private int workerThreads;
+        private List<String> jvmOptions;
+        private int numberOfMatches;
+        private int maxRetries;
+        private int gameTimeoutMillis;
+        private long seed;
+        private ProgressListener<GameResult> progressListener;
+
+        private Builder(Class<? extends ContestSetup> setup) {
+            this.setup = setup;
+            this.workers = Runtime.getRuntime().availableProcessors();
+            this.workerThreads = 1;
+            this.jvmOptions = Collections.emptyList();
+            this.numberOfMatches = DEFAULT_NUMBER_OF_MATCHES;
+            this.maxRetries = DEFAULT_MAX_RETRIES;
+            this.gameTimeoutMillis = (int) DEFAULT_GAME_TIMEOUT_MILLIS;
+            this.seed = Seeds.random();
+            this.progressListener = ProgressListener.noOp();
+        }
+
+        /**
+         * Number of worker processes, as many as available processors by default
+         */
+        public Builder withWorkers(int workers) {
+            Preconditions.checkArgument(workers > 0, "Workers must be positive, but found %s", workers);
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Number of threads playing the matches of a game in each worker, one by default
+         */
+        public Builder withWorkerThreads(int workerThreads) {
+            Preconditions.checkArgument(workerThreads > 0, "Worker threads must be positive, but found %s",
+                    workerThreads);
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        /**
+         * Options given to every worker JVM, such as {@code -Xmx512m}
+         */
+        public Builder withJvmOptions(List<String> jvmOptions) {
+            this.jvmOptions = jvmOptions;
+            return this;
+        }
+
+        public Builder withNumberOfMatches(int numberOfMatches) {
+            this.numberOfMatches = numberOfMatches;
+            return this;
+        }
+
+        /**
+         * How many times a failed game is played again, by another worker if its worker crashed
+         */
+        public Builder withMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * How long a worker may take to play a game before it is deemed hung, then killed and replaced, 10 minutes by
+         * default
+         */
+        public Builder withGameTimeout(long gameTimeout, TimeUnit unit) {
+            long millis = unit.toMillis(gameTimeout);
+            Preconditions.checkArgument(millis > 0 && millis <= Integer.MAX_VALUE,
+                    "Game timeout must be between 1 ms and %s ms, but found %s ms", Integer.MAX_VALUE, millis);
+            this.gameTimeoutMillis = (int) millis;
+            return this;
+        }
+
+        /**
+         * Derives the seed of each game as {@link Contest.Builder#withSeed(long)} does, a random seed is used by
+         * default
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Notified with each game result as soon as a worker sends it back
+         */
+        public Builder withProgressListener(ProgressListener<GameResult> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        public DistributedContest build() {
+            return new DistributedContest(this);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package player.contest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import player.Player.AI;
+import player.game.Game.GameResult;
+
+/**
+ * Glicko ratings of AIs, updated as game results stream in. <br>
+ * Each game is a rating period for both AIs: their deviation first grows with {@code deviationGrowth}, then both are
+ * updated at once from the other's rating before the game. All matches of a game are against the same opponent, so
+ * an update takes constant time whatever the number of matches. <br>
+ * AIs are identified by ids, by default their class and configuration, see {@link #id(AI)}. An AI seen for the first
+ * time gets the initial rating, so new AIs can join a ladder and only play a few games against its current members.
+ * Ladders can be saved and loaded back, to keep a ladder going across runs. <br>
+ * A ladder follows a {@link Contest} game by game under ids given to its AIs, see
+ * {@link Contest.Builder#withLadder(Ladder, List)}.
+ */
+public final class Ladder {
+
+    private static final double DEFAULT_RATING = 1500.0;
+    private static final double DEFAULT_DEVIATION = 350.0;
+    private static final double DEFAULT_DEVIATION_GROWTH = 10.0;
+
+    /**
+     * Standard normal quantile of a two sided 95% interval
+     */
+    private static final double Z_95 = 1.959964;
+
+    private static final double Q = Math.log(10.0) / 400.0;
+
+    private final double initialRating;
+    private final double initialDeviation;
+    private final double deviationGrowth;
+    private final Map<String, Entry> entries;
+
+    public Ladder() {
+        this(DEFAULT_RATING, DEFAULT_DEVIATION, DEFAULT_DEVIATION_GROWTH);
+    }
+
+    /**
+     * @param initialRating the rating of unknown AIs
+     * @param initialDeviation the deviation of unknown AIs, also the highest deviation
+     * @param deviationGrowth how much the deviation grows per game, so that ratings keep following AIs that changed
+     */
+    public Ladder(double initialRating, double initialDeviation, double deviationGrowth) {
+        Preconditions.checkArgument(initialDeviation > 0.0, "Deviation must be positive, but found %s",
+                initialDeviation);
+        this.initialRating = initialRating;
+        this.initialDeviation = initialDeviation;
+        this.deviationGrowth = deviationGrowth;
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * @return the identity of {@code ai} in ladders, independent of the order of its configuration
+     */
+    public static String id(AI ai) {
+        return ai.getClass().getName() + new TreeMap<>(ai.getConf());
+    }
+
+    /**
+     * Records all matches of a completed game under the ids of its AIs
+     *
+     * @throws IllegalArgumentException if both AIs have the same id, see {@link #id(AI)}
+     */
+    public void record(GameResult result) {
+        AI player = result.getPlayer();
+        AI opponent = result.getOpponent();
+        if (player == null || opponent == null) {
+            return;
+        }
+        record(id(player), id(opponent), result.getPlayerVictoryCount(), result.getOpponentVictoryCount());
+    }
+
+    /**
+     * Records {@code playerVictories + opponentVictories} matches between {@code player} and {@code opponent}
+     */
+    public synchronized void record(String player, String opponent, long playerVictories, long opponentVictories) {
+        Preconditions.checkArgument(!player.equals(opponent), "An AI cannot be rated against itself: %s", player);
+
+        long matches = playerVictories + opponentVictories;
+        if (matches == 0) {
+            return;
+        }
+
+        Entry playerEntry = entry(player);
+        Entry opponentEntry = entry(opponent);
+        playerEntry.grow();
+        opponentEntry.grow();
+
+        double playerRating = playerEntry.rating;
+        double playerDeviation = playerEntry.deviation;
+        playerEntry.update(opponentEntry.rating, opponentEntry.deviation, playerVictories, matches);
+        opponentEntry.update(playerRating, playerDeviation, opponentVictories, matches);
+    }
+
+    /**
+     * @return the rating of {@code id}, or {@code null} if it never played
+     */
+    @Nullable
+    public synchronized Rating getRating(String id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : entry.snapshot(id);
+    }
+
+    /**
+     * @return all AIs, best rated first
+     */
+    public synchronized List<Rating> getClassification() {
+        List<Rating> ratings = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            ratings.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        ratings.sort(Comparator.comparingDouble(Rating::getRating).reversed());
+        return ratings;
+    }
+
+    /**
+     * Writes all ratings to {@code file} as {@link Properties}
+     */
+    public synchronized void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry value = entry.getValue();
+            properties.setProperty(entry.getKey(), value.rating + " " + value.deviation + " " + value.matches);
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "Ladder ratings: rating deviation matches");
+        }
+    }
+
+    /**
+     * Adds the ratings saved to {@code file}, replacing the ones of the same AIs. Nothing is added if any is invalid.
+     *
+     * @throws IllegalArgumentException if a rating is not made of a finite rating, a positive deviation and a non
+     *         negative number of matches
+     */
+    public synchronized void load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+
+        Map<String, Entry> loaded = new HashMap<>();
+        for (String id : properties.stringPropertyNames()) {
+            loaded.put(id, parse(file, id, properties.getProperty(id)));
+        }
+        entries.putAll(loaded);
+    }
+
+    private Entry parse(Path file, String id, String value) {
+        String[] values = value.trim().split("\\s+");
+        Preconditions.checkArgument(values.length == 3, "Invalid rating of %s in %s: %s", id, file, value);
+
+        double rating;
+        double deviation;
+        long matches;
+        try {
+            rating = Double.parseDouble(values[0]);
+            deviation = Double.parseDouble(values[1]);
+            matches = Long.parseLong(values[2]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rating of " + id + " in " + file + ": " + value, e);
+        }
+        Preconditions.checkArgument(
+                Double.isFinite(rating) && deviation > 0.0 && matches >= 0,
+                "Invalid rating of %s in %s: %s", id, file, value);
+
+        Entry entry = new Entry(rating, deviation);
+        entry.matches = matches;
+        return entry;
+    }
+
+    private Entry entry(String id) {
+        return entries.computeIfAbsent(id, key -> new Entry(initialRating, initialDeviation));
+    }
+
+    private static double g(double deviation) {
+        return 1.0 / Math.sqrt(1.0 + 3.0 * Q * Q * deviation * deviation / (Math.PI * Math.PI));
+    }
+
+    private final class Entry {
+
+        private double rating;
+        private double deviation;
+        private long matches;
+
+        private Entry(double rating, double deviation) {
+            this.rating = rating;
+            this.deviation = deviation;
+            this.matches = 0;
+        }
+
+        private void grow() {
+            deviation = Math.min(
+                    Math.sqrt(deviation * deviation + deviationGrowth * deviationGrowth),
+                    initialDeviation);
+        }
+
+        private void update(double opponentRating, double opponentDeviation, long victories, long matches) {
+            double g = g(opponentDeviation);
+            double expected = 1.0 / (1.0 + Math.pow(10.0, -g * (rating - opponentRating) / 400.0));
+            double inverseVariance = Q * Q * g * g * expected * (1.0 - expected) * matches;
+            double precision = 1.0 / (deviation * deviation) + inverseVariance;
+
+            rating += Q / precision * g * (victories - matches * expected);
+            deviation = Math.sqrt(1.0 / precision);
+            this.matches += matches;
+        }
+
+        private Rating snapshot(String id) {
+            return new Rating(id, rating, deviation, matches);
+        }
+    }
+
+    public static final class Rating {
+
+        private final String id;
+        private final double rating;
+        private final double deviation;
+        private final long matches;
+
+        private Rating(String id, double rating, double deviation, long matches) {
+            this.id = id;
+            this.rating = rating;
+            this.deviation = deviation;
+            this.matches = matches;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+
+        public double getDeviation() {
+            return deviation;
+        }
+
+        /**
+         * @return the lower bound of the 95% confidence interval of the rating
+         */
+        public double getLowerBound() {
+            return rating - Z_95 * deviation;
+        }
+
+        /**
+         * @return the upper bound of the 95% confidence interval of the rating
+         */
+        public double getUpperBound() {
+            return rating + Z_95 * deviation;
+        }
+
+        public long getMatches() {
+            return matches;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("id", id)
+                    .add("rating", rating)
+                    .add("deviation", deviation)
+                    .add("matches", matches)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package player.contest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.google.common.base.Preconditions;
+
+import player.Player.AI;
+import player.contest.Contest.ContestResult;
+import player.contest.Contest.Pairing;
+import player.contest.Contest.Score;
+import player.contest.Contest.Scoring;
+import player.engine.GameEngine;
+import player.game.Game;
+import player.game.Game.GameResult;
+import player.game.ProgressListener;
+import player.match.SeededAIFactory;
+import player.match.SeededGameEngineFactory;
+import player.match.Seeds;
+
+/**
+ * Contest that spends matches only where the ranking is still uncertain (Hoeffding racing). <br>
+ * AIs play in rounds: each round, every pairing of the remaining AIs plays a small batch of matches on every game
+ * engine. After each round, an AI is dropped once the upper bound of its win rate falls below the lower bound of the
+ * win rate of another remaining AI, with the configured confidence. Both win rates are measured on the same
+ * opponents: each other and the AIs both of them played. <br>
+ * Dropped AIs keep the score they had so far, but the classification ranks all survivors ahead of them. <br>
+ * Each round is scheduled as the games of a {@link Contest}.
+ */
+public final class RacingContest implements Callable<ContestResult> {
+
+    private static final int DEFAULT_BATCH_SIZE = 5;
+    private static final int DEFAULT_MAX_ROUNDS = 20;
+    private static final double DEFAULT_DELTA = 0.05;
+
+    private final List<SeededAIFactory> ais;
+    private final List<SeededGameEngineFactory> gameEngines;
+    private final ExecutorService gameExecutorService;
+    private final ExecutorService matchExecutorService;
+    private final int batchSize;
+    private final int maxRounds;
+    private final double delta;
+    private final ProgressListener<GameResult> progressListener;
+    private final boolean profiled;
+    private final long seed;
+
+    private RacingContest(Builder builder) {
+        this.ais = builder.ais;
+        this.gameEngines = builder.gameEngines;
+        this.gameExecutorService = builder.gameExecutorService;
+        this.matchExecutorService = builder.matchExecutorService;
+        this.batchSize = builder.batchSize;
+        this.maxRounds = builder.maxRounds;
+        this.delta = builder.delta;
+        this.progressListener = builder.progressListener;
+        this.profiled = builder.profiled;
+        this.seed = builder.seed;
+    }
+
+    public static Builder newBuilder(
+            List<Function<IntSupplier, Supplier<AI>>> ais,
+            List<Supplier<GameEngine>> gameEngines,
+            ExecutorService gameExecutorService,
+            ExecutorService matchExecutorService) {
+
+        return new Builder(
+                ais.stream().map(SeededAIFactory::of).collect(Collectors.toList()),
+                gameEngines.stream().map(SeededGameEngineFactory::of).collect(Collectors.toList()),
+                gameExecutorService,
+                matchExecutorService);
+    }
+
+    /**
+     * Builds a contest whose matches draw their randomness from the contest seed, see {@link Builder#withSeed(long)}
+     */
+    public static Builder newSeededBuilder(
+            List<SeededAIFactory> ais,
+            List<SeededGameEngineFactory> gameEngines,
+            ExecutorService gameExecutorService,
+            ExecutorService matchExecutorService) {
+
+        return new Builder(ais, gameEngines, gameExecutorService, matchExecutorService);
+    }
+
+    @Override
+    public ContestResult call() throws InterruptedException, ExecutionException {
+
+        if (ais.size() < 2) {
+            throw new IllegalStateException("Unable to play a contest with a single provided AI");
+        }
+
+        Score[] scores = new Score[ais.size()];
+        long[][] victories = new long[ais.size()][ais.size()];
+        long[][] matches = new long[ais.size()][ais.size()];
+
+        boolean[] alive = new boolean[ais.size()];
+        int aliveCount = ais.size();
+        for (int i = 0; i < alive.length; i++) {
+            alive[i] = true;
+        }
+
+        // Union bound over every ordered pair of AIs compared at every round
+        double comparisonDelta = delta / ((double) ais.size() * (ais.size() - 1) * maxRounds);
+
+        for (int round = 0; round < maxRounds && aliveCount > 1; round++) {
+            playRound(Seeds.derive(seed, round), alive, scores, victories, matches);
+            aliveCount -= eliminate(alive, victories, matches, comparisonDelta);
+        }
+
+        return new ContestResult(scores, alive);
+    }
+
+    /**
+     * Accounts the victories of each AI against each other one in {@code victories[ai][opponent]} and the matches
+     * they played in {@code matches[ai][opponent]}
+     */
+    private void playRound(long roundSeed, boolean[] alive, Score[] scores, long[][] victories, long[][] matches)
+            throws InterruptedException, ExecutionException {
+
+        List<Pairing> pairings = new ArrayList<>();
+        for (SeededGameEngineFactory gameEngine : gameEngines) {
+            for (int i = 0; i < ais.size() - 1; i++) {
+                for (int j = i + 1; j < ais.size(); j++) {
+                    if (!alive[i] || !alive[j]) {
+                        continue;
+                    }
+                    Game game = Game.newSeededBuilder(ais.get(i), ais.get(j), gameEngine, matchExecutorService)
+                            .withNumberOfMatches(batchSize)
+                            .withMatchResultsRetained(false)
+                            .withProfiling(profiled)
+                            .withSeed(Seeds.derive(roundSeed, pairings.size()))
+                            .build();
+                    pairings.add(new Pairing(i, j, game));
+                }
+            }
+        }
+
+        Contest.play(pairings, gameExecutorService, new Scoring(pairings, scores, progressListener, pairing -> {
+            GameResult result = pairing.result;
+            victories[pairing.player][pairing.opponent] += result.getPlayerVictoryCount();
+            victories[pairing.opponent][pairing.player] += result.getOpponentVictoryCount();
+            matches[pairing.player][pairing.opponent] += result.getNumberOfMatches();
+            matches[pairing.opponent][pairing.player] += result.getNumberOfMatches();
+        }));
+    }
+
+    /**
+     * @return how many AIs were dropped
+     */
+    private int eliminate(boolean[] alive, long[][] victories, long[][] matches, double comparisonDelta) {
+        boolean[] dominated = new boolean[alive.length];
+        for (int i = 0; i < alive.length; i++) {
+            for (int rival = 0; rival < alive.length && alive[i] && !dominated[i]; rival++) {
+                dominated[i] = rival != i && alive[rival] && dominates(rival, i, victories, matches, comparisonDelta);
+            }
+        }
+
+        int eliminated = 0;
+        for (int i = 0; i < alive.length; i++) {
+            if (dominated[i]) {
+                alive[i] = false;
+                eliminated++;
+            }
+        }
+        return eliminated;
+    }
+
+    /**
+     * Compares both AIs on the same opponents: each other, and the AIs both of them played
+     *
+     * @return whether {@code rival} is better than {@code candidate}, wrongly with a probability of at most
+     *         {@code comparisonDelta}
+     */
+    private boolean dominates(int rival, int candidate, long[][] victories, long[][] matches,
+            double comparisonDelta) {
+        long candidateVictories = victories[candidate][rival];
+        long candidateMatches = matches[candidate][rival];
+        long rivalVictories = victories[rival][candidate];
+        long rivalMatches = matches[rival][candidate];
+
+        for (int opponent = 0; opponent < ais.size(); opponent++) {
+            if (opponent == rival || opponent == candidate
+                    || matches[candidate][opponent] == 0 || matches[rival][opponent] == 0) {
+                continue;
+            }
+            candidateVictories += victories[candidate][opponent];
+            candidateMatches += matches[candidate][opponent];
+            rivalVictories += victories[rival][opponent];
+            rivalMatches += matches[rival][opponent];
+        }
+
+        if (candidateMatches == 0 || rivalMatches == 0) {
+            return false;
+        }
+
+        double candidateUpperBound = (double) candidateVictories / candidateMatches
+                + hoeffding(candidateMatches, comparisonDelta);
+        double rivalLowerBound = (double) rivalVictories / rivalMatches - hoeffding(rivalMatches, comparisonDelta);
+        return candidateUpperBound < rivalLowerBound;
+    }
+
+    /**
+     * Half width of the Hoeffding interval of a win rate measured over {@code n} matches, that misses the true win
+     * rate by either side with a probability of at most {@code delta / 2}
+     */
+    private static double hoeffding(long n, double delta) {
+        return Math.sqrt(Math.log(2.0 / delta) / (2.0 * n));
+    }
+
+    public static final class Builder {
+
+        private final List<SeededAIFactory> ais;
+        private final List<SeededGameEngineFactory> gameEngines;
+        private final ExecutorService gameExecutorService;
+        private final ExecutorService matchExecutorService;
+        private int batchSize;
+        private int maxRounds;
+        private double delta;
+        private ProgressListener<GameResult> progressListener;
+        private boolean profiled;
+        private long seed;
+
+        private Builder(
+                List<SeededAIFactory> ais,
+                List<SeededGameEngineFactory> gameEngines,
+                ExecutorService gameExecutorService,
+                ExecutorService matchExecutorService) {
+
+            this.ais = ais;
+            this.gameEngines = gameEngines;
+            this.gameExecutorService = gameExecutorService;
+            this.matchExecutorService = matchExecutorService;
+            this.batchSize = DEFAULT_BATCH_SIZE;
+            this.maxRounds = DEFAULT_MAX_ROUNDS;
+            this.delta = DEFAULT_DELTA;
+            this.progressListener = ProgressListener.noOp();
+            this.profiled = false;
+            this.seed = Seeds.random();
+        }
+
+        /**
+         * Number of matches each pairing plays on each game engine per round
+         */
+        public Builder withBatchSize(int batchSize) {
+            Preconditions.checkArgument(batchSize > 0, "Batch size must be positive, but found %s", batchSize);
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Number of rounds after which the remaining AIs are ranked, even if not dominated
+         */
+        public Builder withMaxRounds(int maxRounds) {
+            Preconditions.checkArgument(maxRounds > 0, "Max rounds must be positive, but found %s", maxRounds);
+            this.maxRounds = maxRounds;
+            return this;
+        }
+
+        /**
+         * Probability of wrongly dropping any AI during the whole race, the lower the more matches are played. <br>
+         * It is split evenly among the comparisons of every pair of AIs at every round, up to the maximum number of
+         * rounds.
+         */
+        public Builder withDelta(double delta) {
+            Preconditions.checkArgument(delta > 0.0 && delta < 1.0, "Delta must be in (0, 1), but found %s", delta);
+            this.delta = delta;
+            return this;
+        }
+
+        /**
+         * Notified with each game result as soon as the game is over, the progress being counted within its round
+         */
+        public Builder withProgressListener(ProgressListener<GameResult> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * Profiles every match, so that each score reports its AI think time, see {@link Score#getThinkTime()}
+         */
+        public Builder withProfiling(boolean profiled) {
+            this.profiled = profiled;
+            return this;
+        }
+
+        /**
+         * Derives the seed of each game from {@code seed}, the round and the pairing index, a random seed is used by
+         * default
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public RacingContest build() {
+            return new RacingContest(this);
+        }
+    }
+}
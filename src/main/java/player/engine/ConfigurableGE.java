@@ -1,47 +1,159 @@
 package player.engine;
 
-import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
+import java.util.SplittableRandom;
+
+import javax.annotation.Nullable;
 
 import com.google.common.collect.ImmutableMap;
 
 import player.Player.Action;
 
+/**
+ * Base engine that feeds AIs through input buffers. <br>
+ * Engines keeping their state in a flat array of int cells, through {@link #getCell(int)} and
+ * {@link #setCell(int, int)}, support snapshots for free: while a snapshot is open, the first write to a cell records
+ * its previous value in an undo log, so a snapshot costs as many ints as pending inputs, and a restore as many as
+ * changed cells. Snapshots are opt-in: only engines keeping their whole state in cells may advertise
+ * {@link #supportsSnapshots()}, as state held in fields would not be restored. <br>
+ * Such engines may also opt in to a Zobrist style {@link #stateHash()}, as state held in fields would not be hashed:
+ * each cell value is mapped to a pseudo random key, and the state hash is the xor of the keys of all cells, along
+ * with the number of rounds and the winner. It is computed over all cells on the first call only, then writes and
+ * restores update it with the keys of the previous and new values, so engines never asked for a hash do not pay for
+ * it.
+ */
 abstract class ConfigurableGE implements GameEngine {
 
+    private static final int FRAME_LENGTH = 6;
+    private static final Winner[] WINNERS = Winner.values();
+
     private Winner winner;
     private int rounds;
 
     private final Map<String, Object> conf;
-    private final Queue<Integer> playerInput;
-    private final Queue<Integer> opponentInput;
+    private final IntRingBuffer playerInput;
+    private final IntRingBuffer opponentInput;
+
+    private final int[] cells;
+    private final int[] recordedAt;
+    private boolean hashed;
+    private long cellsHash;
+    private int generation;
+    private int[] undoLog;
+    private int undoLogSize;
+    private int[] frames;
+    private int numberOfFrames;
+    private int[] savedInputs;
+    private int savedInputsSize;
 
     ConfigurableGE(Map<String, Object> conf) {
+        this(conf, 0);
+    }
+
+    /**
+     * @param numberOfCells size of the flat state array
+     */
+    ConfigurableGE(Map<String, Object> conf, int numberOfCells) {
+        if (numberOfCells < 0) {
+            throw new IllegalArgumentException("Number of cells must not be negative, but found " + numberOfCells);
+        }
         this.rounds = 0;
         this.winner = Winner.ON_GOING;
         this.conf = ImmutableMap.copyOf(conf);
-        this.playerInput = new ArrayDeque<>();
-        this.opponentInput = new ArrayDeque<>();
+        this.playerInput = new IntRingBuffer();
+        this.opponentInput = new IntRingBuffer();
+        this.cells = new int[numberOfCells];
+        this.recordedAt = new int[numberOfCells];
+        this.hashed = false;
+        this.cellsHash = 0L;
+        this.generation = 0;
+        this.undoLog = new int[16];
+        this.undoLogSize = 0;
+        this.frames = new int[4 * FRAME_LENGTH];
+        this.numberOfFrames = 0;
+        this.savedInputs = new int[16];
+        this.savedInputsSize = 0;
     }
 
-    Map<String, Object> getConf() {
+    @Override
+    public Map<String, Object> getConf() {
         return conf;
     }
 
     protected abstract Winner runRound(Action[] playerActions, Action[] opponentActions);
 
-    void toPlayerInput(int... values) {
-        for (int value : values) {
-            playerInput.add(value);
+    /**
+     * Brings subclass state back to its initial value, subclasses that support {@link #reset(SplittableRandom)} must
+     * override it
+     *
+     * @return {@code false} if the state cannot be reset
+     */
+    protected boolean resetState(SplittableRandom random) {
+        return false;
+    }
+
+    protected final int getCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Writes a state cell, recording its previous value if a snapshot is open
+     */
+    protected final void setCell(int index, int value) {
+        if (numberOfFrames > 0 && recordedAt[index] != generation) {
+            recordedAt[index] = generation;
+            if (undoLogSize + 2 > undoLog.length) {
+                undoLog = Arrays.copyOf(undoLog, undoLog.length * 2);
+            }
+            undoLog[undoLogSize++] = index;
+            undoLog[undoLogSize++] = cells[index];
         }
+        if (hashed) {
+            cellsHash ^= zobrist(index, cells[index]) ^ zobrist(index, value);
+        }
+        cells[index] = value;
     }
 
-    void toOpponentInput(int... values) {
-        for (int value : values) {
-            opponentInput.add(value);
+    protected final int getNumberOfCells() {
+        return cells.length;
+    }
+
+    /**
+     * Overwrites the state of this engine, inputs included, with the one of {@code other}, which must have as many
+     * cells. <br>
+     * Deep copy alternative to snapshots, whose cost grows with the number of cells rather than with the changed ones.
+     */
+    void copyFrom(ConfigurableGE other) {
+        if (other.cells.length != cells.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + cells.length + " cells, but found " + other.cells.length);
         }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        hashed = other.hashed;
+        cellsHash = other.cellsHash;
+        rounds = other.rounds;
+        winner = other.winner;
+        copyInput(other.playerInput, playerInput);
+        copyInput(other.opponentInput, opponentInput);
+        closeFrames(0);
+    }
+
+    void toPlayerInput(int... values) {
+        playerInput.addAll(values, 0, values.length);
+    }
+
+    void toPlayerInput(int[] values, int off, int len) {
+        playerInput.addAll(values, off, len);
+    }
+
+    void toOpponentInput(int... values) {
+        opponentInput.addAll(values, 0, values.length);
+    }
+
+    void toOpponentInput(int[] values, int off, int len) {
+        opponentInput.addAll(values, off, len);
     }
 
     @Override
@@ -50,6 +162,180 @@ abstract class ConfigurableGE implements GameEngine {
         rounds++;
     }
 
+    @Override
+    public boolean reset(SplittableRandom random) {
+        if (!resetState(random)) {
+            return false;
+        }
+        rounds = 0;
+        winner = Winner.ON_GOING;
+        playerInput.clear();
+        opponentInput.clear();
+        closeFrames(0);
+        return true;
+    }
+
+    /**
+     * Not supported by default, engines keeping their whole state in cells opt in by returning {@code true}
+     */
+    @Override
+    public boolean supportsSnapshots() {
+        return false;
+    }
+
+    /**
+     * Not supported by default, engines keeping their whole state in cells opt in by returning {@code true}
+     */
+    @Override
+    public boolean supportsStateHash() {
+        return false;
+    }
+
+    @Override
+    public long stateHash() {
+        if (!supportsStateHash()) {
+            return GameEngine.super.stateHash();
+        }
+        if (!hashed) {
+            cellsHash = hashCells();
+            hashed = true;
+        }
+        return cellsHash ^ zobrist(-1, rounds) ^ zobrist(-2, ordinal(winner));
+    }
+
+    /**
+     * @return the {@link #stateHash()} computed over all cells, rather than incrementally
+     */
+    long rehash() {
+        return hashCells() ^ zobrist(-1, rounds) ^ zobrist(-2, ordinal(winner));
+    }
+
+    private long hashCells() {
+        long hash = 0L;
+        for (int i = 0; i < cells.length; i++) {
+            hash ^= zobrist(i, cells[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public int snapshot() {
+        if (!supportsSnapshots()) {
+            return GameEngine.super.snapshot();
+        }
+        if ((numberOfFrames + 1) * FRAME_LENGTH > frames.length) {
+            frames = Arrays.copyOf(frames, frames.length * 2);
+        }
+        int frame = numberOfFrames * FRAME_LENGTH;
+        frames[frame] = undoLogSize;
+        frames[frame + 1] = savedInputsSize;
+        frames[frame + 2] = playerInput.size();
+        frames[frame + 3] = opponentInput.size();
+        frames[frame + 4] = rounds;
+        frames[frame + 5] = ordinal(winner);
+
+        int required = savedInputsSize + playerInput.size() + opponentInput.size();
+        if (required > savedInputs.length) {
+            savedInputs = Arrays.copyOf(savedInputs, Math.max(required, savedInputs.length * 2));
+        }
+        savedInputsSize += playerInput.peek(savedInputs, savedInputsSize);
+        savedInputsSize += opponentInput.peek(savedInputs, savedInputsSize);
+
+        nextGeneration();
+        return numberOfFrames++;
+    }
+
+    @Override
+    public void restore(int token) {
+        checkToken(token);
+        int frame = token * FRAME_LENGTH;
+
+        int undoFrom = frames[frame];
+        for (int i = undoLogSize - 2; i >= undoFrom; i -= 2) {
+            int index = undoLog[i];
+            if (hashed) {
+                cellsHash ^= zobrist(index, cells[index]) ^ zobrist(index, undoLog[i + 1]);
+            }
+            cells[index] = undoLog[i + 1];
+        }
+        undoLogSize = undoFrom;
+
+        int inputsFrom = frames[frame + 1];
+        int playerInputSize = frames[frame + 2];
+        int opponentInputSize = frames[frame + 3];
+        playerInput.clear();
+        playerInput.addAll(savedInputs, inputsFrom, playerInputSize);
+        opponentInput.clear();
+        opponentInput.addAll(savedInputs, inputsFrom + playerInputSize, opponentInputSize);
+        savedInputsSize = inputsFrom + playerInputSize + opponentInputSize;
+
+        rounds = frames[frame + 4];
+        winner = frames[frame + 5] < 0 ? null : WINNERS[frames[frame + 5]];
+
+        numberOfFrames = token + 1;
+        nextGeneration();
+    }
+
+    @Override
+    public void release(int token) {
+        checkToken(token);
+        closeFrames(token);
+    }
+
+    /**
+     * @return the ordinal of {@code winner}, {@code -1} if the engine did not tell one
+     */
+    private static int ordinal(@Nullable Winner winner) {
+        return winner == null ? -1 : winner.ordinal();
+    }
+
+    /**
+     * Key of {@code value} in cell {@code index}: the pair goes through a bijective mixer, so distinct pairs never
+     * share a key
+     */
+    private static long zobrist(int index, int value) {
+        long z = (((long) index << 32) | (value & 0xFFFFFFFFL)) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static void copyInput(IntRingBuffer from, IntRingBuffer to) {
+        int[] values = new int[from.size()];
+        from.peek(values, 0);
+        to.clear();
+        to.addAll(values, 0, values.length);
+    }
+
+    private void checkToken(int token) {
+        if (token < 0 || token >= numberOfFrames) {
+            throw new IllegalArgumentException(
+                    "Unknown snapshot " + token + ", " + numberOfFrames + " snapshots are open");
+        }
+    }
+
+    private void closeFrames(int token) {
+        if (token < numberOfFrames) {
+            savedInputsSize = frames[token * FRAME_LENGTH + 1];
+        }
+        numberOfFrames = token;
+        if (numberOfFrames == 0) {
+            undoLogSize = 0;
+            savedInputsSize = 0;
+        }
+    }
+
+    /**
+     * Starts recording cells again, as if none had been written yet
+     */
+    private void nextGeneration() {
+        generation++;
+        if (generation == 0) {
+            Arrays.fill(recordedAt, 0);
+            generation = 1;
+        }
+    }
+
     @Override
     public int playerInput() {
         if (playerInput.isEmpty()) {
@@ -58,6 +344,21 @@ abstract class ConfigurableGE implements GameEngine {
         return playerInput.poll();
     }
 
+    /**
+     * Reads {@code len} values from player input stream at once
+     */
+    public void playerInput(int[] dst, int off, int len) {
+        if (playerInput.size() < len) {
+            throw new IllegalStateException(
+                    "No inputs are available to player, requested " + len + " but found " + playerInput.size());
+        }
+        playerInput.poll(dst, off, len);
+    }
+
+    public int availablePlayerInput() {
+        return playerInput.size();
+    }
+
     @Override
     public int opponentInput() {
         if (opponentInput.isEmpty()) {
@@ -66,6 +367,21 @@ abstract class ConfigurableGE implements GameEngine {
         return opponentInput.poll();
     }
 
+    /**
+     * Reads {@code len} values from opponent input stream at once
+     */
+    public void opponentInput(int[] dst, int off, int len) {
+        if (opponentInput.size() < len) {
+            throw new IllegalStateException(
+                    "No inputs are available to opponent, requested " + len + " but found " + opponentInput.size());
+        }
+        opponentInput.poll(dst, off, len);
+    }
+
+    public int availableOpponentInput() {
+        return opponentInput.size();
+    }
+
     @Override
     public int getNumberOfRounds() {
         return rounds;
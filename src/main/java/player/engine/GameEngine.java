@@ -1,5 +1,9 @@
 package player.engine;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.SplittableRandom;
+
 import player.Player.Action;
 
 public interface GameEngine {
@@ -46,4 +50,79 @@ public interface GameEngine {
      * Returns the number of executed rounds
      */
     int getNumberOfRounds();
+
+    /**
+     * Parameters the engine was built with, engines with the same class and configuration must play the same
+     * matches for the same seed. No parameters by default.
+     */
+    default Map<String, Object> getConf() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Brings the engine back to the state it had right after being built with {@code random}, so it can be reused by
+     * another match. Any randomness must be drawn from {@code random} from then on, so that a reused engine plays a
+     * seeded match as a new one would. <br>
+     * Engines are not reusable by default.
+     *
+     * @return {@code false} if the engine cannot be reset, in which case a new one must be built
+     */
+    default boolean reset(SplittableRandom random) {
+        return false;
+    }
+
+    /**
+     * Whether the engine can {@link #snapshot()} and {@link #restore(int)} its state, so that AIs can use it as a
+     * forward model to simulate rounds. Not supported by default.
+     */
+    default boolean supportsSnapshots() {
+        return false;
+    }
+
+    /**
+     * Saves the current state, inputs included. <br>
+     * Snapshots nest: a token remains valid until the engine is restored to an older one, or it is released.
+     *
+     * @return the token to {@link #restore(int)} the saved state
+     * @throws UnsupportedOperationException if snapshots are not supported
+     */
+    default int snapshot() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support snapshots");
+    }
+
+    /**
+     * Brings back the state saved by {@code token}, discarding later snapshots. The snapshot remains open, so it can
+     * be restored again after simulating other rounds.
+     *
+     * @throws UnsupportedOperationException if snapshots are not supported
+     */
+    default void restore(int token) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support snapshots");
+    }
+
+    /**
+     * Closes the snapshot saved by {@code token} and later ones, keeping the current state
+     *
+     * @throws UnsupportedOperationException if snapshots are not supported
+     */
+    default void release(int token) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support snapshots");
+    }
+
+    /**
+     * Whether the engine provides a {@link #stateHash()}. Not supported by default.
+     */
+    default boolean supportsStateHash() {
+        return false;
+    }
+
+    /**
+     * Hash of the current state, for transposition tables, result caches or repetition detection. Equal states have
+     * equal hashes, and different states only rarely share one. Inputs are not part of the state.
+     *
+     * @throws UnsupportedOperationException if state hashes are not supported
+     */
+    default long stateHash() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support state hashes");
+    }
 }
@@ -0,0 +1,130 @@
+package player.engine;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Growable FIFO queue of primitive ints backed by a circular array. <br>
+ * Values are never boxed, so feeding and polling AI inputs does not allocate once the buffer reached its working
+ * capacity.
+ */
+final class IntRingBuffer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+    private int head;
+    private int size;
+
+    IntRingBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    IntRingBuffer(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, but found " + initialCapacity);
+        }
+        this.elements = new int[powerOfTwoAtLeast(initialCapacity)];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    void add(int value) {
+        ensureCapacity(size + 1);
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    void addAll(int[] values, int off, int len) {
+        checkBounds(values, off, len);
+        ensureCapacity(size + len);
+
+        int tail = (head + size) & (elements.length - 1);
+        int firstChunk = Math.min(len, elements.length - tail);
+        System.arraycopy(values, off, elements, tail, firstChunk);
+        System.arraycopy(values, off + firstChunk, elements, 0, len - firstChunk);
+        size += len;
+    }
+
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Moves up to {@code len} values into {@code dst}
+     *
+     * @return the number of values actually moved
+     */
+    int poll(int[] dst, int off, int len) {
+        checkBounds(dst, off, len);
+
+        int count = Math.min(len, size);
+        int firstChunk = Math.min(count, elements.length - head);
+        System.arraycopy(elements, head, dst, off, firstChunk);
+        System.arraycopy(elements, 0, dst, off + firstChunk, count - firstChunk);
+
+        head = (head + count) & (elements.length - 1);
+        size -= count;
+        return count;
+    }
+
+    /**
+     * Copies all values into {@code dst} without polling them
+     *
+     * @return the number of values copied
+     */
+    int peek(int[] dst, int off) {
+        checkBounds(dst, off, size);
+
+        int firstChunk = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, dst, off, firstChunk);
+        System.arraycopy(elements, 0, dst, off + firstChunk, size - firstChunk);
+        return size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required < 0) {
+            throw new IllegalStateException("Input buffer overflow");
+        }
+        if (required <= elements.length) {
+            return;
+        }
+
+        int[] grown = new int[powerOfTwoAtLeast(required)];
+        int firstChunk = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, grown, 0, firstChunk);
+        System.arraycopy(elements, 0, grown, firstChunk, size - firstChunk);
+
+        elements = grown;
+        head = 0;
+    }
+
+    private static int powerOfTwoAtLeast(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static void checkBounds(int[] array, int off, int len) {
+        if (off < 0 || len < 0 || off > array.length - len) {
+            throw new IndexOutOfBoundsException(
+                    "off=" + off + ", len=" + len + ", length=" + array.length);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 /**
  * Provides engines for playing a game. <br>
  * Input may be generated randomly, or read from a file, or they can even be hardcoded. <br>
+ * Recorded matches can be played again with {@link player.replay.ReplayGE}. <br>
  * User should implement what he needs.
  */
 @ParametersAreNonnullByDefault
@@ -0,0 +1,57 @@
+package player.game;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs games and matches as fork/join tasks, failing the same way as through an {@code ExecutorService}: work that
+ * throws is reported by an {@link ExecutionException} caused by its exception.
+ */
+public final class ForkJoinTasks {
+
+    private ForkJoinTasks() {
+        // Utility class
+    }
+
+    /**
+     * Runs the task in the current thread if it is already a worker of {@code pool}, so that joins steal work
+     * rather than blocking, or submits it to {@code pool} otherwise
+     *
+     * @throws ExecutionException if some work of the task failed, see {@link #call(Callable)}
+     */
+    public static <T> T invoke(ForkJoinPool pool, ForkJoinTask<T> task)
+            throws InterruptedException, ExecutionException {
+
+        try {
+            return ForkJoinTask.getPool() == pool ? task.invoke() : pool.invoke(task);
+        } catch (CompletionException e) {
+            Throwable cause = e;
+            // Exceptions rethrown by joins from another thread are wrapped in a copy of themselves
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            throw new ExecutionException(cause);
+        }
+    }
+
+    /**
+     * Calls {@code work} from a fork/join task. Its failure is wrapped in a {@link CompletionException}, that
+     * {@link #invoke(ForkJoinPool, ForkJoinTask)} reports as an {@link ExecutionException}.
+     */
+    public static <T> T call(Callable<T> work) {
+        try {
+            return work.call();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package player.game;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 
@@ -19,20 +29,47 @@ import player.engine.GameEngine;
 import player.engine.Winner;
 import player.match.Match;
 import player.match.Match.MatchResult;
+import player.match.MatchPool;
+import player.match.MatchProfile;
+import player.match.MatchResultCache;
+import player.match.SeededAIFactory;
+import player.match.SeededGameEngineFactory;
+import player.match.Seeds;
+import player.replay.ReplayRecorder;
 
 /**
  * Plays multiple matches between to AIs. It is useful when IAs or State supplier are not deterministic,
- * otherwise, a single match is enough
+ * otherwise, a single match is enough. <br>
+ * When the provided executor service is a {@link ForkJoinPool}, matches are split into fork/join tasks instead of
+ * blocking the calling thread, so a game can itself run inside that pool.
  */
 public class Game implements Callable<Game.GameResult> {
 
     private static final int DEFAULT_NUMBER_OF_MATCHES = 5;
 
-    private final Function<IntSupplier, Supplier<AI>> player;
-    private final Function<IntSupplier, Supplier<AI>> opponent;
-    private final Supplier<GameEngine> gameEngine;
+    private final SeededAIFactory player;
+    private final SeededAIFactory opponent;
+    private final SeededGameEngineFactory gameEngine;
     private final int numberOfMatches;
     private final ExecutorService executorService;
+    private final boolean retainMatchResults;
+    private final ProgressListener<GameResult> progressListener;
+    @Nullable
+    private final StoppingRule stoppingRule;
+    private final int batchSize;
+    private final boolean profiled;
+    private final long seed;
+    @Nullable
+    private final MatchResultCache cache;
+    @Nullable
+    private final MatchPool matchPool;
+    @Nullable
+    private final Path replayDirectory;
+
+    /**
+     * Guards AI and game engine factories, which are not required to be thread safe
+     */
+    private final Object factoryLock;
 
     public Game(
             Function<IntSupplier, Supplier<AI>> player,
@@ -40,7 +77,7 @@ public class Game implements Callable<Game.GameResult> {
             Supplier<GameEngine> gameEngine,
             ExecutorService executorService) {
 
-        this(player, opponent, gameEngine, executorService, DEFAULT_NUMBER_OF_MATCHES);
+        this(newBuilder(player, opponent, gameEngine, executorService));
     }
 
     public Game(
@@ -50,127 +87,642 @@ public class Game implements Callable<Game.GameResult> {
             ExecutorService executorService,
             int numberOfMatches) {
 
-        this.player = player;
-        this.opponent = opponent;
-        this.gameEngine = gameEngine;
-        this.numberOfMatches = numberOfMatches;
-        this.executorService = executorService;
+        this(newBuilder(player, opponent, gameEngine, executorService)
+                .withNumberOfMatches(numberOfMatches));
+    }
+
+    /**
+     * @param retainMatchResults whether the result should keep every single match result, otherwise only the
+     *            aggregated statistics are kept
+     */
+    public Game(
+            Function<IntSupplier, Supplier<AI>> player,
+            Function<IntSupplier, Supplier<AI>> opponent,
+            Supplier<GameEngine> gameEngine,
+            ExecutorService executorService,
+            int numberOfMatches,
+            boolean retainMatchResults) {
+
+        this(newBuilder(player, opponent, gameEngine, executorService)
+                .withNumberOfMatches(numberOfMatches)
+                .withMatchResultsRetained(retainMatchResults));
+    }
+
+    private Game(Builder builder) {
+        this.player = builder.player;
+        this.opponent = builder.opponent;
+        this.gameEngine = builder.gameEngine;
+        this.numberOfMatches = builder.numberOfMatches;
+        this.executorService = builder.executorService;
+        this.retainMatchResults = builder.retainMatchResults;
+        this.progressListener = builder.progressListener;
+        this.stoppingRule = builder.stoppingRule;
+        this.batchSize = builder.batchSize;
+        this.profiled = builder.profiled;
+        this.seed = builder.seed;
+        this.cache = builder.cache;
+        this.matchPool = builder.reuseInstances
+                ? new MatchPool(player, opponent, gameEngine, profiled)
+                : null;
+        this.replayDirectory = builder.replayDirectory;
+        this.factoryLock = new Object();
+    }
+
+    public static Builder newBuilder(
+            Function<IntSupplier, Supplier<AI>> player,
+            Function<IntSupplier, Supplier<AI>> opponent,
+            Supplier<GameEngine> gameEngine,
+            ExecutorService executorService) {
+
+        return new Builder(
+                SeededAIFactory.of(player),
+                SeededAIFactory.of(opponent),
+                SeededGameEngineFactory.of(gameEngine),
+                executorService);
+    }
+
+    /**
+     * Builds a game whose matches draw their randomness from the game seed, see {@link Builder#withSeed(long)}
+     */
+    public static Builder newSeededBuilder(
+            SeededAIFactory player,
+            SeededAIFactory opponent,
+            SeededGameEngineFactory gameEngine,
+            ExecutorService executorService) {
+
+        return new Builder(player, opponent, gameEngine, executorService);
     }
 
+    /**
+     * Plays all matches and aggregates them in completion order, so that a slow match does not hold back the others
+     * and match results are released as soon as they are aggregated. <br>
+     * Retained match results are therefore in completion order. <br>
+     * With a stopping rule, matches are played in batches until the rule decides the game or the number of matches
+     * is reached.
+     */
     @Override
     public GameResult call() throws InterruptedException, ExecutionException {
-        List<Callable<MatchResult>> matches = new ArrayList<>();
-        for (int i = 0; i < numberOfMatches; i++) {
-            matches.add(new Match(player, opponent, gameEngine));
+        if (replayDirectory == null) {
+            return play(null);
+        }
+
+        try (ReplayRecorder recorder = new ReplayRecorder(replayFile(replayDirectory, seed))) {
+            return play(recorder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the replay file a game played with {@code seed} writes to {@code directory}
+     */
+    public static Path replayFile(Path directory, long seed) {
+        return directory.resolve(String.format("game-%016x.replay", seed));
+    }
+
+    private GameResult play(@Nullable ReplayRecorder recorder) throws InterruptedException, ExecutionException {
+        GameResult gameResult = new GameResult(retainMatchResults);
+
+        int played = 0;
+        while (played < numberOfMatches) {
+            int batch = stoppingRule == null ? numberOfMatches : Math.min(batchSize, numberOfMatches - played);
+            playMatches(gameResult, played, played + batch, recorder);
+            played += batch;
+
+            if (stoppingRule != null && stoppingRule.isDecided(gameResult)) {
+                break;
+            }
+        }
+
+        gameResult.numberOfMatchesSaved = numberOfMatches - played;
+        return gameResult;
+    }
+
+    /**
+     * Plays the matches of indexes {@code from} (inclusive) to {@code to} (exclusive)
+     */
+    private void playMatches(GameResult gameResult, int from, int to, @Nullable ReplayRecorder recorder)
+            throws InterruptedException, ExecutionException {
+
+        if (executorService instanceof ForkJoinPool) {
+            ForkJoinTasks.invoke((ForkJoinPool) executorService, new MatchesTask(gameResult, from, to, recorder));
+            return;
+        }
+
+        CompletionService<MatchResult> completionService = new ExecutorCompletionService<>(executorService);
+        List<Future<MatchResult>> futures = new ArrayList<>(to - from);
+        try {
+            for (int i = from; i < to; i++) {
+                int index = i;
+                futures.add(completionService.submit(() -> playMatch(index, recorder)));
+            }
+            for (int i = from; i < to; i++) {
+                record(gameResult, completionService.take().get());
+            }
+        } finally {
+            for (Future<MatchResult> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * The match seed only depends on the game seed and the match index, so the same matches are played whatever the
+     * scheduling
+     */
+    private MatchResult playMatch(int index, @Nullable ReplayRecorder recorder) {
+        long matchSeed = Seeds.derive(seed, index);
+
+        if (matchPool != null) {
+            MatchResult result = matchPool.newMatch(matchSeed, recorder).call();
+            matchPool.release(result);
+            return result;
+        }
+
+        Match match;
+        synchronized (factoryLock) {
+            Match.Builder builder = Match.newSeededBuilder(player, opponent, gameEngine)
+                    .withProfiling(profiled)
+                    .withSeed(matchSeed);
+            if (cache != null) {
+                builder.withResultCache(cache);
+            }
+            if (recorder != null) {
+                builder.withReplayRecorder(recorder);
+            }
+            match = builder.build();
+        }
+        return match.call();
+    }
+
+    private void record(GameResult gameResult, MatchResult matchResult) {
+        synchronized (gameResult) {
+            gameResult.addMatchResult(matchResult);
+            progressListener.onProgress(gameResult, (int) gameResult.getNumberOfMatches(), numberOfMatches);
+        }
+    }
+
+    private final class MatchesTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final GameResult gameResult;
+        private final int from;
+        private final int to;
+        @Nullable
+        private final ReplayRecorder recorder;
+
+        private MatchesTask(GameResult gameResult, int from, int to, @Nullable ReplayRecorder recorder) {
+            this.gameResult = gameResult;
+            this.from = from;
+            this.to = to;
+            this.recorder = recorder;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int i = from; i < to; i++) {
+                    int index = i;
+                    record(gameResult, ForkJoinTasks.call(() -> playMatch(index, recorder)));
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new MatchesTask(gameResult, from, middle, recorder),
+                    new MatchesTask(gameResult, middle, to, recorder));
+        }
+    }
+
+    public static final class Builder {
+
+        private final SeededAIFactory player;
+        private final SeededAIFactory opponent;
+        private final SeededGameEngineFactory gameEngine;
+        private final ExecutorService executorService;
+        private int numberOfMatches;
+        private boolean retainMatchResults;
+        private ProgressListener<GameResult> progressListener;
+        private StoppingRule stoppingRule;
+        private int batchSize;
+        private boolean reuseInstances;
+        private boolean profiled;
+        private long seed;
+        private boolean seeded;
+        @Nullable
+        private MatchResultCache cache;
+        @Nullable
+        private Path replayDirectory;
+
+        private Builder(
+                SeededAIFactory player,
+                SeededAIFactory opponent,
+                SeededGameEngineFactory gameEngine,
+                ExecutorService executorService) {
+
+            this.player = player;
+            this.opponent = opponent;
+            this.gameEngine = gameEngine;
+            this.executorService = executorService;
+            this.numberOfMatches = DEFAULT_NUMBER_OF_MATCHES;
+            this.retainMatchResults = true;
+            this.progressListener = ProgressListener.noOp();
+            this.stoppingRule = null;
+            this.batchSize = 0;
+            this.reuseInstances = false;
+            this.profiled = false;
+            this.seed = Seeds.random();
+            this.seeded = false;
+            this.cache = null;
+            this.replayDirectory = null;
+        }
+
+        public Builder withNumberOfMatches(int numberOfMatches) {
+            this.numberOfMatches = numberOfMatches;
+            return this;
+        }
+
+        /**
+         * Whether the result should keep every single match result, otherwise only the aggregated statistics are
+         * kept. Match results are retained by default.
+         */
+        public Builder withMatchResultsRetained(boolean retainMatchResults) {
+            this.retainMatchResults = retainMatchResults;
+            return this;
+        }
+
+        /**
+         * Notified with the partial game result after each match completes
+         */
+        public Builder withProgressListener(ProgressListener<GameResult> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * Plays matches in batches of {@code batchSize}, until {@code stoppingRule} decides the game. The number of
+         * matches then becomes an upper bound.
+         */
+        public Builder withStoppingRule(StoppingRule stoppingRule, int batchSize) {
+            Preconditions.checkArgument(batchSize > 0, "Batch size must be positive, but found %s", batchSize);
+            this.stoppingRule = stoppingRule;
+            this.batchSize = batchSize;
+            return this;
         }
 
-        List<Future<MatchResult>> futures = executorService.invokeAll(matches);
+        /**
+         * Reuses AIs and game engines across the matches of this game, see {@link MatchPool}. Their matches are not
+         * cached, see {@link #withResultCache(MatchResultCache)}.
+         */
+        public Builder withInstancesReused(boolean reuseInstances) {
+            this.reuseInstances = reuseInstances;
+            return this;
+        }
+
+        /**
+         * Profiles every match, the result then rolls up their latencies and allocations, see {@link MatchProfile}
+         */
+        public Builder withProfiling(boolean profiled) {
+            this.profiled = profiled;
+            return this;
+        }
+
+        /**
+         * Derives the seed of each match from {@code seed} and the match index, a random seed is used by default
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            this.seeded = true;
+            return this;
+        }
+
+        /**
+         * Only plays the matches missing from {@code cache}, see {@link MatchResultCache}. It requires a seed, so that
+         * matches can be recognized from one run to another, and fresh instances, as a reused instance may play
+         * differently than a new one would with the same seed.
+         */
+        public Builder withResultCache(MatchResultCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Records every played match to a replay file of {@code directory}, one file per game named after its seed,
+         * see {@link Game#replayFile(Path, long)}. A game played again with the same seed overwrites its file.
+         */
+        public Builder withReplayDirectory(Path replayDirectory) {
+            this.replayDirectory = replayDirectory;
+            return this;
+        }
+
+        public Game build() {
+            Preconditions.checkState(
+                    cache == null || seeded,
+                    "Unable to look up matches played with a random seed, set one");
+            Preconditions.checkState(
+                    cache == null || !reuseInstances,
+                    "Unable to cache matches played by reused instances, build new ones");
+            return new Game(this);
+        }
+    }
+
+    /**
+     * Statistics of a game, updated as each match completes. Queries run in constant time and, unless it was asked
+     * to, no match result is retained.
+     */
+    public static final class GameResult {
+
+        @Nullable
+        private final MatchResultStore matchResults;
+
+        @Nullable
+        private AI player;
+        @Nullable
+        private AI opponent;
+        @Nullable
+        private GameEngine gameEngine;
+
+        private final RunningStatistics playerScore;
+        private final RunningStatistics opponentScore;
+        private final RunningStatistics numberOfRounds;
+        private long playerVictoryCount;
+        private long opponentVictoryCount;
+        private long numberOfMatchesSaved;
+        @Nullable
+        private MatchProfile profile;
+
+        private GameResult(boolean retainMatchResults) {
+            this.matchResults = retainMatchResults ? new MatchResultStore() : null;
+            this.playerScore = new RunningStatistics();
+            this.opponentScore = new RunningStatistics();
+            this.numberOfRounds = new RunningStatistics();
+            this.playerVictoryCount = 0;
+            this.opponentVictoryCount = 0;
+            this.numberOfMatchesSaved = 0;
+        }
+
+        private GameResult(
+                @Nullable MatchResultStore matchResults,
+                @Nullable AI player,
+                @Nullable AI opponent,
+                @Nullable GameEngine gameEngine,
+                RunningStatistics playerScore,
+                RunningStatistics opponentScore,
+                RunningStatistics numberOfRounds,
+                long playerVictoryCount,
+                long opponentVictoryCount,
+                long numberOfMatchesSaved,
+                @Nullable MatchProfile profile) {
+
+            this.matchResults = matchResults;
+            this.player = player;
+            this.opponent = opponent;
+            this.gameEngine = gameEngine;
+            this.playerScore = playerScore;
+            this.opponentScore = opponentScore;
+            this.numberOfRounds = numberOfRounds;
+            this.playerVictoryCount = playerVictoryCount;
+            this.opponentVictoryCount = opponentVictoryCount;
+            this.numberOfMatchesSaved = numberOfMatchesSaved;
+            this.profile = profile;
+        }
 
-        AI lastPlayer = null;
-        AI lastOpponent = null;
-        GameEngine lastGameEngine = null;
+        private void addMatchResult(MatchResult result) {
+            checkSameParticipants(result.getPlayer(), result.getOpponent(), result.getGameEngine());
+
+            if (player == null) {
+                player = result.getPlayer();
+                opponent = result.getOpponent();
+                gameEngine = result.getGameEngine();
+            }
+
+            playerScore.add(result.getPlayerScore());
+            opponentScore.add(result.getOpponentScore());
+            numberOfRounds.add(result.getRounds());
+
+            if (result.getWinner() == Winner.PLAYER) {
+                playerVictoryCount++;
+            } else if (result.getWinner() == Winner.OPPONENT) {
+                opponentVictoryCount++;
+            }
+
+            if (result.hasProfile()) {
+                if (profile == null) {
+                    profile = new MatchProfile();
+                }
+                profile.recordAll(result.getProfile());
+            }
+
+            if (matchResults != null) {
+                matchResults.add(result);
+            }
+        }
 
-        GameResult gameResult = new GameResult();
-        for (Future<MatchResult> future : futures) {
-            MatchResult matchResult = future.get();
-            AI player = matchResult.getPlayer();
-            AI opponent = matchResult.getOpponent();
-            GameEngine gameEngine = matchResult.getGameEngine();
+        /**
+         * @return a new result with both this and {@code other} matches, this ones first
+         */
+        public GameResult combine(GameResult other) {
+            if (other.player != null) {
+                checkSameParticipants(other.player, other.opponent, other.gameEngine);
+            }
+
+            MatchResultStore combinedMatchResults = null;
+            if (matchResults != null && other.matchResults != null) {
+                combinedMatchResults = matchResults.combine(other.matchResults);
+            }
+
+            MatchProfile combinedProfile = null;
+            if (profile != null || other.profile != null) {
+                combinedProfile = new MatchProfile();
+                if (profile != null) {
+                    combinedProfile.recordAll(profile);
+                }
+                if (other.profile != null) {
+                    combinedProfile.recordAll(other.profile);
+                }
+            }
+
+            return new GameResult(
+                    combinedMatchResults,
+                    player != null ? player : other.player,
+                    opponent != null ? opponent : other.opponent,
+                    gameEngine != null ? gameEngine : other.gameEngine,
+                    playerScore.combine(other.playerScore),
+                    opponentScore.combine(other.opponentScore),
+                    numberOfRounds.combine(other.numberOfRounds),
+                    playerVictoryCount + other.playerVictoryCount,
+                    opponentVictoryCount + other.opponentVictoryCount,
+                    numberOfMatchesSaved + other.numberOfMatchesSaved,
+                    combinedProfile);
+        }
 
+        /**
+         * Writes the statistics of this result, so that another process can read them back with
+         * {@link #readFrom(DataInput, AI, AI, GameEngine)}. Participants, match results and profile are not written.
+         */
+        public void writeTo(DataOutput out) throws IOException {
+            playerScore.writeTo(out);
+            opponentScore.writeTo(out);
+            numberOfRounds.writeTo(out);
+            out.writeLong(playerVictoryCount);
+            out.writeLong(opponentVictoryCount);
+            out.writeLong(numberOfMatchesSaved);
+        }
+
+        /**
+         * @return the statistics written by {@link #writeTo(DataOutput)}, as played by the given participants,
+         *         without match results nor profile
+         */
+        public static GameResult readFrom(DataInput in, AI player, AI opponent, GameEngine gameEngine)
+                throws IOException {
+
+            RunningStatistics playerScore = RunningStatistics.readFrom(in);
+            RunningStatistics opponentScore = RunningStatistics.readFrom(in);
+            RunningStatistics numberOfRounds = RunningStatistics.readFrom(in);
+            return new GameResult(
+                    null,
+                    player,
+                    opponent,
+                    gameEngine,
+                    playerScore,
+                    opponentScore,
+                    numberOfRounds,
+                    in.readLong(),
+                    in.readLong(),
+                    in.readLong(),
+                    null);
+        }
+
+        private void checkSameParticipants(AI player, AI opponent, GameEngine gameEngine) {
             Preconditions.checkArgument(
-                    lastPlayer == null || lastPlayer.equals(player),
+                    this.player == null || this.player.equals(player),
                     "Illegal usage, players should always be the same, but found lastPlayer=%s, player=%s",
-                    lastPlayer, player);
+                    this.player, player);
 
             Preconditions.checkArgument(
-                    lastOpponent == null || lastOpponent.equals(opponent),
+                    this.opponent == null || this.opponent.equals(opponent),
                     "Illegal usage, opponents should always be the same, but found lastOpponent=%s, opponent=%s",
-                    lastOpponent, opponent);
+                    this.opponent, opponent);
 
             Preconditions.checkArgument(
-                    lastGameEngine == null || lastGameEngine.equals(gameEngine),
+                    this.gameEngine == null || sameGame(this.gameEngine, gameEngine),
                     "Illegal usage, game engines should always be the same, " +
                             "but found lastGameEngine=%s, gameEngine=%s",
-                    lastGameEngine, gameEngine);
-
-            lastPlayer = player;
-            lastOpponent = opponent;
-            lastGameEngine = gameEngine;
-
-            gameResult.addMatchResult(matchResult);
+                    this.gameEngine, gameEngine);
         }
 
-        return gameResult;
-    }
+        /**
+         * Game engines are stateful, and only required to play the same matches for the same class and configuration:
+         * they are compared as such rather than by equality
+         */
+        private static boolean sameGame(GameEngine gameEngine, GameEngine other) {
+            return gameEngine.getClass() == other.getClass() && gameEngine.getConf().equals(other.getConf());
+        }
 
-    public static final class GameResult {
-        private List<MatchResult> matchResults;
+        /**
+         * @return the player AI of the first match, or {@code null} if no match was played
+         */
+        @Nullable
+        public AI getPlayer() {
+            return player;
+        }
 
-        private GameResult() {
-            this.matchResults = new ArrayList<>();
+        /**
+         * @return the opponent AI of the first match, or {@code null} if no match was played
+         */
+        @Nullable
+        public AI getOpponent() {
+            return opponent;
         }
 
-        private void addMatchResult(MatchResult result) {
-            matchResults.add(result);
+        /**
+         * @return the game engine of the first match, or {@code null} if no match was played
+         */
+        @Nullable
+        public GameEngine getGameEngine() {
+            return gameEngine;
         }
 
         public double getAveragePlayerScore() {
-            double totalPlayerScore =
-                    matchResults.stream()
-                            .mapToDouble(MatchResult::getPlayerScore)
-                            .sum();
+            return playerScore.getMean();
+        }
 
-            return totalPlayerScore / matchResults.size();
+        public double getPlayerScoreVariance() {
+            return playerScore.getVariance();
         }
 
         public double getAverageOpponentScore() {
-            double totalOpponentScore =
-                    matchResults.stream()
-                            .mapToDouble(MatchResult::getOpponentScore)
-                            .sum();
+            return opponentScore.getMean();
+        }
 
-            return totalOpponentScore / matchResults.size();
+        public double getOpponentScoreVariance() {
+            return opponentScore.getVariance();
         }
 
         public double getAverageNumberOfRounds() {
-            double totalNumberOfRounds =
-                    matchResults.stream()
-                            .mapToDouble(MatchResult::getRounds)
-                            .sum();
+            return numberOfRounds.getMean();
+        }
 
-            return totalNumberOfRounds / matchResults.size();
+        public double getNumberOfRoundsVariance() {
+            return numberOfRounds.getVariance();
         }
 
         public double getPlayerWinRate() {
-            double numberOfPlayerVictories =
-                    matchResults.stream()
-                            .map(MatchResult::getWinner)
-                            .filter(Winner.PLAYER::equals)
-                            .count();
+            return (double) playerVictoryCount / getNumberOfMatches();
+        }
 
-            return numberOfPlayerVictories / matchResults.size();
+        public long getPlayerVictoryCount() {
+            return playerVictoryCount;
+        }
+
+        public long getOpponentVictoryCount() {
+            return opponentVictoryCount;
         }
 
         public long getNumberOfMatches() {
-            return matchResults.size();
+            return playerScore.getCount();
+        }
+
+        /**
+         * @return how many matches a stopping rule spared, compared to the configured number of matches
+         */
+        public long getNumberOfMatchesSaved() {
+            return numberOfMatchesSaved;
         }
 
         public Winner getWinner() {
-            long playerVictoriesCount = matchResults.stream()
-                    .map(MatchResult::getWinner)
-                    .filter(Winner.PLAYER::equals)
-                    .count();
+            return playerVictoryCount > opponentVictoryCount ? Winner.PLAYER : Winner.OPPONENT;
+        }
 
-            long opponentVictoriesCount = matchResults.stream()
-                    .map(MatchResult::getWinner)
-                    .filter(Winner.OPPONENT::equals)
-                    .count();
+        public boolean hasMatchResults() {
+            return matchResults != null;
+        }
+
+        /**
+         * Retained matches only keep what differs from one match to another, participants are the ones of the game
+         * and turn statistics and profiles are rolled up in the game result.
+         *
+         * @return a read only view of the retained matches, in the order they were recorded
+         * @throws IllegalStateException if the game was asked not to retain match results
+         */
+        public List<MatchSummary> getMatchResults() {
+            Preconditions.checkState(matchResults != null, "Match results were not retained");
+            return matchResults.asList();
+        }
 
-            return playerVictoriesCount > opponentVictoriesCount ? Winner.PLAYER : Winner.OPPONENT;
+        public boolean hasProfile() {
+            return profile != null;
         }
 
-        public List<MatchResult> getMatchResults() {
-            return Collections.unmodifiableList(matchResults);
+        /**
+         * @return the profiles of all matches rolled up
+         * @throws IllegalStateException if matches were not profiled
+         */
+        public MatchProfile getProfile() {
+            Preconditions.checkState(profile != null, "Matches were not profiled");
+            return profile;
         }
 
         @Override
@@ -182,7 +734,81 @@ public class Game implements Callable<Game.GameResult> {
                     .add("playerWinRate", getPlayerWinRate())
                     .add("numberOfMatches", getNumberOfMatches())
                     .add("winner", getWinner())
-                    .add("matchResults", matchResults)
+                    .add("matchResults", matchResults != null ? getMatchResults() : null)
+                    .add("profile", profile)
+                    .toString();
+        }
+    }
+
+    /**
+     * Outcome of a match retained by a game result
+     */
+    public static final class MatchSummary {
+
+        private final int playerScore;
+        private final int opponentScore;
+        private final int rounds;
+        @Nullable
+        private final Winner winner;
+        private final long seed;
+        private final boolean cached;
+
+        MatchSummary(
+                int playerScore,
+                int opponentScore,
+                int rounds,
+                @Nullable Winner winner,
+                long seed,
+                boolean cached) {
+
+            this.playerScore = playerScore;
+            this.opponentScore = opponentScore;
+            this.rounds = rounds;
+            this.winner = winner;
+            this.seed = seed;
+            this.cached = cached;
+        }
+
+        public int getPlayerScore() {
+            return playerScore;
+        }
+
+        public int getOpponentScore() {
+            return opponentScore;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        /**
+         * @return the winner of the match, {@code null} if its game engine did not tell one
+         */
+        @Nullable
+        public Winner getWinner() {
+            return winner;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * @return whether the match was found in a result cache rather than played
+         */
+        public boolean isCached() {
+            return cached;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("playerScore", playerScore)
+                    .add("opponentScore", opponentScore)
+                    .add("rounds", rounds)
+                    .add("winner", winner)
+                    .add("seed", seed)
+                    .add("cached", cached)
                     .toString();
         }
     }
@@ -0,0 +1,160 @@
+package player.game;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import javax.annotation.Nullable;
+
+import player.engine.Winner;
+import player.game.Game.MatchSummary;
+import player.match.Match.MatchResult;
+
+/**
+ * Match results of a game stored column by column in primitive arrays, about 22 bytes per match. <br>
+ * Only scores, rounds, winner, seed and whether the match was cached are kept: AIs and game engines are the same for
+ * all matches of a game, and turn statistics and profiles are rolled up by the game result.
+ */
+final class MatchResultStore {
+
+    private static final Winner[] WINNERS = Winner.values();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] playerScores;
+    private int[] opponentScores;
+    private int[] rounds;
+    private byte[] winners;
+    private long[] seeds;
+    private boolean[] cached;
+    private int size;
+
+    MatchResultStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private MatchResultStore(int capacity) {
+        this.playerScores = new int[capacity];
+        this.opponentScores = new int[capacity];
+        this.rounds = new int[capacity];
+        this.winners = new byte[capacity];
+        this.seeds = new long[capacity];
+        this.cached = new boolean[capacity];
+        this.size = 0;
+    }
+
+    void add(MatchResult result) {
+        add(
+                result.getPlayerScore(),
+                result.getOpponentScore(),
+                result.getRounds(),
+                result.getWinner(),
+                result.getSeed(),
+                result.isCached());
+    }
+
+    void add(int playerScore, int opponentScore, int rounds, @Nullable Winner winner, long seed, boolean cached) {
+        ensureCapacity(size + 1);
+        this.playerScores[size] = playerScore;
+        this.opponentScores[size] = opponentScore;
+        this.rounds[size] = rounds;
+        this.winners[size] = (byte) (winner == null ? -1 : winner.ordinal());
+        this.seeds[size] = seed;
+        this.cached[size] = cached;
+        size++;
+    }
+
+    /**
+     * @return a new store with both this and {@code other} matches, this ones first
+     */
+    MatchResultStore combine(MatchResultStore other) {
+        MatchResultStore combined = new MatchResultStore(Math.max(INITIAL_CAPACITY, size + other.size));
+        combined.copy(this);
+        combined.copy(other);
+        return combined;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getPlayerScore(int index) {
+        return playerScores[index];
+    }
+
+    int getOpponentScore(int index) {
+        return opponentScores[index];
+    }
+
+    int getRounds(int index) {
+        return rounds[index];
+    }
+
+    /**
+     * @return the winner of the match, {@code null} if its game engine did not tell one
+     */
+    @Nullable
+    Winner getWinner(int index) {
+        return winners[index] < 0 ? null : WINNERS[winners[index]];
+    }
+
+    long getSeed(int index) {
+        return seeds[index];
+    }
+
+    boolean isCached(int index) {
+        return cached[index];
+    }
+
+    /**
+     * @return a read only view of the stored matches. Each access builds a new summary.
+     */
+    List<MatchSummary> asList() {
+        return new View();
+    }
+
+    private void copy(MatchResultStore other) {
+        System.arraycopy(other.playerScores, 0, playerScores, size, other.size);
+        System.arraycopy(other.opponentScores, 0, opponentScores, size, other.size);
+        System.arraycopy(other.rounds, 0, rounds, size, other.size);
+        System.arraycopy(other.winners, 0, winners, size, other.size);
+        System.arraycopy(other.seeds, 0, seeds, size, other.size);
+        System.arraycopy(other.cached, 0, cached, size, other.size);
+        size += other.size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= playerScores.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, playerScores.length * 2);
+        playerScores = Arrays.copyOf(playerScores, newCapacity);
+        opponentScores = Arrays.copyOf(opponentScores, newCapacity);
+        rounds = Arrays.copyOf(rounds, newCapacity);
+        winners = Arrays.copyOf(winners, newCapacity);
+        seeds = Arrays.copyOf(seeds, newCapacity);
+        cached = Arrays.copyOf(cached, newCapacity);
+    }
+
+    private final class View extends AbstractList<MatchSummary> implements RandomAccess {
+
+        @Override
+        public MatchSummary get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return new MatchSummary(
+                    playerScores[index],
+                    opponentScores[index],
+                    rounds[index],
+                    getWinner(index),
+                    seeds[index],
+                    cached[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
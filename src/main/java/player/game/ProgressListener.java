@@ -0,0 +1,24 @@
+package player.game;
+
+/**
+ * Notified each time a piece of work completes, in completion order. <br>
+ * Listeners are called one at a time, but not necessarily from the same thread.
+ *
+ * @param <T> the type of the result made available on progress
+ */
+@FunctionalInterface
+public interface ProgressListener<T> {
+
+    /**
+     * @param result the result available so far, it may keep changing after this call returns
+     * @param completed how many pieces of work are completed
+     * @param total how many pieces of work were scheduled
+     */
+    void onProgress(T result, int completed, int total);
+
+    static <T> ProgressListener<T> noOp() {
+        return (result, completed, total) -> {
+            // ILB
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package player.game;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Mean and variance of a stream of values, updated in constant time and memory (Welford's algorithm). <br>
+ * Two partial statistics can be combined, so they can be computed by different threads.
+ */
+public final class RunningStatistics {
+
+    private long count;
+    private double sum;
+    private double mean;
+    private double m2;
+
+    public RunningStatistics() {
+        this.count = 0;
+        this.sum = 0.0;
+        this.mean = 0.0;
+        this.m2 = 0.0;
+    }
+
+    public void add(double value) {
+        count++;
+        sum += value;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * @return new statistics over both this and {@code other} values
+     */
+    public RunningStatistics combine(RunningStatistics other) {
+        RunningStatistics combined = new RunningStatistics();
+        combined.count = count + other.count;
+        combined.sum = sum + other.sum;
+
+        if (combined.count > 0) {
+            double delta = other.mean - mean;
+            combined.mean = mean + delta * other.count / combined.count;
+            combined.m2 = m2 + other.m2 + delta * delta * count * other.count / combined.count;
+        }
+        return combined;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(sum);
+        out.writeDouble(mean);
+        out.writeDouble(m2);
+    }
+
+    static RunningStatistics readFrom(DataInput in) throws IOException {
+        RunningStatistics statistics = new RunningStatistics();
+        statistics.count = in.readLong();
+        statistics.sum = in.readDouble();
+        statistics.mean = in.readDouble();
+        statistics.m2 = in.readDouble();
+        return statistics;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * @return the values mean, or {@code NaN} if there are no values
+     */
+    public double getMean() {
+        return sum / count;
+    }
+
+    /**
+     * @return the sample variance, or zero if there are less than two values
+     */
+    public double getVariance() {
+        return count < 2 ? 0.0 : m2 / (count - 1);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", count)
+                .add("mean", getMean())
+                .add("variance", getVariance())
+                .toString();
+    }
+}
@@ -0,0 +1,12 @@
+package player.game;
+
+import player.game.Game.GameResult;
+
+/**
+ * Decides, between batches of matches, whether a game already has a clear winner and can stop early
+ */
+@FunctionalInterface
+public interface StoppingRule {
+
+    boolean isDecided(GameResult partialResult);
+}
@@ -0,0 +1,75 @@
+package player.game;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import player.game.Game.GameResult;
+
+/**
+ * Stops a game once the Wilson score interval of the player win rate no longer contains 50%, that is, once one of
+ * the AIs is better than the other with the configured confidence.
+ */
+public final class WinRateConfidence implements StoppingRule {
+
+    private final double confidence;
+    private final double z;
+    private final long minimumNumberOfMatches;
+
+    /**
+     * @param confidence two-sided confidence level, e.g. 0.95
+     * @param minimumNumberOfMatches matches to play before the interval is trusted
+     */
+    public WinRateConfidence(double confidence, long minimumNumberOfMatches) {
+        Preconditions.checkArgument(
+                confidence > 0.0 && confidence < 1.0,
+                "Confidence must be in (0, 1), but found %s",
+                confidence);
+
+        this.confidence = confidence;
+        this.z = normalQuantile(1.0 - (1.0 - confidence) / 2.0);
+        this.minimumNumberOfMatches = minimumNumberOfMatches;
+    }
+
+    @Override
+    public boolean isDecided(GameResult partialResult) {
+        long n = partialResult.getNumberOfMatches();
+        if (n < Math.max(1, minimumNumberOfMatches)) {
+            return false;
+        }
+
+        double[] interval = wilsonInterval(partialResult.getPlayerVictoryCount(), n, z);
+        return interval[0] > 0.5 || interval[1] < 0.5;
+    }
+
+    /**
+     * @return lower and upper bounds of the Wilson score interval for {@code successes} out of {@code n} trials
+     */
+    static double[] wilsonInterval(long successes, long n, double z) {
+        double p = (double) successes / n;
+        double z2 = z * z;
+        double denominator = 1.0 + z2 / n;
+        double center = (p + z2 / (2.0 * n)) / denominator;
+        double margin = z * Math.sqrt(p * (1.0 - p) / n + z2 / (4.0 * n * n)) / denominator;
+        return new double[] { center - margin, center + margin };
+    }
+
+    /**
+     * Inverse of the standard normal distribution (Abramowitz and Stegun 26.2.23, absolute error below 4.5e-4)
+     */
+    static double normalQuantile(double p) {
+        if (p < 0.5) {
+            return -normalQuantile(1.0 - p);
+        }
+        double t = Math.sqrt(-2.0 * Math.log(1.0 - p));
+        return t - (2.515517 + 0.802853 * t + 0.010328 * t * t)
+                / (1.0 + 1.432788 * t + 0.189269 * t * t + 0.001308 * t * t * t);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("confidence", confidence)
+                .add("minimumNumberOfMatches", minimumNumberOfMatches)
+                .toString();
+    }
+}
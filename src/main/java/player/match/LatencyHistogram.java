@@ -0,0 +1,131 @@
+package player.match;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Latency distribution with a constant recording cost and memory (log-linear buckets, as in HdrHistogram). <br>
+ * Each power of two is split into {@value #SUB_BUCKETS} linear buckets, so any percentile is known within 1/16 of
+ * its value. Latencies above 2^40 nanoseconds (about 18 minutes) fall into the last bucket.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int NUMBER_OF_BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts;
+    private long count;
+    private long sum;
+    private long max;
+
+    public LatencyHistogram() {
+        this.counts = new long[NUMBER_OF_BUCKETS];
+        this.count = 0;
+        this.sum = 0;
+        this.max = 0;
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all {@code other} values to this histogram
+     */
+    public void recordAll(LatencyHistogram other) {
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @return new histogram over both this and {@code other} values
+     */
+    public LatencyHistogram combine(LatencyHistogram other) {
+        LatencyHistogram combined = new LatencyHistogram();
+        combined.recordAll(this);
+        combined.recordAll(other);
+        return combined;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return max;
+    }
+
+    /**
+     * @return the mean latency, or {@code NaN} if there are no values
+     */
+    public double getMeanNanos() {
+        return (double) sum / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the highest latency equivalent to the one at {@code percentile}, or zero if there are no values
+     */
+    public long getNanosAtPercentile(double percentile) {
+        Preconditions.checkArgument(percentile >= 0.0 && percentile <= 100.0,
+                "Percentile must be in [0, 100], but found %s", percentile);
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == NUMBER_OF_BUCKETS - 1 ? max : Math.min(highestValueOf(i), max);
+            }
+        }
+        return 0L;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && value >= 1L << (MAX_EXPONENT + 1)) {
+            return NUMBER_OF_BUCKETS - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", count)
+                .add("p50", format(getNanosAtPercentile(50.0)))
+                .add("p99", format(getNanosAtPercentile(99.0)))
+                .add("max", format(max))
+                .toString();
+    }
+
+    private static String format(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+    }
+}
@@ -1,14 +1,23 @@
 package player.match;
 
+import java.util.SplittableRandom;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
+import com.google.common.hash.HashCode;
+
 import player.Player.AI;
 import player.Player.Action;
+import player.Player.TurnBudget;
 import player.engine.GameEngine;
 import player.engine.Winner;
+import player.replay.MatchRecording;
+import player.replay.ReplayRecorder;
 
 /**
  *
@@ -20,37 +29,381 @@ public final class Match implements Callable<Match.MatchResult> {
     private final AI player;
     private final AI opponent;
     private final GameEngine gameEngine;
+    private final TurnBudget playerBudget;
+    private final TurnBudget opponentBudget;
+    private final OverrunPolicy overrunPolicy;
+    @Nullable
+    private final MatchProfile profile;
+    private final long seed;
+    @Nullable
+    private final MatchResultCache cache;
+    @Nullable
+    private final MatchRecording recording;
+    @Nullable
+    private final MatchResultCache.Outcome cachedOutcome;
+
+    public Match(
+            Function<IntSupplier, Supplier<AI>> player,
+            Function<IntSupplier, Supplier<AI>> opponent,
+            Supplier<GameEngine> gameEngine) {
+
+        this(newBuilder(player, opponent, gameEngine));
+    }
 
+    /**
+     * Builds a match where each AI turn is limited to {@code turnBudget}
+     */
     public Match(
+            Function<IntSupplier, Supplier<AI>> player,
+            Function<IntSupplier, Supplier<AI>> opponent,
+            Supplier<GameEngine> gameEngine,
+            long turnBudget,
+            TimeUnit unit,
+            OverrunPolicy overrunPolicy) {
+
+        this(newBuilder(player, opponent, gameEngine)
+                .withTurnBudget(turnBudget, unit, overrunPolicy));
+    }
+
+    /**
+     * Builds a match between already built AIs, fed by {@code gameEngine}. AIs must already feed {@code recording}
+     * with the inputs they read, if any. <br>
+     * It is not cached, as reused instances may play differently than new ones.
+     */
+    Match(
+            AI player,
+            AI opponent,
+            GameEngine gameEngine,
+            boolean profiled,
+            long seed,
+            @Nullable MatchRecording recording) {
+
+        this.gameEngine = gameEngine;
+        this.player = player;
+        this.opponent = opponent;
+        this.playerBudget = TurnBudget.unlimited();
+        this.opponentBudget = TurnBudget.unlimited();
+        this.overrunPolicy = OverrunPolicy.RECORD;
+        this.profile = profiled ? new MatchProfile() : null;
+        this.seed = seed;
+        this.cache = null;
+        this.recording = recording;
+        this.cachedOutcome = null;
+    }
+
+    /**
+     * Builds a match already found in the cache, which is not played
+     */
+    Match(MatchResultCache.Hit hit, long seed) {
+        this.gameEngine = hit.gameEngine;
+        this.player = hit.player;
+        this.opponent = hit.opponent;
+        this.playerBudget = TurnBudget.unlimited();
+        this.opponentBudget = TurnBudget.unlimited();
+        this.overrunPolicy = OverrunPolicy.RECORD;
+        this.profile = null;
+        this.seed = seed;
+        this.cache = null;
+        this.recording = null;
+        this.cachedOutcome = hit.outcome;
+    }
+
+    /**
+     * The game engine, the player and the opponent each get their own split of the match random stream, in this
+     * order. <br>
+     * None of them is built if the cache already knows the match.
+     */
+    private Match(Builder builder) {
+        MatchResultCache.Hit hit = builder.cache == null
+                ? null
+                : builder.cache.lookup(builder.player, builder.opponent, builder.gameEngine, builder.seed);
+        if (hit != null) {
+            this.gameEngine = hit.gameEngine;
+            this.player = hit.player;
+            this.opponent = hit.opponent;
+            this.recording = null;
+            this.cachedOutcome = hit.outcome;
+        } else {
+            SplittableRandom random = new SplittableRandom(builder.seed);
+            this.gameEngine = builder.gameEngine.create(random.split());
+            this.recording = builder.recorder == null ? null : builder.recorder.newRecording(builder.seed);
+            this.player = createAI(builder.player, gameEngine::playerInput, recording, true, random.split());
+            this.opponent = createAI(builder.opponent, gameEngine::opponentInput, recording, false, random.split());
+            this.cachedOutcome = null;
+            if (builder.cache != null) {
+                builder.cache.remember(builder.gameEngine, gameEngine);
+                builder.cache.remember(builder.player, player);
+                builder.cache.remember(builder.opponent, opponent);
+            }
+        }
+        this.playerBudget = builder.turnBudget();
+        this.opponentBudget = builder.turnBudget();
+        this.overrunPolicy = builder.overrunPolicy;
+        this.profile = builder.profiled ? new MatchProfile() : null;
+        this.seed = builder.seed;
+        this.cache = builder.cache;
+    }
+
+    /**
+     * @return an AI fed by {@code input}, and feeding {@code recording} with it if any
+     */
+    private static AI createAI(
+            SeededAIFactory factory,
+            IntSupplier input,
+            @Nullable MatchRecording recording,
+            boolean player,
+            SplittableRandom random) {
+
+        if (recording == null) {
+            return factory.create(input, random);
+        }
+        return factory.create(
+                player
+                        ? () -> recording.playerInput(input.getAsInt())
+                        : () -> recording.opponentInput(input.getAsInt()),
+                random);
+    }
+
+    public static Builder newBuilder(
             Function<IntSupplier, Supplier<AI>> player,
             Function<IntSupplier, Supplier<AI>> opponent,
             Supplier<GameEngine> gameEngine) {
 
-        this.gameEngine = gameEngine.get();
-        this.player = player.apply(this.gameEngine::playerInput).get();
-        this.opponent = opponent.apply(this.gameEngine::opponentInput).get();
+        return new Builder(
+                SeededAIFactory.of(player),
+                SeededAIFactory.of(opponent),
+                SeededGameEngineFactory.of(gameEngine));
+    }
+
+    /**
+     * Builds a match whose AIs and game engine draw their randomness from the match seed, see
+     * {@link Builder#withSeed(long)}
+     */
+    public static Builder newSeededBuilder(
+            SeededAIFactory player,
+            SeededAIFactory opponent,
+            SeededGameEngineFactory gameEngine) {
+
+        return new Builder(player, opponent, gameEngine);
     }
 
     @Override
     public MatchResult call() {
+        if (cachedOutcome != null) {
+            return cached(cachedOutcome);
+        }
+
+        HashCode key = null;
+        if (cache != null) {
+            key = MatchResultCache.key(player, opponent, gameEngine, seed);
+            MatchResultCache.Outcome outcome = cache.get(key);
+            if (outcome != null) {
+                return cached(outcome);
+            }
+        }
+
         gameEngine.start();
 
+        Winner winner;
         do {
-            Action[] playerActions = player.play();
-            Action[] opponentActions = opponent.play();
+            Action[] playerActions = play(player, playerBudget, profile == null ? null : profile.getPlayer());
+            Action[] opponentActions = play(opponent, opponentBudget, profile == null ? null : profile.getOpponent());
+            if (recording != null) {
+                recording.turn(playerActions, opponentActions);
+            }
 
-            gameEngine.run(playerActions, opponentActions);
+            winner = overrunPolicy == OverrunPolicy.FORFEIT ? forfeitWinner() : Winner.ON_GOING;
+            if (winner != Winner.ON_GOING) {
+                break;
+            }
 
-        } while (gameEngine.getWinner() == Winner.ON_GOING);
+            if (profile == null) {
+                gameEngine.run(playerActions, opponentActions);
+            } else {
+                long allocatedBytes = MatchProfile.allocatedBytes();
+                long start = System.nanoTime();
+                gameEngine.run(playerActions, opponentActions);
+                profile.getGameEngine().record(
+                        System.nanoTime() - start,
+                        MatchProfile.allocatedBytes() - allocatedBytes);
+            }
+            winner = gameEngine.getWinner();
 
-        return new MatchResult(
+        } while (winner == Winner.ON_GOING);
+
+        MatchResult result = new MatchResult(
                 player,
                 opponent,
                 gameEngine,
                 gameEngine.getPlayerScore(),
                 gameEngine.getOpponentScore(),
                 gameEngine.getNumberOfRounds(),
-                gameEngine.getWinner());
+                winner,
+                playerBudget,
+                opponentBudget,
+                profile,
+                seed,
+                false);
+
+        if (recording != null) {
+            recording.end(winner, result.getPlayerScore(), result.getOpponentScore(), result.getRounds());
+        }
+        if (cache != null) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private MatchResult cached(MatchResultCache.Outcome outcome) {
+        return new MatchResult(
+                player,
+                opponent,
+                gameEngine,
+                outcome.playerScore,
+                outcome.opponentScore,
+                outcome.rounds,
+                outcome.winner,
+                playerBudget,
+                opponentBudget,
+                null,
+                seed,
+                true);
+    }
+
+    private static Action[] play(AI ai, TurnBudget budget, @Nullable MatchProfile.Timing timing) {
+        long allocatedBytes = timing == null ? 0L : MatchProfile.allocatedBytes();
+
+        budget.startTurn();
+        Action[] actions = ai.play(budget);
+        long nanos = budget.endTurn();
+
+        if (timing != null) {
+            timing.record(nanos, MatchProfile.allocatedBytes() - allocatedBytes);
+        }
+        return actions;
+    }
+
+    /**
+     * @return the AI that did not exceed its budget on the last turn, the slowest one if both did, or
+     *         {@code Winner.ON_GOING} if none did
+     */
+    private Winner forfeitWinner() {
+        long playerNanos = playerBudget.getLastNanos();
+        long opponentNanos = opponentBudget.getLastNanos();
+
+        boolean playerOverrun = playerNanos > playerBudget.getBudgetNanos();
+        boolean opponentOverrun = opponentNanos > opponentBudget.getBudgetNanos();
+
+        if (!playerOverrun && !opponentOverrun) {
+            return Winner.ON_GOING;
+        }
+        if (playerOverrun && opponentOverrun) {
+            return playerNanos > opponentNanos ? Winner.OPPONENT : Winner.PLAYER;
+        }
+        return playerOverrun ? Winner.OPPONENT : Winner.PLAYER;
+    }
+
+    /**
+     * What to do when an AI exceeds its turn budget
+     */
+    public enum OverrunPolicy {
+        /**
+         * Only record the overrun in the AI turn statistics
+         */
+        RECORD,
+        /**
+         * The AI that exceeds its budget loses the match immediately, as it would in a contest
+         */
+        FORFEIT
+    }
+
+    public static final class Builder {
+
+        private final SeededAIFactory player;
+        private final SeededAIFactory opponent;
+        private final SeededGameEngineFactory gameEngine;
+        private long turnBudget;
+        private TimeUnit unit;
+        private OverrunPolicy overrunPolicy;
+        private boolean profiled;
+        private long seed;
+        private boolean seeded;
+        @Nullable
+        private MatchResultCache cache;
+        @Nullable
+        private ReplayRecorder recorder;
+
+        private Builder(SeededAIFactory player, SeededAIFactory opponent, SeededGameEngineFactory gameEngine) {
+
+            this.player = player;
+            this.opponent = opponent;
+            this.gameEngine = gameEngine;
+            this.turnBudget = -1;
+            this.unit = TimeUnit.NANOSECONDS;
+            this.overrunPolicy = OverrunPolicy.RECORD;
+            this.profiled = false;
+            this.seed = Seeds.random();
+            this.seeded = false;
+            this.cache = null;
+            this.recorder = null;
+        }
+
+        /**
+         * Limits each AI turn to {@code turnBudget}, turns are unlimited by default
+         */
+        public Builder withTurnBudget(long turnBudget, TimeUnit unit, OverrunPolicy overrunPolicy) {
+            this.turnBudget = turnBudget;
+            this.unit = unit;
+            this.overrunPolicy = overrunPolicy;
+            return this;
+        }
+
+        /**
+         * Records the latency and allocations of every AI {@code play()} and game engine {@code run()}, see
+         * {@link MatchProfile}
+         */
+        public Builder withProfiling(boolean profiled) {
+            this.profiled = profiled;
+            return this;
+        }
+
+        /**
+         * Seeds the random streams given to the AIs and game engine factories, a random seed is used by default
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            this.seeded = true;
+            return this;
+        }
+
+        /**
+         * Looks the match up in {@code cache} before building and playing it, and caches it once played. It requires a
+         * seed, so that the match can be recognized from one run to another.
+         */
+        public Builder withResultCache(MatchResultCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Records every turn of the match to {@code recorder}: the inputs each AI reads and the actions it plays. A
+         * match found in the result cache is not played, so it is not recorded.
+         */
+        public Builder withReplayRecorder(ReplayRecorder recorder) {
+            this.recorder = recorder;
+            return this;
+        }
+
+        public Match build() {
+            if (cache != null && !seeded) {
+                throw new IllegalStateException("Unable to look up a match played with a random seed, set one");
+            }
+            return new Match(this);
+        }
+
+        private TurnBudget turnBudget() {
+            return turnBudget < 0 ? TurnBudget.unlimited() : new TurnBudget(turnBudget, unit);
+        }
     }
 
     public static final class MatchResult {
@@ -62,6 +415,12 @@ public final class Match implements Callable<Match.MatchResult> {
         private final int opponentScore;
         private final int rounds;
         private final Winner winner;
+        private final TurnBudget playerTurnBudget;
+        private final TurnBudget opponentTurnBudget;
+        @Nullable
+        private final MatchProfile profile;
+        private final long seed;
+        private final boolean cached;
 
         private MatchResult(
                 AI player,
@@ -70,7 +429,12 @@ public final class Match implements Callable<Match.MatchResult> {
                 int playerScore,
                 int opponentScore,
                 int rounds,
-                Winner winner) {
+                Winner winner,
+                TurnBudget playerTurnBudget,
+                TurnBudget opponentTurnBudget,
+                @Nullable MatchProfile profile,
+                long seed,
+                boolean cached) {
 
             this.player = player;
             this.opponent = opponent;
@@ -80,6 +444,11 @@ public final class Match implements Callable<Match.MatchResult> {
             this.opponentScore = opponentScore;
             this.rounds = rounds;
             this.winner = winner;
+            this.playerTurnBudget = playerTurnBudget;
+            this.opponentTurnBudget = opponentTurnBudget;
+            this.profile = profile;
+            this.seed = seed;
+            this.cached = cached;
         }
 
         public AI getPlayer() {
@@ -110,6 +479,49 @@ public final class Match implements Callable<Match.MatchResult> {
             return winner;
         }
 
+        /**
+         * Player turn latency statistics
+         */
+        public TurnBudget getPlayerTurnBudget() {
+            return playerTurnBudget;
+        }
+
+        /**
+         * Opponent turn latency statistics
+         */
+        public TurnBudget getOpponentTurnBudget() {
+            return opponentTurnBudget;
+        }
+
+        /**
+         * The seed the match was built with, playing it again with the same factories and seed gives the same result
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Whether the result comes from a {@link MatchResultCache}, the match was then not played and its turn
+         * statistics are empty
+         */
+        public boolean isCached() {
+            return cached;
+        }
+
+        public boolean hasProfile() {
+            return profile != null;
+        }
+
+        /**
+         * @throws IllegalStateException if the match was not profiled
+         */
+        public MatchProfile getProfile() {
+            if (profile == null) {
+                throw new IllegalStateException("Match was not profiled");
+            }
+            return profile;
+        }
+
         @Override
         public String toString() {
             return com.google.common.base.MoreObjects.toStringHelper(this)
@@ -120,6 +532,11 @@ public final class Match implements Callable<Match.MatchResult> {
                     .add("opponentScore", opponentScore)
                     .add("rounds", rounds)
                     .add("winner", winner)
+                    .add("playerTurnBudget", playerTurnBudget)
+                    .add("opponentTurnBudget", opponentTurnBudget)
+                    .add("profile", profile)
+                    .add("seed", seed)
+                    .add("cached", cached)
                     .toString();
         }
     }
@@ -0,0 +1,184 @@
+package player.match;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import player.Player.AI;
+import player.engine.GameEngine;
+import player.match.Match.MatchResult;
+import player.replay.MatchRecording;
+import player.replay.ReplayRecorder;
+
+/**
+ * Reuses AIs and game engines across matches. <br>
+ * Released instances are kept until a new match is built, whatever the thread, which {@code reset()}s them with the
+ * random streams of the match. Instances that cannot be reset are built again by their factories, so the pool is only
+ * effective when overriding {@link AI#reset(SplittableRandom)} and {@link GameEngine#reset(SplittableRandom)}. Instances are never shared by two matches at once, and nothing
+ * outlives the pool: it can be dropped with the game that uses it. <br>
+ * As AIs are fed by their game engine, they are only reused along with it.
+ */
+public final class MatchPool {
+
+    private final SeededAIFactory player;
+    private final SeededAIFactory opponent;
+    private final SeededGameEngineFactory gameEngine;
+    private final boolean profiled;
+    private final Deque<Participants> idle;
+    private final Map<GameEngine, Participants> playing;
+
+    public MatchPool(
+            Function<IntSupplier, Supplier<AI>> player,
+            Function<IntSupplier, Supplier<AI>> opponent,
+            Supplier<GameEngine> gameEngine) {
+
+        this(player, opponent, gameEngine, false);
+    }
+
+    /**
+     * @param profiled whether matches record a {@link MatchProfile}
+     */
+    public MatchPool(
+            Function<IntSupplier, Supplier<AI>> player,
+            Function<IntSupplier, Supplier<AI>> opponent,
+            Supplier<GameEngine> gameEngine,
+            boolean profiled) {
+
+        this(
+                SeededAIFactory.of(player),
+                SeededAIFactory.of(opponent),
+                SeededGameEngineFactory.of(gameEngine),
+                profiled);
+    }
+
+    /**
+     * @param profiled whether matches record a {@link MatchProfile}
+     */
+    public MatchPool(
+            SeededAIFactory player,
+            SeededAIFactory opponent,
+            SeededGameEngineFactory gameEngine,
+            boolean profiled) {
+
+        this.player = player;
+        this.opponent = opponent;
+        this.gameEngine = gameEngine;
+        this.profiled = profiled;
+        this.idle = new ArrayDeque<>();
+        this.playing = new IdentityHashMap<>();
+    }
+
+    public Match newMatch() {
+        return newMatch(Seeds.random());
+    }
+
+    /**
+     * Builds a match reusing released instances whenever possible. <br>
+     * New and reset instances get the same random streams as in a {@link Match} built with {@code seed}, so that the
+     * match does not depend on which instances the former matches left. <br>
+     * Factories are never called concurrently.
+     */
+    public Match newMatch(long seed) {
+        return newMatch(seed, null);
+    }
+
+    /**
+     * Builds a match as {@link #newMatch(long)} does, recorded to {@code recorder} if any
+     */
+    public Match newMatch(long seed, @Nullable ReplayRecorder recorder) {
+        SplittableRandom random = new SplittableRandom(seed);
+        SplittableRandom gameEngineRandom = random.split();
+        SplittableRandom playerRandom = random.split();
+        SplittableRandom opponentRandom = random.split();
+
+        Participants participants;
+        synchronized (idle) {
+            participants = idle.pollLast();
+        }
+        if (participants == null) {
+            participants = new Participants();
+        }
+        participants.recording = recorder == null ? null : recorder.newRecording(seed);
+
+        if (participants.gameEngine == null || !participants.gameEngine.reset(gameEngineRandom)) {
+            participants.gameEngine = createGameEngine(gameEngineRandom);
+            participants.player = createPlayer(participants, participants.gameEngine, playerRandom);
+            participants.opponent = createOpponent(participants, participants.gameEngine, opponentRandom);
+        } else {
+            if (!participants.player.reset(playerRandom)) {
+                participants.player = createPlayer(participants, participants.gameEngine, playerRandom);
+            }
+            if (!participants.opponent.reset(opponentRandom)) {
+                participants.opponent = createOpponent(participants, participants.gameEngine, opponentRandom);
+            }
+        }
+
+        synchronized (idle) {
+            playing.put(participants.gameEngine, participants);
+        }
+        return new Match(
+                participants.player,
+                participants.opponent,
+                participants.gameEngine,
+                profiled,
+                seed,
+                participants.recording);
+    }
+
+    /**
+     * Makes the match instances available to the next match. Instances of matches never released are only dropped
+     * along with the pool.
+     */
+    public void release(MatchResult result) {
+        synchronized (idle) {
+            Participants participants = playing.remove(result.getGameEngine());
+            if (participants != null) {
+                participants.recording = null;
+                idle.addLast(participants);
+            }
+        }
+    }
+
+    private synchronized GameEngine createGameEngine(SplittableRandom random) {
+        return gameEngine.create(random);
+    }
+
+    /**
+     * As AIs outlive their match, their input goes to the recording of whichever match their participants play
+     */
+    private synchronized AI createPlayer(Participants participants, GameEngine gameEngine, SplittableRandom random) {
+        return player.create(() -> participants.recordPlayerInput(gameEngine.playerInput()), random);
+    }
+
+    private synchronized AI createOpponent(
+            Participants participants,
+            GameEngine gameEngine,
+            SplittableRandom random) {
+
+        return opponent.create(() -> participants.recordOpponentInput(gameEngine.opponentInput()), random);
+    }
+
+    private static final class Participants {
+
+        private GameEngine gameEngine;
+        private AI player;
+        private AI opponent;
+        @Nullable
+        private MatchRecording recording;
+
+        int recordPlayerInput(int value) {
+            return recording == null ? value : recording.playerInput(value);
+        }
+
+        int recordOpponentInput(int value) {
+            return recording == null ? value : recording.opponentInput(value);
+        }
+    }
+}
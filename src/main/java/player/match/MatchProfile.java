@@ -0,0 +1,132 @@
+package player.match;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Where the time of a match goes: per round latency and allocated bytes of each AI {@code play()} and of the game
+ * engine {@code run()}. <br>
+ * Allocated bytes are only counted when the JVM supports it, they are zero otherwise.
+ */
+public final class MatchProfile {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean ALLOCATIONS_SUPPORTED = allocationsSupported();
+
+    private final Timing player;
+    private final Timing opponent;
+    private final Timing gameEngine;
+
+    public MatchProfile() {
+        this.player = new Timing();
+        this.opponent = new Timing();
+        this.gameEngine = new Timing();
+    }
+
+    /**
+     * Player {@code play()} timings
+     */
+    public Timing getPlayer() {
+        return player;
+    }
+
+    /**
+     * Opponent {@code play()} timings
+     */
+    public Timing getOpponent() {
+        return opponent;
+    }
+
+    /**
+     * Game engine {@code run()} timings
+     */
+    public Timing getGameEngine() {
+        return gameEngine;
+    }
+
+    /**
+     * Adds all {@code other} timings to this profile
+     */
+    public void recordAll(MatchProfile other) {
+        player.recordAll(other.player);
+        opponent.recordAll(other.opponent);
+        gameEngine.recordAll(other.gameEngine);
+    }
+
+    /**
+     * @return the bytes allocated so far by the current thread, or zero if not supported
+     */
+    static long allocatedBytes() {
+        if (!ALLOCATIONS_SUPPORTED) {
+            return 0L;
+        }
+        return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(
+                Thread.currentThread().getId());
+    }
+
+    private static boolean allocationsSupported() {
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        return threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("player", player)
+                .add("opponent", opponent)
+                .add("gameEngine", gameEngine)
+                .toString();
+    }
+
+    /**
+     * Latency and allocations of a single hot path, such as an AI {@code play()}
+     */
+    public static final class Timing {
+
+        private final LatencyHistogram latency;
+        private long allocatedBytes;
+
+        public Timing() {
+            this.latency = new LatencyHistogram();
+            this.allocatedBytes = 0L;
+        }
+
+        public void record(long nanos, long allocatedBytes) {
+            latency.record(nanos);
+            this.allocatedBytes += allocatedBytes;
+        }
+
+        public void recordAll(Timing other) {
+            latency.recordAll(other.latency);
+            allocatedBytes += other.allocatedBytes;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * @return the mean allocated bytes per call, or {@code NaN} if there are no calls
+         */
+        public double getAverageAllocatedBytes() {
+            return (double) allocatedBytes / latency.getCount();
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("latency", latency)
+                    .add("averageAllocatedBytes", getAverageAllocatedBytes())
+                    .toString();
+        }
+    }
+}
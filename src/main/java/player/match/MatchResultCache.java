@@ -0,0 +1,330 @@
+package player.match;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import player.Player.AI;
+import player.engine.GameEngine;
+import player.engine.Winner;
+import player.match.Match.MatchResult;
+
+/**
+ * Outcomes of already played matches, persisted in an append-only file, so that re-running a game or a contest only
+ * plays the matches it has never played. <br>
+ * A match is identified by the class and configuration of both AIs and of the game engine, and by its seed. It is
+ * therefore only safe to cache seeded matches whose AIs and engine are entirely described by their configuration,
+ * which must only hold strings, primitive wrappers and enums. <br>
+ * Once a factory built an instance, later matches of the same factory are looked up without building any, so
+ * factories must always build instances of the same class and configuration. <br>
+ * The whole file is indexed in memory when opened. Records are checksummed: a record truncated or corrupted by a
+ * crash is dropped, along with the rest of the file.
+ */
+public final class MatchResultCache implements Closeable {
+
+    private static final int MAGIC = 0x4D524332;
+    private static final HashFunction KEYS = Hashing.sha256();
+    private static final int KEY_BYTES = 32;
+    private static final int RECORD_BYTES = KEY_BYTES + 3 * Integer.BYTES + 1 + Integer.BYTES;
+    private static final Winner[] WINNERS = Winner.values();
+
+    private final Path file;
+    private final Map<HashCode, Outcome> outcomes;
+    private final Map<Object, Prototype> prototypes;
+    private final DataOutputStream out;
+
+    public MatchResultCache(Path file) throws IOException {
+        this.file = file;
+        this.outcomes = new ConcurrentHashMap<>();
+        this.prototypes = Collections.synchronizedMap(new WeakHashMap<>());
+
+        long validLength = load();
+        if (Files.exists(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)));
+        if (validLength == 0L) {
+            out.writeInt(MAGIC);
+            out.flush();
+        }
+    }
+
+    /**
+     * @return the number of cached matches
+     */
+    public int size() {
+        return outcomes.size();
+    }
+
+    @Nullable
+    Outcome get(HashCode key) {
+        return outcomes.get(key);
+    }
+
+    void put(HashCode key, MatchResult result) {
+        Outcome outcome = new Outcome(
+                result.getPlayerScore(),
+                result.getOpponentScore(),
+                result.getRounds(),
+                result.getWinner());
+
+        if (outcomes.putIfAbsent(key, outcome) != null) {
+            return;
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+        record.put(key.asBytes())
+                .putInt(outcome.playerScore)
+                .putInt(outcome.opponentScore)
+                .putInt(outcome.rounds)
+                .put((byte) (outcome.winner == null ? -1 : outcome.winner.ordinal()));
+        record.putInt(checksum(record.array()));
+
+        synchronized (out) {
+            try {
+                out.write(record.array());
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Remembers the AI built by {@code factory}, so that later matches of {@code factory} are looked up without
+     * building any
+     */
+    void remember(SeededAIFactory factory, AI ai) {
+        remember(factory, ai, describe(ai.getClass(), ai.getConf()));
+    }
+
+    /**
+     * Remembers the game engine built by {@code factory}, so that later matches of {@code factory} are looked up
+     * without building any
+     */
+    void remember(SeededGameEngineFactory factory, GameEngine gameEngine) {
+        remember(factory, gameEngine, describe(gameEngine.getClass(), gameEngine.getConf()));
+    }
+
+    /**
+     * @return the outcome of the match the factories would play with {@code seed}, along with instances of the same
+     *         class and configuration as the ones they build, if cached. Factories must have been remembered.
+     */
+    @Nullable
+    Hit lookup(
+            SeededAIFactory player,
+            SeededAIFactory opponent,
+            SeededGameEngineFactory gameEngine,
+            long seed) {
+
+        Prototype playerPrototype = prototypes.get(player);
+        Prototype opponentPrototype = prototypes.get(opponent);
+        Prototype gameEnginePrototype = prototypes.get(gameEngine);
+        if (playerPrototype == null || opponentPrototype == null || gameEnginePrototype == null) {
+            return null;
+        }
+
+        Outcome outcome = outcomes.get(key(
+                playerPrototype.description,
+                opponentPrototype.description,
+                gameEnginePrototype.description,
+                seed));
+        if (outcome == null) {
+            return null;
+        }
+        return new Hit(
+                (AI) playerPrototype.instance,
+                (AI) opponentPrototype.instance,
+                (GameEngine) gameEnginePrototype.instance,
+                outcome);
+    }
+
+    /**
+     * @return the identity of a match, independent of the instances and of the order of their configuration
+     * @throws IllegalArgumentException if a configuration holds a value that is not stable from one run to another
+     */
+    static HashCode key(AI player, AI opponent, GameEngine gameEngine, long seed) {
+        return key(
+                describe(player.getClass(), player.getConf()),
+                describe(opponent.getClass(), opponent.getConf()),
+                describe(gameEngine.getClass(), gameEngine.getConf()),
+                seed);
+    }
+
+    private static HashCode key(HashCode player, HashCode opponent, HashCode gameEngine, long seed) {
+        return KEYS.newHasher()
+                .putBytes(player.asBytes())
+                .putBytes(opponent.asBytes())
+                .putBytes(gameEngine.asBytes())
+                .putLong(seed)
+                .hash();
+    }
+
+    private void remember(Object factory, Object instance, HashCode description) {
+        prototypes.putIfAbsent(factory, new Prototype(instance, description));
+    }
+
+    private static HashCode describe(Class<?> type, Map<String, Object> conf) {
+        Hasher hasher = KEYS.newHasher();
+        putString(hasher, type.getName());
+        hasher.putInt(conf.size());
+        for (Map.Entry<String, Object> entry : new TreeMap<>(conf).entrySet()) {
+            putString(hasher, entry.getKey());
+            putValue(hasher, entry.getKey(), entry.getValue());
+        }
+        return hasher.hash();
+    }
+
+    private static void putValue(Hasher hasher, String key, @Nullable Object value) {
+        if (value == null) {
+            hasher.putByte((byte) 0);
+            return;
+        }
+        if (!(value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Byte || value instanceof Short || value instanceof Integer
+                || value instanceof Long || value instanceof Float || value instanceof Double
+                || value instanceof Enum)) {
+            throw new IllegalArgumentException("Unable to identify a match by configuration " + key + " of type "
+                    + value.getClass().getName() + ", only strings, primitive wrappers and enums are supported");
+        }
+        hasher.putByte((byte) 1);
+        putString(hasher, value instanceof Enum
+                ? ((Enum<?>) value).getDeclaringClass().getName()
+                : value.getClass().getName());
+        putString(hasher, value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putInt(value.length()).putUnencodedChars(value);
+    }
+
+    /**
+     * @return the length of the file prefix made of the header and complete, valid records
+     */
+    private long load() throws IOException {
+        if (!Files.exists(file)) {
+            return 0L;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC) {
+            // Not a cache file of this version, dropped
+            return 0L;
+        }
+
+        byte[] record = new byte[RECORD_BYTES];
+        while (buffer.remaining() >= RECORD_BYTES) {
+            buffer.get(record);
+            ByteBuffer fields = ByteBuffer.wrap(record);
+            byte[] key = new byte[KEY_BYTES];
+            fields.get(key);
+            int playerScore = fields.getInt();
+            int opponentScore = fields.getInt();
+            int rounds = fields.getInt();
+            byte winner = fields.get();
+
+            if (fields.getInt() != checksum(record) || winner < -1 || winner >= WINNERS.length) {
+                // Corrupted record, dropped along with the rest of the file
+                return buffer.position() - RECORD_BYTES;
+            }
+            outcomes.put(
+                    HashCode.fromBytes(key),
+                    new Outcome(playerScore, opponentScore, rounds, winner < 0 ? null : WINNERS[winner]));
+        }
+        // A truncated record, if any, is dropped
+        return buffer.position();
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, RECORD_BYTES - Integer.BYTES);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (out) {
+            out.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("file", file)
+                .add("size", size())
+                .toString();
+    }
+
+    static final class Outcome {
+
+        final int playerScore;
+        final int opponentScore;
+        final int rounds;
+        @Nullable
+        final Winner winner;
+
+        private Outcome(int playerScore, int opponentScore, int rounds, @Nullable Winner winner) {
+            this.playerScore = playerScore;
+            this.opponentScore = opponentScore;
+            this.rounds = rounds;
+            this.winner = winner;
+        }
+    }
+
+    /**
+     * A cached match, with instances of the same class and configuration as the ones that played it
+     */
+    static final class Hit {
+
+        final AI player;
+        final AI opponent;
+        final GameEngine gameEngine;
+        final Outcome outcome;
+
+        private Hit(AI player, AI opponent, GameEngine gameEngine, Outcome outcome) {
+            this.player = player;
+            this.opponent = opponent;
+            this.gameEngine = gameEngine;
+            this.outcome = outcome;
+        }
+    }
+
+    private static final class Prototype {
+
+        private final Object instance;
+        private final HashCode description;
+
+        private Prototype(Object instance, HashCode description) {
+            this.instance = instance;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package player.match;
+
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import player.Player.AI;
+
+/**
+ * Builds an AI fed by {@code input}, drawing any randomness from {@code random}, so that a match is reproducible
+ * from its seed.
+ */
+@FunctionalInterface
+public interface SeededAIFactory {
+
+    AI create(IntSupplier input, SplittableRandom random);
+
+    /**
+     * Adapts an unseeded AI factory, which ignores the random stream
+     */
+    static SeededAIFactory of(Function<IntSupplier, Supplier<AI>> factory) {
+        return (input, random) -> factory.apply(input).get();
+    }
+}
@@ -0,0 +1,22 @@
+package player.match;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import player.engine.GameEngine;
+
+/**
+ * Builds a game engine drawing any randomness from {@code random}, so that a match is reproducible from its seed.
+ */
+@FunctionalInterface
+public interface SeededGameEngineFactory {
+
+    GameEngine create(SplittableRandom random);
+
+    /**
+     * Adapts an unseeded game engine factory, which ignores the random stream
+     */
+    static SeededGameEngineFactory of(Supplier<GameEngine> factory) {
+        return (random) -> factory.get();
+    }
+}
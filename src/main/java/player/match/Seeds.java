@@ -0,0 +1,40 @@
+package player.match;
+
+import java.util.SplittableRandom;
+
+/**
+ * Derives independent seeds from a root seed and an index, such as the index of a match in a game. <br>
+ * A seed only depends on its root seed and index, never on which thread or in which order it is derived, so parallel
+ * runs are reproducible.
+ */
+public final class Seeds {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private Seeds() {
+        // Utility class
+    }
+
+    /**
+     * @return the seed of the {@code index}th child of {@code seed}
+     */
+    public static long derive(long seed, long index) {
+        return mix64(seed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * @return an arbitrary seed, for runs that were not asked to be reproducible
+     */
+    public static long random() {
+        return new SplittableRandom().nextLong();
+    }
+
+    /**
+     * SplitMix64 finalizer, it spreads close inputs over the whole range
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,71 @@
+package player.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import player.Player.Action;
+
+/**
+ * Imports the standard input a referee sent to the player during a real contest match, as captured by the player
+ * itself, into a replay file. <br>
+ * A capture is a text file holding the integers the player read, separated by whitespaces, turn after turn. Turns
+ * are separated by blank lines. <br>
+ * Only the player side of the match is known: the opponent reads no input, no action is recorded, and the match ends
+ * after the last captured turn with no winner and zero scores.
+ */
+public final class CaptureImporter {
+
+    private static final Action[] NO_ACTIONS = new Action[0];
+
+    private CaptureImporter() {
+        // Utility class
+    }
+
+    /**
+     * Records the match captured in {@code capture} as played with {@code seed}
+     *
+     * @return the number of turns of the match
+     * @throws IllegalArgumentException if the capture holds anything but integers
+     */
+    public static int importCapture(Path capture, ReplayRecorder recorder, long seed) throws IOException {
+        MatchRecording recording = recorder.newRecording(seed);
+        int rounds = 0;
+        boolean pending = false;
+
+        try (BufferedReader reader = Files.newBufferedReader(capture, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty()) {
+                    if (pending) {
+                        recording.turn(NO_ACTIONS, NO_ACTIONS);
+                        rounds++;
+                        pending = false;
+                    }
+                    continue;
+                }
+
+                for (String token : trimmed.split("\\s+")) {
+                    try {
+                        recording.playerInput(Integer.parseInt(token));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(
+                                "Not an integer at line " + lineNumber + " of " + capture + ": " + token, e);
+                    }
+                }
+                pending = true;
+            }
+        }
+
+        if (pending) {
+            recording.turn(NO_ACTIONS, NO_ACTIONS);
+            rounds++;
+        }
+        recording.end(null, 0, 0, rounds);
+        return rounds;
+    }
+}
@@ -0,0 +1,126 @@
+package player.replay;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+import player.Player.Action;
+import player.engine.Winner;
+
+/**
+ * Encodes a single match in memory while it is played, and hands it to its recorder once it ends. <br>
+ * Inputs are recorded as the AIs read them, so each turn holds the inputs an AI read during that turn. <br>
+ * Not thread safe, a match is played by a single thread.
+ */
+public final class MatchRecording {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final ReplayRecorder recorder;
+    private final Inputs playerInputs;
+    private final Inputs opponentInputs;
+    private byte[] bytes;
+    private int size;
+
+    MatchRecording(ReplayRecorder recorder, long seed) {
+        this.recorder = recorder;
+        this.playerInputs = new Inputs();
+        this.opponentInputs = new Inputs();
+        this.bytes = new byte[INITIAL_CAPACITY];
+        this.size = 0;
+        writeVarint(Varints.zigZag(seed));
+    }
+
+    /**
+     * @return {@code value}, once recorded as read by the player
+     */
+    public int playerInput(int value) {
+        playerInputs.add(value);
+        return value;
+    }
+
+    /**
+     * @return {@code value}, once recorded as read by the opponent
+     */
+    public int opponentInput(int value) {
+        opponentInputs.add(value);
+        return value;
+    }
+
+    /**
+     * Records the actions of both AIs, along with the inputs they read since the previous turn
+     */
+    public void turn(Action[] playerActions, Action[] opponentActions) {
+        ensureCapacity(1);
+        bytes[size++] = ReplayFormat.TURN;
+        writeInputs(playerInputs);
+        writeActions(playerActions);
+        writeInputs(opponentInputs);
+        writeActions(opponentActions);
+    }
+
+    /**
+     * Records the match outcome and writes the whole match to the recorder. The recording must not be used anymore.
+     *
+     * @param winner the winner, {@code null} if the game engine did not tell one
+     */
+    public void end(@Nullable Winner winner, int playerScore, int opponentScore, int rounds) {
+        ensureCapacity(1);
+        bytes[size++] = ReplayFormat.END;
+        writeVarint(ReplayFormat.encodeWinner(winner));
+        writeVarint(Varints.zigZag(playerScore));
+        writeVarint(Varints.zigZag(opponentScore));
+        writeVarint(rounds);
+        recorder.write(bytes, size);
+    }
+
+    private void writeInputs(Inputs inputs) {
+        writeVarint(inputs.size);
+        for (int i = 0; i < inputs.size; i++) {
+            int value = inputs.values[i];
+            writeVarint(Varints.zigZag((long) value - inputs.last));
+            inputs.last = value;
+        }
+        inputs.size = 0;
+    }
+
+    private void writeActions(Action[] actions) {
+        writeVarint(actions.length);
+        for (Action action : actions) {
+            byte[] command = action.asString().getBytes(StandardCharsets.UTF_8);
+            writeVarint(command.length);
+            ensureCapacity(command.length);
+            System.arraycopy(command, 0, bytes, size, command.length);
+            size += command.length;
+        }
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(Varints.MAX_LENGTH);
+        size = Varints.write(bytes, size, value);
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(size + length, bytes.length * 2));
+        }
+    }
+
+    /**
+     * Inputs read since the last turn. The last value carries over turns, as deltas span the whole match.
+     */
+    private static final class Inputs {
+
+        private int[] values = new int[64];
+        private int size;
+        private int last;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package player.replay;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+
+import player.engine.Winner;
+
+/**
+ * A recorded match, as read from a replay file
+ */
+public final class MatchReplay {
+
+    private final long seed;
+    private final List<Turn> turns;
+    @Nullable
+    private final Winner winner;
+    private final int playerScore;
+    private final int opponentScore;
+    private final int rounds;
+
+    MatchReplay(long seed, List<Turn> turns, @Nullable Winner winner, int playerScore, int opponentScore, int rounds) {
+        this.seed = seed;
+        this.turns = Collections.unmodifiableList(turns);
+        this.winner = winner;
+        this.playerScore = playerScore;
+        this.opponentScore = opponentScore;
+        this.rounds = rounds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<Turn> getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return the winner of the match, {@code null} if its game engine did not tell one
+     */
+    @Nullable
+    public Winner getWinner() {
+        return winner;
+    }
+
+    public int getPlayerScore() {
+        return playerScore;
+    }
+
+    public int getOpponentScore() {
+        return opponentScore;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("seed", seed)
+                .add("turns", turns.size())
+                .add("winner", winner)
+                .add("playerScore", playerScore)
+                .add("opponentScore", opponentScore)
+                .add("rounds", rounds)
+                .toString();
+    }
+
+    /**
+     * The inputs both AIs read during a turn, and the actions they played
+     */
+    public static final class Turn {
+
+        private final int[] playerInputs;
+        private final List<String> playerActions;
+        private final int[] opponentInputs;
+        private final List<String> opponentActions;
+
+        Turn(int[] playerInputs, List<String> playerActions, int[] opponentInputs, List<String> opponentActions) {
+            this.playerInputs = playerInputs;
+            this.playerActions = Collections.unmodifiableList(playerActions);
+            this.opponentInputs = opponentInputs;
+            this.opponentActions = Collections.unmodifiableList(opponentActions);
+        }
+
+        public int[] getPlayerInputs() {
+            return playerInputs.clone();
+        }
+
+        public List<String> getPlayerActions() {
+            return playerActions;
+        }
+
+        public int[] getOpponentInputs() {
+            return opponentInputs.clone();
+        }
+
+        public List<String> getOpponentActions() {
+            return opponentActions;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("playerInputs", Arrays.toString(playerInputs))
+                    .add("playerActions", playerActions)
+                    .add("opponentInputs", Arrays.toString(opponentInputs))
+                    .add("opponentActions", opponentActions)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package player.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import player.match.SeededGameEngineFactory;
+
+/**
+ * A replay file mapped in memory, whose recorded matches can be played again by {@link ReplayGE}s. <br>
+ * Opening the file only walks over the record lengths to index the matches, their content is decoded by the game
+ * engines as they are played. All game engines share the mapping, nothing is copied.
+ */
+public final class ReplayFile {
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int[] starts;
+    private final int[] ends;
+
+    private ReplayFile(Path file, ByteBuffer buffer) {
+        if (buffer.remaining() < ReplayFormat.HEADER_LENGTH
+                || buffer.getInt() != ReplayFormat.MAGIC
+                || buffer.get() != ReplayFormat.VERSION) {
+            throw new IllegalArgumentException("Not a replay file, or written by another version: " + file);
+        }
+
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int count = 0;
+        while (buffer.hasRemaining()) {
+            int length = (int) Varints.read(buffer);
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = buffer.position();
+            ends[count] = buffer.position() + length;
+            buffer.position(ends[count]);
+            count++;
+        }
+
+        this.file = file;
+        this.buffer = buffer;
+        this.starts = Arrays.copyOf(starts, count);
+        this.ends = Arrays.copyOf(ends, count);
+    }
+
+    public static ReplayFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ReplayFile(file, buffer);
+        }
+    }
+
+    public int getNumberOfMatches() {
+        return starts.length;
+    }
+
+    /**
+     * @return a game engine that plays the recorded match of index {@code match} again
+     */
+    public ReplayGE gameEngine(int match) {
+        Preconditions.checkElementIndex(match, starts.length, "match");
+
+        ByteBuffer record = buffer.duplicate();
+        record.limit(ends[match]);
+        record.position(starts[match]);
+        return new ReplayGE(file, record.slice());
+    }
+
+    /**
+     * @return game engines playing a recorded match drawn from the random stream of each match, so that a seeded match
+     *         always plays the same recording, however matches are scheduled
+     */
+    public SeededGameEngineFactory bySeed() {
+        Preconditions.checkState(starts.length > 0, "No match was recorded in %s", file);
+        return (random) -> gameEngine(random.nextInt(starts.length));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("file", file)
+                .add("numberOfMatches", getNumberOfMatches())
+                .toString();
+    }
+}
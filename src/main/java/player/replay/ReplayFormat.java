@@ -0,0 +1,44 @@
+package player.replay;
+
+import javax.annotation.Nullable;
+
+import player.engine.Winner;
+
+/**
+ * Layout of replay files, all integers are {@link Varints}. <br>
+ * A file starts with {@link #MAGIC} and {@link #VERSION}, followed by one record per match, each prefixed with its
+ * length in bytes so that readers can skip it. <br>
+ * A record holds the zigzag match seed, then one {@link #TURN} per turn: the player inputs read during the turn, the
+ * player actions, the opponent inputs and the opponent actions. Inputs are a count followed by the zigzag difference
+ * of each value with the previous value of the same stream, actions a count followed by the length and UTF-8 bytes
+ * of each command. <br>
+ * {@link #END} closes the record, followed by the winner, the zigzag scores and the number of rounds. The winner is
+ * its ordinal plus one, or zero when the game engine did not tell one.
+ */
+final class ReplayFormat {
+
+    static final int MAGIC = 0x43475250;
+    static final byte VERSION = 2;
+    static final int HEADER_LENGTH = 5;
+
+    static final byte END = 0;
+    static final byte TURN = 1;
+
+    private static final Winner[] WINNERS = Winner.values();
+
+    private ReplayFormat() {
+        // Utility class
+    }
+
+    static long encodeWinner(@Nullable Winner winner) {
+        return winner == null ? 0L : winner.ordinal() + 1L;
+    }
+
+    @Nullable
+    static Winner decodeWinner(long value) {
+        if (value < 0 || value > WINNERS.length) {
+            throw new IllegalStateException("Unknown winner " + value);
+        }
+        return value == 0 ? null : WINNERS[(int) value - 1];
+    }
+}
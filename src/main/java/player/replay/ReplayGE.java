@@ -0,0 +1,175 @@
+package player.replay;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+
+import player.Player.Action;
+import player.engine.GameEngine;
+import player.engine.Winner;
+
+/**
+ * Feeds AIs with the inputs of a recorded match, turn by turn, decoded straight from the mapped replay file. <br>
+ * Recorded inputs do not depend on the actions played, so any AI can be run against a replay, but the match always
+ * ends as it was recorded. Inputs an AI does not read during a turn are dropped at the end of the turn, so that AIs
+ * that read less than the recorded ones stay in sync. <br>
+ * Scores are only known once the match ends. Game engines of the same file share their configuration, whatever their
+ * match: {@link ReplayFile#bySeed()} picks the match from the seed, as any seeded game engine would.
+ */
+public final class ReplayGE implements GameEngine {
+
+    private final Path file;
+    private final ByteBuffer record;
+    private final ByteBuffer playerStream;
+    private final ByteBuffer opponentStream;
+    private final int firstTurn;
+
+    private int playerRemaining;
+    private int opponentRemaining;
+    private int lastPlayerInput;
+    private int lastOpponentInput;
+    private Winner winner;
+    private int playerScore;
+    private int opponentScore;
+    private int rounds;
+
+    ReplayGE(Path file, ByteBuffer record) {
+        this.file = file;
+        this.record = record;
+        this.playerStream = record.duplicate();
+        this.opponentStream = record.duplicate();
+
+        Varints.read(record);
+        this.firstTurn = record.position();
+        this.winner = Winner.ON_GOING;
+    }
+
+    @Override
+    public void start() {
+        record.position(firstTurn);
+        playerRemaining = 0;
+        opponentRemaining = 0;
+        lastPlayerInput = 0;
+        lastOpponentInput = 0;
+        rounds = 0;
+        playerScore = 0;
+        opponentScore = 0;
+        nextTurn();
+    }
+
+    @Override
+    public void run(Action[] playerActions, Action[] opponentActions) {
+        if (winner != Winner.ON_GOING) {
+            throw new IllegalStateException("The recorded match has already ended");
+        }
+        rounds++;
+        nextTurn();
+    }
+
+    /**
+     * Moves both input streams to the next recorded turn, or reads the outcome if the match ended. <br>
+     * Deltas of dropped inputs are decoded anyway, so that the next ones decode right.
+     */
+    private void nextTurn() {
+        lastPlayerInput = skipInputs(playerStream, playerRemaining, lastPlayerInput);
+        lastOpponentInput = skipInputs(opponentStream, opponentRemaining, lastOpponentInput);
+        playerRemaining = 0;
+        opponentRemaining = 0;
+
+        if (record.get() == ReplayFormat.END) {
+            winner = ReplayFormat.decodeWinner(Varints.read(record));
+            playerScore = (int) Varints.unZigZag(Varints.read(record));
+            opponentScore = (int) Varints.unZigZag(Varints.read(record));
+            return;
+        }
+
+        winner = Winner.ON_GOING;
+        playerRemaining = (int) Varints.read(record);
+        playerStream.position(record.position());
+        skipInputs(record, playerRemaining, 0);
+        skipActions(record);
+
+        opponentRemaining = (int) Varints.read(record);
+        opponentStream.position(record.position());
+        skipInputs(record, opponentRemaining, 0);
+        skipActions(record);
+    }
+
+    private static int skipInputs(ByteBuffer stream, int count, int last) {
+        for (int i = 0; i < count; i++) {
+            last += (int) Varints.unZigZag(Varints.read(stream));
+        }
+        return last;
+    }
+
+    private static void skipActions(ByteBuffer stream) {
+        int count = (int) Varints.read(stream);
+        for (int i = 0; i < count; i++) {
+            int length = (int) Varints.read(stream);
+            stream.position(stream.position() + length);
+        }
+    }
+
+    @Override
+    public Winner getWinner() {
+        return winner;
+    }
+
+    @Override
+    public int playerInput() {
+        if (playerRemaining == 0) {
+            throw new IllegalStateException("No inputs are available to player");
+        }
+        playerRemaining--;
+        lastPlayerInput += (int) Varints.unZigZag(Varints.read(playerStream));
+        return lastPlayerInput;
+    }
+
+    @Override
+    public int opponentInput() {
+        if (opponentRemaining == 0) {
+            throw new IllegalStateException("No inputs are available to opponent");
+        }
+        opponentRemaining--;
+        lastOpponentInput += (int) Varints.unZigZag(Varints.read(opponentStream));
+        return lastOpponentInput;
+    }
+
+    /**
+     * @return the recorded player score once the match ended, {@code 0} before
+     */
+    @Override
+    public int getPlayerScore() {
+        return playerScore;
+    }
+
+    /**
+     * @return the recorded opponent score once the match ended, {@code 0} before
+     */
+    @Override
+    public int getOpponentScore() {
+        return opponentScore;
+    }
+
+    @Override
+    public int getNumberOfRounds() {
+        return rounds;
+    }
+
+    @Override
+    public Map<String, Object> getConf() {
+        return ImmutableMap.of("file", file.toString());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("file", file)
+                .add("rounds", rounds)
+                .add("winner", winner)
+                .toString();
+    }
+}
@@ -0,0 +1,107 @@
+package player.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import player.engine.Winner;
+import player.replay.MatchReplay.Turn;
+
+/**
+ * Reads the matches of a replay file one at a time, straight from the memory mapped file
+ */
+public final class ReplayReader implements Iterator<MatchReplay> {
+
+    private final ByteBuffer buffer;
+
+    private ReplayReader(ByteBuffer buffer) {
+        if (buffer.remaining() < ReplayFormat.HEADER_LENGTH
+                || buffer.getInt() != ReplayFormat.MAGIC
+                || buffer.get() != ReplayFormat.VERSION) {
+            throw new IllegalArgumentException("Not a replay file, or written by another version");
+        }
+        this.buffer = buffer;
+    }
+
+    public static ReplayReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ReplayReader(buffer);
+        }
+    }
+
+    /**
+     * @return all matches recorded in {@code file}, in the order they ended
+     */
+    public static List<MatchReplay> readAll(Path file) throws IOException {
+        List<MatchReplay> replays = new ArrayList<>();
+        for (ReplayReader reader = open(file); reader.hasNext();) {
+            replays.add(reader.next());
+        }
+        return replays;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return buffer.hasRemaining();
+    }
+
+    @Override
+    public MatchReplay next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        int length = (int) Varints.read(buffer);
+        int end = buffer.position() + length;
+
+        long seed = Varints.unZigZag(Varints.read(buffer));
+        List<Turn> turns = new ArrayList<>();
+        int[] lastInputs = new int[2];
+        while (buffer.get() == ReplayFormat.TURN) {
+            int[] playerInputs = readInputs(lastInputs, 0);
+            List<String> playerActions = readActions();
+            int[] opponentInputs = readInputs(lastInputs, 1);
+            List<String> opponentActions = readActions();
+            turns.add(new Turn(playerInputs, playerActions, opponentInputs, opponentActions));
+        }
+
+        Winner winner = ReplayFormat.decodeWinner(Varints.read(buffer));
+        int playerScore = (int) Varints.unZigZag(Varints.read(buffer));
+        int opponentScore = (int) Varints.unZigZag(Varints.read(buffer));
+        int rounds = (int) Varints.read(buffer);
+
+        if (buffer.position() != end) {
+            throw new IllegalStateException("Corrupted match record ending at position " + end);
+        }
+        return new MatchReplay(seed, turns, winner, playerScore, opponentScore, rounds);
+    }
+
+    private int[] readInputs(int[] lastInputs, int stream) {
+        int[] inputs = new int[(int) Varints.read(buffer)];
+        for (int i = 0; i < inputs.length; i++) {
+            lastInputs[stream] += (int) Varints.unZigZag(Varints.read(buffer));
+            inputs[i] = lastInputs[stream];
+        }
+        return inputs;
+    }
+
+    private List<String> readActions() {
+        int count = (int) Varints.read(buffer);
+        List<String> actions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] command = new byte[(int) Varints.read(buffer)];
+            buffer.get(command);
+            actions.add(new String(command, StandardCharsets.UTF_8));
+        }
+        return actions;
+    }
+}
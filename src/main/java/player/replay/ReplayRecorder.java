@@ -0,0 +1,110 @@
+package player.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Streams recorded matches to a replay file, see {@link ReplayFormat} for its layout. <br>
+ * Matches are encoded in memory by their own {@link MatchRecording}, so concurrent matches never interleave, then
+ * appended to a buffer that is written to the file channel once full. The file is only complete once closed.
+ */
+public final class ReplayRecorder implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private int numberOfMatches;
+
+    /**
+     * Creates {@code file}, or overwrites it if it already exists
+     */
+    public ReplayRecorder(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.numberOfMatches = 0;
+
+        buffer.putInt(ReplayFormat.MAGIC);
+        buffer.put(ReplayFormat.VERSION);
+    }
+
+    /**
+     * @return a recording for a match played with {@code seed}, written once it ends
+     */
+    public MatchRecording newRecording(long seed) {
+        return new MatchRecording(this, seed);
+    }
+
+    /**
+     * @return the number of matches recorded so far
+     */
+    public synchronized int getNumberOfMatches() {
+        return numberOfMatches;
+    }
+
+    synchronized void write(byte[] record, int length) {
+        byte[] prefix = new byte[Varints.MAX_LENGTH];
+        int prefixLength = Varints.write(prefix, 0, length);
+
+        try {
+            if (buffer.remaining() < prefixLength + length) {
+                flush();
+            }
+            if (buffer.remaining() < prefixLength + length) {
+                writeFully(ByteBuffer.wrap(prefix, 0, prefixLength));
+                writeFully(ByteBuffer.wrap(record, 0, length));
+            } else {
+                buffer.put(prefix, 0, prefixLength);
+                buffer.put(record, 0, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        numberOfMatches++;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("file", file)
+                .add("numberOfMatches", getNumberOfMatches())
+                .toString();
+    }
+}
@@ -0,0 +1,53 @@
+package player.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * LEB128 variable length integers: 7 bits per byte, the high bit telling whether more bytes follow. <br>
+ * Signed values are zigzag encoded first, so that small negative values take few bytes too.
+ */
+final class Varints {
+
+    /**
+     * The longest encoding of a 64 bits value
+     */
+    static final int MAX_LENGTH = 10;
+
+    private Varints() {
+        // Utility class
+    }
+
+    /**
+     * Writes {@code value} as an unsigned varint at {@code pos}, which must have {@link #MAX_LENGTH} bytes available
+     *
+     * @return the position after the written bytes
+     */
+    static int write(byte[] dst, int pos, long value) {
+        while ((value & ~0x7FL) != 0L) {
+            dst[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        dst[pos++] = (byte) value;
+        return pos;
+    }
+
+    static long read(ByteBuffer src) {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = src.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at position " + src.position());
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
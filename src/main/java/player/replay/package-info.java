@@ -0,0 +1,8 @@
+/**
+ * Records matches into compact binary replay files, reads them back for offline analysis, and plays their inputs
+ * again against other AIs.
+ */
+@ParametersAreNonnullByDefault
+package player.replay;
+
+import javax.annotation.ParametersAreNonnullByDefault;
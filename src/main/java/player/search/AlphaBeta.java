@@ -0,0 +1,361 @@
+package player.search;
+
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Preconditions;
+
+import player.Player.Action;
+import player.Player.TurnBudget;
+import player.engine.GameEngine;
+import player.engine.Winner;
+
+/**
+ * Negamax search with alpha-beta pruning over a game engine made turn based: each round, the player picks a move,
+ * then the opponent answers knowing it, which makes the search pessimistic about simultaneous moves. A depth counts
+ * rounds, that is, two plies. <br>
+ * Depths are searched deeper and deeper while the {@link TurnBudget} allows it, and the best move of the deepest
+ * complete search is played. Moves are tried in order: the best move stored in the transposition table, then the
+ * two killer moves of the ply, which last caused a cutoff at that ply, then by history, which sums the squared
+ * depths of the cutoffs each move index caused. <br>
+ * The {@link TranspositionTable} is optional, it is keyed by {@link GameEngine#stateHash()} unless told otherwise.
+ * Only states where the player is to move are stored. <br>
+ * Instances are not thread safe.
+ */
+public final class AlphaBeta {
+
+    private static final int DEFAULT_MAX_DEPTH = 64;
+    private static final int EVALUATION_SCALE = 1 << 20;
+    private static final int WIN = 1 << 24;
+    private static final int WIN_BOUND = WIN - (1 << 10);
+    private static final int INFINITY = 1 << 30;
+    private static final int NONE = -1;
+
+    private final MoveGenerator moveGenerator;
+    private final Evaluator evaluator;
+    private final int maxDepth;
+    @Nullable
+    private final TranspositionTable table;
+    @Nullable
+    private final ToLongFunction<GameEngine> hasher;
+
+    private final int[] killers;
+    private final int[][] history;
+    private final int[][] orders;
+    private final int[][] orderScores;
+
+    private GameEngine engine;
+    private TurnBudget budget;
+    private boolean aborted;
+    private int rootMove;
+    private long nodes;
+    private int completedDepth;
+
+    private AlphaBeta(Builder builder) {
+        this.moveGenerator = builder.moveGenerator;
+        this.evaluator = builder.evaluator;
+        this.maxDepth = builder.maxDepth;
+        this.table = builder.table;
+        this.hasher = builder.hasher;
+
+        int plies = 2 * maxDepth + 1;
+        this.killers = new int[2 * plies];
+        this.history = new int[][] { new int[16], new int[16] };
+        this.orders = new int[plies][16];
+        this.orderScores = new int[plies][16];
+    }
+
+    public static Builder newBuilder(MoveGenerator moveGenerator) {
+        return new Builder(moveGenerator);
+    }
+
+    /**
+     * Searches the best player move from the current engine state. The engine is left in the state it was given.
+     *
+     * @return the actions of the best move of the deepest complete search, the first move if not even one round
+     *         could be searched
+     * @throws IllegalArgumentException if the engine does not support snapshots
+     */
+    public Action[] search(GameEngine engine, TurnBudget budget) {
+        Preconditions.checkArgument(engine.supportsSnapshots(), "%s does not support snapshots",
+                engine.getClass().getName());
+
+        this.engine = engine;
+        this.nodes = 0;
+        this.completedDepth = 0;
+        if (moveGenerator.playerMoves(engine) == 1) {
+            return moveGenerator.playerMove(engine, 0);
+        }
+
+        Arrays.fill(killers, NONE);
+        for (int[] side : history) {
+            for (int move = 0; move < side.length; move++) {
+                side[move] >>= 1;
+            }
+        }
+
+        Action[] best = budget.iterativeDeepening(this::searchDepth, maxDepth);
+        return best.length > 0 ? best : moveGenerator.playerMove(engine, 0);
+    }
+
+    /**
+     * @return the number of nodes of the last search, over all depths
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the deepest complete depth of the last search, in rounds
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    @Nullable
+    private Action[] searchDepth(int depth, TurnBudget budget) {
+        this.budget = budget;
+        this.aborted = false;
+
+        negamax(2 * depth, 0, -INFINITY, INFINITY, NONE);
+        if (aborted) {
+            return null;
+        }
+        completedDepth = depth;
+        return moveGenerator.playerMove(engine, rootMove);
+    }
+
+    /**
+     * @param plies remaining plies
+     * @param pending the player move of the round, when the opponent is to move
+     * @return the score from the point of view of the side to move
+     */
+    private int negamax(int plies, int ply, int alpha, int beta, int pending) {
+        if (budget.shouldStop()) {
+            aborted = true;
+            return 0;
+        }
+        nodes++;
+
+        boolean player = (ply & 1) == 0;
+        if (player) {
+            Winner winner = engine.getWinner();
+            if (winner != Winner.ON_GOING) {
+                return winner == Winner.PLAYER ? WIN - ply : ply - WIN;
+            }
+            if (plies == 0) {
+                return evaluate();
+            }
+        }
+
+        int initialAlpha = alpha;
+        long key = 0L;
+        int tableMove = NONE;
+        if (player && table != null) {
+            key = hasher.applyAsLong(engine);
+            long data = table.probe(key);
+            if (data != TranspositionTable.MISS) {
+                tableMove = TranspositionTable.move(data);
+                if (ply > 0 && TranspositionTable.depth(data) >= plies) {
+                    int score = fromTable(TranspositionTable.score(data), ply);
+                    int bound = TranspositionTable.bound(data);
+                    if (bound == TranspositionTable.EXACT) {
+                        return score;
+                    }
+                    if (bound == TranspositionTable.LOWER_BOUND) {
+                        alpha = Math.max(alpha, score);
+                    } else {
+                        beta = Math.min(beta, score);
+                    }
+                    if (alpha >= beta) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        int moves = player ? moveGenerator.playerMoves(engine) : moveGenerator.opponentMoves(engine);
+        int[] order = order(ply, player ? 0 : 1, moves, tableMove);
+        int token = player ? NONE : engine.snapshot();
+
+        int best = -INFINITY;
+        int bestMove = order[0];
+        for (int i = 0; i < moves; i++) {
+            int move = order[i];
+            int value;
+            if (player) {
+                value = -negamax(plies - 1, ply + 1, -beta, -alpha, move);
+            } else {
+                engine.run(moveGenerator.playerMove(engine, pending), moveGenerator.opponentMove(engine, move));
+                value = -negamax(plies - 1, ply + 1, -beta, -alpha, NONE);
+                engine.restore(token);
+            }
+            if (aborted) {
+                break;
+            }
+
+            if (value > best) {
+                best = value;
+                bestMove = move;
+            }
+            if (value > alpha) {
+                alpha = value;
+            }
+            if (alpha >= beta) {
+                onCutoff(ply, player ? 0 : 1, move, plies);
+                break;
+            }
+        }
+        if (!player) {
+            engine.release(token);
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        if (ply == 0) {
+            rootMove = bestMove;
+        }
+        if (player && table != null) {
+            int bound = best <= initialAlpha ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            table.store(key, toTable(best, ply), plies, bound, bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * @return the player reward scaled to an integer score, 0 when even
+     */
+    private int evaluate() {
+        return (int) Math.round((evaluator.evaluate(engine) - 0.5) * 2 * EVALUATION_SCALE);
+    }
+
+    /**
+     * Sorts the moves of the ply: table move, killers, then history
+     */
+    private int[] order(int ply, int side, int moves, int tableMove) {
+        if (orders[ply].length < moves) {
+            orders[ply] = new int[moves];
+            orderScores[ply] = new int[moves];
+        }
+        if (history[side].length < moves) {
+            history[side] = Arrays.copyOf(history[side], Math.max(moves, 2 * history[side].length));
+        }
+
+        int[] order = orders[ply];
+        int[] scores = orderScores[ply];
+        for (int move = 0; move < moves; move++) {
+            int score;
+            if (move == tableMove) {
+                score = Integer.MAX_VALUE;
+            } else if (move == killers[2 * ply]) {
+                score = Integer.MAX_VALUE - 1;
+            } else if (move == killers[2 * ply + 1]) {
+                score = Integer.MAX_VALUE - 2;
+            } else {
+                score = Math.min(history[side][move], Integer.MAX_VALUE - 3);
+            }
+
+            int i = move;
+            while (i > 0 && scores[i - 1] < score) {
+                order[i] = order[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            order[i] = move;
+            scores[i] = score;
+        }
+        return order;
+    }
+
+    private void onCutoff(int ply, int side, int move, int plies) {
+        if (killers[2 * ply] != move) {
+            killers[2 * ply + 1] = killers[2 * ply];
+            killers[2 * ply] = move;
+        }
+        int bonus = history[side][move] + plies * plies;
+        history[side][move] = bonus < 0 ? Integer.MAX_VALUE : bonus;
+    }
+
+    /**
+     * Win scores are stored relative to the node, so that they remain valid when reached at another ply
+     */
+    private static int toTable(int score, int ply) {
+        if (score > WIN_BOUND) {
+            return score + ply;
+        }
+        if (score < -WIN_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score > WIN_BOUND) {
+            return score - ply;
+        }
+        if (score < -WIN_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    public static final class Builder {
+
+        private final MoveGenerator moveGenerator;
+        private Evaluator evaluator;
+        private int maxDepth;
+        @Nullable
+        private TranspositionTable table;
+        @Nullable
+        private ToLongFunction<GameEngine> hasher;
+
+        private Builder(MoveGenerator moveGenerator) {
+            this.moveGenerator = moveGenerator;
+            this.evaluator = Evaluator.winnerOrScore();
+            this.maxDepth = DEFAULT_MAX_DEPTH;
+        }
+
+        /**
+         * Rates the states at the search horizon, only its ordering matters
+         */
+        public Builder withEvaluator(Evaluator evaluator) {
+            this.evaluator = evaluator;
+            return this;
+        }
+
+        /**
+         * Deepest search, in rounds, 64 by default
+         */
+        public Builder withMaxDepth(int maxDepth) {
+            Preconditions.checkArgument(maxDepth > 0 && maxDepth <= DEFAULT_MAX_DEPTH,
+                    "Max depth must be within [1, %s], but found %s", DEFAULT_MAX_DEPTH, maxDepth);
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Stores results in {@code table}, keyed by the engine {@link GameEngine#stateHash()}
+         */
+        public Builder withTranspositionTable(TranspositionTable table) {
+            return withTranspositionTable(table, GameEngine::stateHash);
+        }
+
+        /**
+         * Stores results in {@code table}, keyed by {@code hasher}, which must tell apart the states the search
+         * should not mix up
+         */
+        public Builder withTranspositionTable(TranspositionTable table, ToLongFunction<GameEngine> hasher) {
+            this.table = table;
+            this.hasher = hasher;
+            return this;
+        }
+
+        public AlphaBeta build() {
+            return new AlphaBeta(this);
+        }
+    }
+}
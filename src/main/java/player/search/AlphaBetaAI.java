@@ -0,0 +1,45 @@
+package player.search;
+
+import java.util.Map;
+
+import player.Player.AI;
+import player.Player.Action;
+import player.Player.RepositoryUpdater;
+import player.Player.TurnBudget;
+import player.engine.GameEngine;
+
+/**
+ * AI playing the moves found by an {@link AlphaBeta} search from a forward model of the match, which subclasses keep
+ * in sync with the inputs they read.
+ */
+public abstract class AlphaBetaAI extends AI {
+
+    private final AlphaBeta search;
+
+    protected AlphaBetaAI(Map<String, Object> conf, RepositoryUpdater updater, AlphaBeta search) {
+        super(conf, updater);
+        this.search = search;
+    }
+
+    /**
+     * @return an engine in the current match state, supporting snapshots
+     */
+    protected abstract GameEngine forwardModel();
+
+    /**
+     * Searches without time limit, down to the maximum depth
+     */
+    @Override
+    public Action[] play() {
+        return play(TurnBudget.unlimited());
+    }
+
+    @Override
+    public Action[] play(TurnBudget budget) {
+        return search.search(forwardModel(), budget);
+    }
+
+    protected AlphaBeta getSearch() {
+        return search;
+    }
+}
@@ -0,0 +1,36 @@
+package player.search;
+
+import player.engine.GameEngine;
+import player.engine.Winner;
+
+/**
+ * Rates the state a playout ended in, from the player point of view
+ */
+@FunctionalInterface
+public interface Evaluator {
+
+    /**
+     * @return the player reward within {@code [0, 1]}, the opponent one being its complement
+     */
+    double evaluate(GameEngine engine);
+
+    /**
+     * Rewards a win with 1 and a loss with 0. Matches still on going are rated by the share of the score gap in
+     * the total score, 0.5 when scores are even.
+     */
+    static Evaluator winnerOrScore() {
+        return (engine) -> {
+            Winner winner = engine.getWinner();
+            if (winner == Winner.PLAYER) {
+                return 1.0;
+            }
+            if (winner == Winner.OPPONENT) {
+                return 0.0;
+            }
+            long playerScore = engine.getPlayerScore();
+            long opponentScore = engine.getOpponentScore();
+            long total = Math.abs(playerScore) + Math.abs(opponentScore);
+            return total == 0 ? 0.5 : 0.5 + (playerScore - opponentScore) / (2.0 * total);
+        };
+    }
+}
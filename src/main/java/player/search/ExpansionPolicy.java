@@ -0,0 +1,29 @@
+package player.search;
+
+/**
+ * Decides whether a state reached for the first time gets its own node in the search tree, or is only rolled out
+ */
+@FunctionalInterface
+public interface ExpansionPolicy {
+
+    /**
+     * @param parentVisits number of playouts that went through the parent node
+     * @param depth depth of the new node, the root children being at depth 1
+     */
+    boolean shouldExpand(int parentVisits, int depth);
+
+    /**
+     * Expands every state reached
+     */
+    static ExpansionPolicy always() {
+        return (parentVisits, depth) -> true;
+    }
+
+    /**
+     * Only expands the children of nodes visited at least {@code visits} times, which saves nodes on rarely visited
+     * branches
+     */
+    static ExpansionPolicy afterVisits(int visits) {
+        return (parentVisits, depth) -> parentVisits >= visits;
+    }
+}
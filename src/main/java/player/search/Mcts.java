@@ -0,0 +1,248 @@
+package player.search;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import com.google.common.base.Preconditions;
+
+import player.Player.Action;
+import player.Player.TurnBudget;
+import player.engine.GameEngine;
+
+/**
+ * Monte Carlo tree search over a game engine used as a simultaneous moves forward model, with decoupled UCT: each
+ * node picks the player move and the opponent move independently, each one maximizing its own UCB1 value, and the
+ * pair of moves leads to the child node. <br>
+ * Every {@link Playout} descends the tree from the current engine state, expands a new node according to the
+ * {@link ExpansionPolicy}, plays the {@link RolloutPolicy} up to the rollout depth, rates the reached state with the
+ * {@link Evaluator} and restores the engine from a snapshot. Nodes live in a preallocated {@link NodeArena}, once it
+ * is full, playouts go on without expanding. <br>
+ * Instances keep their arena between searches and are not thread safe, see {@link ParallelMcts} to search on
+ * several threads.
+ */
+public final class Mcts {
+
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int DEFAULT_STATS_PER_NODE = 8;
+    private static final int DEFAULT_ROLLOUT_DEPTH = 20;
+    private static final double DEFAULT_EXPLORATION = Math.sqrt(2.0);
+
+    private final MoveGenerator moveGenerator;
+    private final Playout playout;
+    private final int maxPlayouts;
+    private final SplittableRandom random;
+    private final NodeArena arena;
+
+    private int[] path;
+    private int playouts;
+
+    private Mcts(Builder builder) {
+        this(builder, builder.random);
+    }
+
+    /**
+     * Builds a search drawing its randomness from {@code random} rather than from the builder one, so that searches
+     * running in parallel do not share it
+     */
+    Mcts(Builder builder, SplittableRandom random) {
+        this.moveGenerator = builder.moveGenerator;
+        this.playout = new Playout(builder);
+        this.maxPlayouts = builder.maxPlayouts;
+        this.random = random;
+        this.arena = new NodeArena(builder.capacity);
+        this.path = new int[64];
+    }
+
+    public static Builder newBuilder(MoveGenerator moveGenerator) {
+        return new Builder(moveGenerator);
+    }
+
+    /**
+     * Searches the best player move from the current engine state, until the budget is spent or the maximum number
+     * of playouts is reached. The engine is left in the state it was given.
+     *
+     * @return the actions of the most visited player move
+     * @throws IllegalArgumentException if the engine does not support snapshots
+     */
+    public Action[] search(GameEngine engine, TurnBudget budget) {
+        return search(engine, budget, maxPlayouts);
+    }
+
+    /**
+     * Searches as {@link #search(GameEngine, TurnBudget)} does, with another maximum number of playouts
+     */
+    Action[] search(GameEngine engine, TurnBudget budget, int maxPlayouts) {
+        Preconditions.checkArgument(engine.supportsSnapshots(), "%s does not support snapshots",
+                engine.getClass().getName());
+        Preconditions.checkState(maxPlayouts < Integer.MAX_VALUE || !budget.isUnlimited(),
+                "Unable to search without a budget nor a maximum number of playouts");
+
+        arena.clear();
+        playouts = 0;
+        int root = arena.add(moveGenerator.playerMoves(engine), moveGenerator.opponentMoves(engine));
+        if (arena.playerMoves[root] == 1) {
+            return moveGenerator.playerMove(engine, 0);
+        }
+
+        int token = engine.snapshot();
+        while (playouts < maxPlayouts && !budget.shouldStop()) {
+            path = playout.play(arena, root, engine, random, path);
+            engine.restore(token);
+            playouts++;
+        }
+        engine.release(token);
+
+        return moveGenerator.playerMove(engine, mostVisitedPlayerMove(root));
+    }
+
+    /**
+     * @return the number of playouts of the last search
+     */
+    public int getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * @return the number of nodes of the last search tree
+     */
+    public int getNodes() {
+        return arena.size();
+    }
+
+    /**
+     * @return the visits of each player move at the root of the last search tree
+     */
+    public int[] getRootVisits() {
+        int first = arena.firstStat[0];
+        return Arrays.copyOfRange(arena.statVisits, first, first + arena.playerMoves[0]);
+    }
+
+    private int mostVisitedPlayerMove(int root) {
+        int first = arena.firstStat[root];
+        int best = 0;
+        for (int move = 1; move < arena.playerMoves[root]; move++) {
+            if (arena.statVisits[first + move] > arena.statVisits[first + best]) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    public static final class Builder {
+
+        final MoveGenerator moveGenerator;
+        RolloutPolicy rolloutPolicy;
+        ExpansionPolicy expansionPolicy;
+        Evaluator evaluator;
+        double exploration;
+        int rolloutDepth;
+        int maxPlayouts;
+        int capacity;
+        int statsCapacity;
+        SplittableRandom random;
+
+        private Builder(MoveGenerator moveGenerator) {
+            this.moveGenerator = moveGenerator;
+            this.rolloutPolicy = RolloutPolicy.uniform();
+            this.expansionPolicy = ExpansionPolicy.always();
+            this.evaluator = Evaluator.winnerOrScore();
+            this.exploration = DEFAULT_EXPLORATION;
+            this.rolloutDepth = DEFAULT_ROLLOUT_DEPTH;
+            this.maxPlayouts = Integer.MAX_VALUE;
+            this.capacity = DEFAULT_CAPACITY;
+            this.statsCapacity = 0;
+            this.random = new SplittableRandom();
+        }
+
+        public Builder withRolloutPolicy(RolloutPolicy rolloutPolicy) {
+            this.rolloutPolicy = rolloutPolicy;
+            return this;
+        }
+
+        public Builder withExpansionPolicy(ExpansionPolicy expansionPolicy) {
+            this.expansionPolicy = expansionPolicy;
+            return this;
+        }
+
+        public Builder withEvaluator(Evaluator evaluator) {
+            this.evaluator = evaluator;
+            return this;
+        }
+
+        /**
+         * UCB1 exploration constant, {@code sqrt(2)} by default
+         */
+        public Builder withExploration(double exploration) {
+            Preconditions.checkArgument(exploration >= 0, "Exploration must not be negative, but found %s",
+                    exploration);
+            this.exploration = exploration;
+            return this;
+        }
+
+        /**
+         * Maximum number of rounds played past the tree, 20 by default
+         */
+        public Builder withRolloutDepth(int rolloutDepth) {
+            Preconditions.checkArgument(rolloutDepth >= 0, "Rollout depth must not be negative, but found %s",
+                    rolloutDepth);
+            this.rolloutDepth = rolloutDepth;
+            return this;
+        }
+
+        /**
+         * Stops searches after {@code maxPlayouts} playouts even if the turn budget is not spent, which makes them
+         * reproducible. Unbounded by default.
+         */
+        public Builder withMaxPlayouts(int maxPlayouts) {
+            Preconditions.checkArgument(maxPlayouts > 0, "Max playouts must be positive, but found %s", maxPlayouts);
+            this.maxPlayouts = maxPlayouts;
+            return this;
+        }
+
+        /**
+         * Number of nodes of the arena, 65536 by default. Tree parallel searches also bound the statistics of their
+         * moves, see {@link #withStatsCapacity(int)}
+         */
+        public Builder withCapacity(int capacity) {
+            Preconditions.checkArgument(capacity > 0, "Capacity must be positive, but found %s", capacity);
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Number of move statistics of the arena shared by {@link ParallelMcts#tree tree parallel} searches, one per
+         * player move and one per opponent move of each node, 8 per node of the capacity by default. <br>
+         * The shared tree stops growing once they are used up, even below its node capacity, and a root with more
+         * moves cannot be searched at all, so engines with more moves per round should raise it. A single thread
+         * search grows its statistics as needed.
+         */
+        public Builder withStatsCapacity(int statsCapacity) {
+            Preconditions.checkArgument(statsCapacity > 0, "Stats capacity must be positive, but found %s",
+                    statsCapacity);
+            this.statsCapacity = statsCapacity;
+            return this;
+        }
+
+        /**
+         * @return the number of move statistics of a shared arena, see {@link #withStatsCapacity(int)}
+         */
+        int getStatsCapacity() {
+            if (statsCapacity > 0) {
+                return statsCapacity;
+            }
+            return (int) Math.min(Integer.MAX_VALUE, (long) capacity * DEFAULT_STATS_PER_NODE);
+        }
+
+        /**
+         * Source of the rollouts randomness, such as the one given to a seeded AI factory
+         */
+        public Builder withRandom(SplittableRandom random) {
+            this.random = random;
+            return this;
+        }
+
+        public Mcts build() {
+            return new Mcts(this);
+        }
+    }
+}
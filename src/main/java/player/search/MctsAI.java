@@ -0,0 +1,94 @@
+package player.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import player.Player.AI;
+import player.Player.Action;
+import player.Player.RepositoryUpdater;
+import player.Player.TurnBudget;
+import player.engine.GameEngine;
+import player.search.ParallelMcts.Parallelism;
+
+/**
+ * AI playing the moves found by a {@link Mcts} search from a forward model of the match, which subclasses keep in
+ * sync with the inputs they read. <br>
+ * The search runs on a single thread unless the configuration sets {@value #THREADS}, in which case it runs a
+ * {@link ParallelMcts} with the {@value #PARALLELISM} given by the configuration, {@code "root"} by default. A
+ * reference opponent can then use every core offline, while the contest bot keeps the default. <br>
+ * Parallel searches of all AIs share a single pool of daemon threads, which are created as concurrent searches need
+ * them and end once idle, so AIs built per match leave no thread behind.
+ */
+public abstract class MctsAI extends AI {
+
+    public static final String THREADS = "threads";
+    public static final String PARALLELISM = "parallelism";
+
+    private static final ExecutorService SEARCH_THREADS = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("mcts-%d")
+            .setDaemon(true)
+            .build());
+
+    @Nullable
+    private final Mcts search;
+    @Nullable
+    private final ParallelMcts parallelSearch;
+    private final List<GameEngine> forwardModels;
+
+    protected MctsAI(Map<String, Object> conf, RepositoryUpdater updater, Mcts.Builder search) {
+        super(conf, updater);
+
+        int threads = ((Number) conf.getOrDefault(THREADS, 1)).intValue();
+        if (threads == 1) {
+            this.search = search.build();
+            this.parallelSearch = null;
+        } else {
+            Parallelism parallelism = Parallelism.valueOf(
+                    conf.getOrDefault(PARALLELISM, "root").toString().toUpperCase());
+            this.search = null;
+            this.parallelSearch = ParallelMcts.of(search, parallelism, threads, SEARCH_THREADS);
+        }
+        this.forwardModels = new ArrayList<>(threads);
+    }
+
+    /**
+     * @param thread index of the search thread, each thread must be given its own engine
+     * @return an engine in the current match state, supporting snapshots
+     */
+    protected abstract GameEngine forwardModel(int thread);
+
+    /**
+     * Searches without time limit, so it requires a maximum number of playouts
+     */
+    @Override
+    public Action[] play() {
+        return play(TurnBudget.unlimited());
+    }
+
+    @Override
+    public Action[] play(TurnBudget budget) {
+        if (parallelSearch == null) {
+            return search.search(forwardModel(0), budget);
+        }
+
+        forwardModels.clear();
+        for (int thread = 0; thread < parallelSearch.getThreads(); thread++) {
+            forwardModels.add(forwardModel(thread));
+        }
+        return parallelSearch.search(forwardModels, budget);
+    }
+
+    /**
+     * @return the number of playouts of the last search, over all threads
+     */
+    public int getPlayouts() {
+        return parallelSearch == null ? search.getPlayouts() : parallelSearch.getPlayouts();
+    }
+}
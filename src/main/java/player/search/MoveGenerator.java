@@ -0,0 +1,32 @@
+package player.search;
+
+import player.Player.Action;
+import player.engine.GameEngine;
+
+/**
+ * Lists the moves of both sides in the current state of an on going match, a move being the actions of a turn. <br>
+ * Moves are identified by their index, so implementations can return the same action arrays over and over instead of
+ * allocating them during searches.
+ */
+public interface MoveGenerator {
+
+    /**
+     * @return the number of moves of the player, at least one
+     */
+    int playerMoves(GameEngine engine);
+
+    /**
+     * @return the number of moves of the opponent, at least one
+     */
+    int opponentMoves(GameEngine engine);
+
+    /**
+     * @return the actions of the player move {@code index}, where {@code 0 <= index < playerMoves(engine)}
+     */
+    Action[] playerMove(GameEngine engine, int index);
+
+    /**
+     * @return the actions of the opponent move {@code index}, where {@code 0 <= index < opponentMoves(engine)}
+     */
+    Action[] opponentMove(GameEngine engine, int index);
+}
@@ -0,0 +1,159 @@
+package player.search;
+
+import java.util.Arrays;
+
+/**
+ * Search tree stored as parallel arrays, a node being an index, so that growing the tree allocates nothing once the
+ * arena reached its working size. <br>
+ * Each node keeps decoupled statistics: one visit count and reward sum per player move, and per opponent move, in a
+ * shared pool. Children are created on demand for the pairs of moves actually played, and chained as siblings.
+ */
+final class NodeArena implements SearchTree {
+
+    private final int capacity;
+
+    final int[] visits;
+    final int[] playerMoves;
+    final int[] opponentMoves;
+    final int[] firstStat;
+    final int[] firstChild;
+    final int[] nextSibling;
+    final int[] jointMove;
+
+    int[] statVisits;
+    double[] statRewards;
+
+    private int size;
+    private int statsSize;
+
+    NodeArena(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, but found " + capacity);
+        }
+        this.capacity = capacity;
+        this.visits = new int[capacity];
+        this.playerMoves = new int[capacity];
+        this.opponentMoves = new int[capacity];
+        this.firstStat = new int[capacity];
+        this.firstChild = new int[capacity];
+        this.nextSibling = new int[capacity];
+        this.jointMove = new int[capacity];
+        this.statVisits = new int[capacity * 4];
+        this.statRewards = new double[capacity * 4];
+    }
+
+    void clear() {
+        size = 0;
+        statsSize = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Adds a node with no statistics nor children
+     *
+     * @param playerMoves number of player moves, zero for a finished match
+     * @param opponentMoves number of opponent moves, zero for a finished match
+     * @return the new node
+     */
+    int add(int playerMoves, int opponentMoves) {
+        int node = size++;
+        int stats = playerMoves + opponentMoves;
+        if (statsSize + stats > statVisits.length) {
+            int grown = Math.max(statsSize + stats, statVisits.length * 2);
+            statVisits = Arrays.copyOf(statVisits, grown);
+            statRewards = Arrays.copyOf(statRewards, grown);
+        }
+        Arrays.fill(statVisits, statsSize, statsSize + stats, 0);
+        Arrays.fill(statRewards, statsSize, statsSize + stats, 0.0);
+
+        this.visits[node] = 0;
+        this.playerMoves[node] = playerMoves;
+        this.opponentMoves[node] = opponentMoves;
+        this.firstStat[node] = statsSize;
+        this.firstChild[node] = NONE;
+        this.nextSibling[node] = NONE;
+        this.jointMove[node] = NONE;
+        statsSize += stats;
+        return node;
+    }
+
+    @Override
+    public int addChild(int parent, int jointMove, int playerMoves, int opponentMoves) {
+        int child = add(playerMoves, opponentMoves);
+        this.jointMove[child] = jointMove;
+        this.nextSibling[child] = firstChild[parent];
+        this.firstChild[parent] = child;
+        return child;
+    }
+
+    @Override
+    public int child(int node, int jointMove) {
+        int child = firstChild[node];
+        while (child != NONE && this.jointMove[child] != jointMove) {
+            child = nextSibling[child];
+        }
+        return child;
+    }
+
+    @Override
+    public int opponentStat(int node) {
+        return firstStat[node] + playerMoves[node];
+    }
+
+    @Override
+    public int getPlayerMoves(int node) {
+        return playerMoves[node];
+    }
+
+    @Override
+    public int getOpponentMoves(int node) {
+        return opponentMoves[node];
+    }
+
+    @Override
+    public int getFirstStat(int node) {
+        return firstStat[node];
+    }
+
+    @Override
+    public int getVisits(int node) {
+        return visits[node];
+    }
+
+    @Override
+    public int visit(int node) {
+        return visits[node]++;
+    }
+
+    @Override
+    public int getStatVisits(int stat) {
+        return statVisits[stat];
+    }
+
+    @Override
+    public double getStatReward(int stat) {
+        return statRewards[stat];
+    }
+
+    @Override
+    public void visitStat(int stat) {
+        statVisits[stat]++;
+    }
+
+    @Override
+    public void addReward(int stat, double reward) {
+        statRewards[stat] += reward;
+    }
+}
@@ -0,0 +1,252 @@
+package player.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Preconditions;
+
+import player.Player.Action;
+import player.Player.TurnBudget;
+import player.engine.GameEngine;
+
+/**
+ * {@link Mcts} searching on several threads, each one playing out on its own engine. <br>
+ * {@link Parallelism#ROOT} runs an independent search per thread and plays the player move with the most visits
+ * summed over all trees. {@link Parallelism#TREE} grows a single tree shared without locks, threads adding a virtual
+ * loss to the moves they select, that is, counting their visit before knowing its reward, so that concurrent
+ * playouts spread over different branches. <br>
+ * Move generators and policies are shared by all threads, so they must be thread safe. <br>
+ * Searches run on an executor owned by the caller, which can be shared by many searches but must run
+ * {@code threads} tasks at once, as each thread spends the whole turn budget.
+ */
+public final class ParallelMcts {
+
+    public enum Parallelism {
+        ROOT, TREE
+    }
+
+    private final Parallelism parallelism;
+    private final int threads;
+    private final ExecutorService executorService;
+
+    private final MoveGenerator moveGenerator;
+    private final Playout playout;
+    private final int maxPlayouts;
+
+    @Nullable
+    private final Mcts[] roots;
+    @Nullable
+    private final SharedNodeArena arena;
+    private final SplittableRandom[] randoms;
+    private final AtomicInteger playouts;
+    private int[] rootVisits;
+    private int nodes;
+
+    private ParallelMcts(
+            Mcts.Builder builder,
+            Parallelism parallelism,
+            int threads,
+            ExecutorService executorService) {
+
+        Preconditions.checkArgument(threads > 0, "Threads must be positive, but found %s", threads);
+
+        this.parallelism = parallelism;
+        this.threads = threads;
+        this.executorService = executorService;
+
+        this.moveGenerator = builder.moveGenerator;
+        this.playout = new Playout(builder);
+        this.maxPlayouts = builder.maxPlayouts;
+
+        this.randoms = new SplittableRandom[threads];
+        for (int i = 0; i < threads; i++) {
+            randoms[i] = builder.random.split();
+        }
+        if (parallelism == Parallelism.ROOT) {
+            this.roots = new Mcts[threads];
+            for (int i = 0; i < threads; i++) {
+                roots[i] = new Mcts(builder, randoms[i]);
+            }
+            this.arena = null;
+        } else {
+            this.roots = null;
+            this.arena = new SharedNodeArena(builder.capacity, builder.getStatsCapacity());
+        }
+        this.playouts = new AtomicInteger();
+        this.rootVisits = new int[0];
+    }
+
+    /**
+     * Runs an independent search per thread, from the same state, then merges their root statistics
+     */
+    public static ParallelMcts root(Mcts.Builder search, int threads, ExecutorService executorService) {
+        return new ParallelMcts(search, Parallelism.ROOT, threads, executorService);
+    }
+
+    /**
+     * Grows a single search tree from all threads
+     */
+    public static ParallelMcts tree(Mcts.Builder search, int threads, ExecutorService executorService) {
+        return new ParallelMcts(search, Parallelism.TREE, threads, executorService);
+    }
+
+    public static ParallelMcts of(
+            Mcts.Builder search,
+            Parallelism parallelism,
+            int threads,
+            ExecutorService executorService) {
+
+        return new ParallelMcts(search, parallelism, threads, executorService);
+    }
+
+    /**
+     * Searches the best player move until the budget is spent or the maximum number of playouts is reached, over all
+     * threads. Engines are left in the state they were given.
+     *
+     * @param engines one engine per thread, all in the same state and supporting snapshots
+     * @return the actions of the most visited player move
+     * @throws IllegalStateException if the moves of a shared tree root do not fit in its statistics, see
+     *         {@link Mcts.Builder#withStatsCapacity(int)}
+     */
+    public Action[] search(List<GameEngine> engines, TurnBudget budget) {
+        Preconditions.checkArgument(engines.size() == threads, "Expected %s engines, but found %s", threads,
+                engines.size());
+        for (GameEngine engine : engines) {
+            Preconditions.checkArgument(engine.supportsSnapshots(), "%s does not support snapshots",
+                    engine.getClass().getName());
+        }
+        Preconditions.checkState(maxPlayouts < Integer.MAX_VALUE || !budget.isUnlimited(),
+                "Unable to search without a budget nor a maximum number of playouts");
+
+        GameEngine first = engines.get(0);
+        int moves = moveGenerator.playerMoves(first);
+        playouts.set(0);
+        rootVisits = new int[moves];
+        if (moves == 1) {
+            nodes = 0;
+            return moveGenerator.playerMove(first, 0);
+        }
+
+        long remainingNanos = budget.remainingNanos();
+        boolean unlimited = budget.isUnlimited();
+        List<Callable<Void>> tasks = new ArrayList<>(threads);
+        if (parallelism == Parallelism.ROOT) {
+            int playoutsPerThread = Math.max(1, maxPlayouts == Integer.MAX_VALUE ? maxPlayouts : maxPlayouts / threads);
+            for (int i = 0; i < threads; i++) {
+                Mcts mcts = roots[i];
+                GameEngine engine = engines.get(i);
+                tasks.add(() -> {
+                    mcts.search(engine, threadBudget(unlimited, remainingNanos), playoutsPerThread);
+                    return null;
+                });
+            }
+        } else {
+            arena.clear();
+            arena.addRoot(moves, moveGenerator.opponentMoves(first));
+            for (int i = 0; i < threads; i++) {
+                GameEngine engine = engines.get(i);
+                SplittableRandom random = randoms[i];
+                tasks.add(() -> {
+                    searchSharedTree(engine, random, threadBudget(unlimited, remainingNanos));
+                    return null;
+                });
+            }
+        }
+        runAll(tasks);
+
+        if (parallelism == Parallelism.ROOT) {
+            nodes = 0;
+            for (Mcts mcts : roots) {
+                int[] visits = mcts.getRootVisits();
+                for (int move = 0; move < moves; move++) {
+                    rootVisits[move] += visits[move];
+                }
+                playouts.addAndGet(mcts.getPlayouts());
+                nodes += mcts.getNodes();
+            }
+        } else {
+            for (int move = 0; move < moves; move++) {
+                rootVisits[move] = arena.getStatVisits(arena.getFirstStat(0) + move);
+            }
+            nodes = arena.size();
+        }
+
+        int best = 0;
+        for (int move = 1; move < moves; move++) {
+            if (rootVisits[move] > rootVisits[best]) {
+                best = move;
+            }
+        }
+        return moveGenerator.playerMove(first, best);
+    }
+
+    public Parallelism getParallelism() {
+        return parallelism;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return the number of playouts of the last search, over all threads
+     */
+    public int getPlayouts() {
+        return playouts.get();
+    }
+
+    /**
+     * @return the number of nodes of the last search, over all trees
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the visits of each player move at the root of the last search, over all trees
+     */
+    public int[] getRootVisits() {
+        return Arrays.copyOf(rootVisits, rootVisits.length);
+    }
+
+    /**
+     * Each thread gets its own budget, as budgets are not thread safe
+     */
+    private static TurnBudget threadBudget(boolean unlimited, long remainingNanos) {
+        return unlimited ? TurnBudget.unlimited() : new TurnBudget(Math.max(1L, remainingNanos), TimeUnit.NANOSECONDS);
+    }
+
+    private void runAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executorService.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+    }
+
+    private void searchSharedTree(GameEngine engine, SplittableRandom random, TurnBudget budget) {
+        int[] path = new int[64];
+        int token = engine.snapshot();
+        while (!budget.shouldStop() && playouts.getAndIncrement() < maxPlayouts) {
+            path = playout.play(arena, 0, engine, random, path);
+            engine.restore(token);
+        }
+        engine.release(token);
+        playouts.updateAndGet((count) -> Math.min(count, maxPlayouts));
+    }
+}
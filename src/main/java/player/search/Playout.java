@@ -0,0 +1,133 @@
+package player.search;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import player.engine.GameEngine;
+import player.engine.Winner;
+
+/**
+ * A single {@link Mcts} playout over a {@link SearchTree}, shared by sequential and parallel searches: descends the
+ * tree with decoupled UCT, expands a new node according to the {@link ExpansionPolicy}, plays the
+ * {@link RolloutPolicy} up to the rollout depth and back propagates the {@link Evaluator} reward. <br>
+ * Visits are counted on the way down, so that threads sharing a tree see a virtual loss on the moves being played
+ * out. A single thread gets the same statistics as counting them on the way back. <br>
+ * It holds no state of its own, so threads can share it.
+ */
+final class Playout {
+
+    private final MoveGenerator moveGenerator;
+    private final RolloutPolicy rolloutPolicy;
+    private final ExpansionPolicy expansionPolicy;
+    private final Evaluator evaluator;
+    private final double exploration;
+    private final int rolloutDepth;
+
+    Playout(Mcts.Builder builder) {
+        this.moveGenerator = builder.moveGenerator;
+        this.rolloutPolicy = builder.rolloutPolicy;
+        this.expansionPolicy = builder.expansionPolicy;
+        this.evaluator = builder.evaluator;
+        this.exploration = builder.exploration;
+        this.rolloutDepth = builder.rolloutDepth;
+    }
+
+    /**
+     * Plays out from {@code root}, the engine being in the root state. It is left in the reached state.
+     *
+     * @param path room for the selected player and opponent statistics
+     * @return {@code path}, or a grown copy if it was too small
+     */
+    int[] play(SearchTree tree, int root, GameEngine engine, SplittableRandom random, int[] path) {
+        int[] selected = path;
+        int node = root;
+        int depth = 0;
+        double reward;
+
+        while (true) {
+            if (engine.getWinner() != Winner.ON_GOING) {
+                reward = evaluator.evaluate(engine);
+                break;
+            }
+
+            int playerMove = select(tree, node, tree.getFirstStat(node), tree.getPlayerMoves(node));
+            int opponentMove = select(tree, node, tree.opponentStat(node), tree.getOpponentMoves(node));
+            int playerStat = tree.getFirstStat(node) + playerMove;
+            int opponentStat = tree.opponentStat(node) + opponentMove;
+
+            int parentVisits = tree.visit(node);
+            tree.visitStat(playerStat);
+            tree.visitStat(opponentStat);
+
+            if (2 * depth + 2 > selected.length) {
+                selected = Arrays.copyOf(selected, Math.max(2 * depth + 2, selected.length * 2));
+            }
+            selected[2 * depth] = playerStat;
+            selected[2 * depth + 1] = opponentStat;
+            depth++;
+
+            engine.run(
+                    moveGenerator.playerMove(engine, playerMove),
+                    moveGenerator.opponentMove(engine, opponentMove));
+
+            int jointMove = playerMove * tree.getOpponentMoves(node) + opponentMove;
+            int child = tree.child(node, jointMove);
+            if (child == SearchTree.NONE) {
+                if (!tree.isFull() && expansionPolicy.shouldExpand(parentVisits, depth)) {
+                    expand(tree, engine, node, jointMove);
+                }
+                reward = rollout(engine, random);
+                break;
+            }
+            node = child;
+        }
+
+        for (int i = 0; i < depth; i++) {
+            tree.addReward(selected[2 * i], reward);
+            tree.addReward(selected[2 * i + 1], 1.0 - reward);
+        }
+        return selected;
+    }
+
+    private void expand(SearchTree tree, GameEngine engine, int parent, int jointMove) {
+        if (engine.getWinner() != Winner.ON_GOING) {
+            tree.addChild(parent, jointMove, 0, 0);
+            return;
+        }
+        tree.addChild(parent, jointMove, moveGenerator.playerMoves(engine), moveGenerator.opponentMoves(engine));
+    }
+
+    /**
+     * @return the move maximizing UCB1 among the {@code moves} statistics starting at {@code first}, unvisited moves
+     *         being tried first
+     */
+    private int select(SearchTree tree, int node, int first, int moves) {
+        double logVisits = Math.log(Math.max(1, tree.getVisits(node)));
+
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int move = 0; move < moves; move++) {
+            int n = tree.getStatVisits(first + move);
+            if (n == 0) {
+                return move;
+            }
+            double value = tree.getStatReward(first + move) / n + exploration * Math.sqrt(logVisits / n);
+            if (value > bestValue) {
+                bestValue = value;
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    private double rollout(GameEngine engine, SplittableRandom random) {
+        for (int depth = 0; depth < rolloutDepth && engine.getWinner() == Winner.ON_GOING; depth++) {
+            int playerMove = rolloutPolicy.choose(engine, true, moveGenerator.playerMoves(engine), random);
+            int opponentMove = rolloutPolicy.choose(engine, false, moveGenerator.opponentMoves(engine), random);
+            engine.run(
+                    moveGenerator.playerMove(engine, playerMove),
+                    moveGenerator.opponentMove(engine, opponentMove));
+        }
+        return evaluator.evaluate(engine);
+    }
+}
@@ -0,0 +1,25 @@
+package player.search;
+
+import java.util.SplittableRandom;
+
+import player.engine.GameEngine;
+
+/**
+ * Picks the moves played past the search tree, until the match ends or the rollout depth is reached
+ */
+@FunctionalInterface
+public interface RolloutPolicy {
+
+    /**
+     * @param player whether the move is picked for the player, or for the opponent
+     * @return the index of the move to play, within {@code [0, numberOfMoves)}
+     */
+    int choose(GameEngine engine, boolean player, int numberOfMoves, SplittableRandom random);
+
+    /**
+     * Plays uniformly random moves
+     */
+    static RolloutPolicy uniform() {
+        return (engine, player, numberOfMoves, random) -> random.nextInt(numberOfMoves);
+    }
+}
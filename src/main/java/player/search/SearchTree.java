@@ -0,0 +1,58 @@
+package player.search;
+
+/**
+ * Search tree walked by a {@link Playout}, a node being an index. <br>
+ * Each node keeps decoupled statistics, one visit count and reward sum per player move and per opponent move, see
+ * {@link NodeArena} for a single thread and {@link SharedNodeArena} for threads sharing the tree.
+ */
+interface SearchTree {
+
+    int NONE = -1;
+
+    boolean isFull();
+
+    int getPlayerMoves(int node);
+
+    int getOpponentMoves(int node);
+
+    /**
+     * @return the index of the first player move statistics of {@code node}
+     */
+    int getFirstStat(int node);
+
+    /**
+     * @return the index of the first opponent move statistics of {@code node}
+     */
+    int opponentStat(int node);
+
+    int getVisits(int node);
+
+    /**
+     * Counts a visit of {@code node}
+     *
+     * @return the number of visits before this one
+     */
+    int visit(int node);
+
+    int getStatVisits(int stat);
+
+    double getStatReward(int stat);
+
+    void visitStat(int stat);
+
+    void addReward(int stat, double reward);
+
+    /**
+     * @return the child reached from {@code node} by {@code jointMove}, {@link #NONE} if it was never expanded
+     */
+    int child(int node, int jointMove);
+
+    /**
+     * Adds a node reached from {@code parent} by the pair of moves {@code jointMove}
+     *
+     * @param playerMoves number of player moves, zero for a finished match
+     * @param opponentMoves number of opponent moves, zero for a finished match
+     * @return the child of {@code parent} reached by {@code jointMove}, {@link #NONE} if the tree is full
+     */
+    int addChild(int parent, int jointMove, int playerMoves, int opponentMoves);
+}
@@ -0,0 +1,199 @@
+package player.search;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link NodeArena} shared by the threads of a tree parallel search, without locks. <br>
+ * Statistics are atomic, rewards being summed in fixed point. Nodes and their statistics are reserved by bumping
+ * atomic counters, filled, and only then published by a compare and set on the parent children list, which makes
+ * their plain fields visible to the threads reaching them from the parent. Arrays have a fixed size, and a thread
+ * losing the race to expand a pair of moves leaves its reserved node unused.
+ */
+final class SharedNodeArena implements SearchTree {
+
+    static final double REWARD_SCALE = 1 << 20;
+
+    private final int capacity;
+    private final int statsCapacity;
+
+    final AtomicIntegerArray visits;
+    final int[] playerMoves;
+    final int[] opponentMoves;
+    final int[] firstStat;
+    final AtomicIntegerArray firstChild;
+    final int[] nextSibling;
+    final int[] jointMove;
+
+    final AtomicIntegerArray statVisits;
+    final AtomicLongArray statRewards;
+
+    private final AtomicInteger size;
+    private final AtomicInteger statsSize;
+
+    /**
+     * @param statsCapacity number of move statistics over all nodes
+     */
+    SharedNodeArena(int capacity, int statsCapacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, but found " + capacity);
+        }
+        this.capacity = capacity;
+        this.statsCapacity = statsCapacity;
+        this.visits = new AtomicIntegerArray(capacity);
+        this.playerMoves = new int[capacity];
+        this.opponentMoves = new int[capacity];
+        this.firstStat = new int[capacity];
+        this.firstChild = new AtomicIntegerArray(capacity);
+        this.nextSibling = new int[capacity];
+        this.jointMove = new int[capacity];
+        this.statVisits = new AtomicIntegerArray(statsCapacity);
+        this.statRewards = new AtomicLongArray(statsCapacity);
+        this.size = new AtomicInteger();
+        this.statsSize = new AtomicInteger();
+    }
+
+    /**
+     * Zeroes the statistics used by the last search, must not run concurrently with a search
+     */
+    void clear() {
+        int usedStats = Math.min(statsSize.get(), statsCapacity);
+        for (int i = 0; i < usedStats; i++) {
+            statVisits.set(i, 0);
+            statRewards.set(i, 0L);
+        }
+        size.set(0);
+        statsSize.set(0);
+    }
+
+    int size() {
+        return Math.min(size.get(), capacity);
+    }
+
+    @Override
+    public boolean isFull() {
+        return size.get() >= capacity || statsSize.get() >= statsCapacity;
+    }
+
+    /**
+     * Adds the root node, must not run concurrently with a search
+     */
+    int addRoot(int playerMoves, int opponentMoves) {
+        int root = reserve(playerMoves, opponentMoves);
+        if (root == NONE) {
+            throw new IllegalStateException(
+                    "Unable to fit " + (playerMoves + opponentMoves) + " moves in " + statsCapacity + " statistics");
+        }
+        return root;
+    }
+
+    /**
+     * Adds a node reached from {@code parent} by the pair of moves {@code jointMove}, unless the arena is full or
+     * another thread added it first, in which case that child is returned
+     */
+    @Override
+    public int addChild(int parent, int jointMove, int playerMoves, int opponentMoves) {
+        int child = reserve(playerMoves, opponentMoves);
+        if (child == NONE) {
+            return NONE;
+        }
+        this.jointMove[child] = jointMove;
+
+        while (true) {
+            int head = firstChild.get(parent);
+            int existing = find(head, jointMove);
+            if (existing != NONE) {
+                return existing;
+            }
+            nextSibling[child] = head;
+            if (firstChild.compareAndSet(parent, head, child)) {
+                return child;
+            }
+        }
+    }
+
+    @Override
+    public int child(int node, int jointMove) {
+        return find(firstChild.get(node), jointMove);
+    }
+
+    @Override
+    public int opponentStat(int node) {
+        return firstStat[node] + playerMoves[node];
+    }
+
+    @Override
+    public int getPlayerMoves(int node) {
+        return playerMoves[node];
+    }
+
+    @Override
+    public int getOpponentMoves(int node) {
+        return opponentMoves[node];
+    }
+
+    @Override
+    public int getFirstStat(int node) {
+        return firstStat[node];
+    }
+
+    @Override
+    public int getVisits(int node) {
+        return visits.get(node);
+    }
+
+    @Override
+    public int visit(int node) {
+        return visits.getAndIncrement(node);
+    }
+
+    @Override
+    public int getStatVisits(int stat) {
+        return statVisits.get(stat);
+    }
+
+    @Override
+    public double getStatReward(int stat) {
+        return statRewards.get(stat) / REWARD_SCALE;
+    }
+
+    @Override
+    public void visitStat(int stat) {
+        statVisits.incrementAndGet(stat);
+    }
+
+    @Override
+    public void addReward(int stat, double reward) {
+        statRewards.addAndGet(stat, Math.round(reward * REWARD_SCALE));
+    }
+
+    private int find(int child, int jointMove) {
+        int current = child;
+        while (current != NONE && this.jointMove[current] != jointMove) {
+            current = nextSibling[current];
+        }
+        return current;
+    }
+
+    private int reserve(int playerMoves, int opponentMoves) {
+        int node = size.getAndIncrement();
+        if (node >= capacity) {
+            return NONE;
+        }
+        int stats = playerMoves + opponentMoves;
+        int first = statsSize.getAndAdd(stats);
+        if (first + stats > statsCapacity) {
+            return NONE;
+        }
+
+        this.visits.set(node, 0);
+        this.playerMoves[node] = playerMoves;
+        this.opponentMoves[node] = opponentMoves;
+        this.firstStat[node] = first;
+        this.firstChild.set(node, NONE);
+        this.nextSibling[node] = NONE;
+        this.jointMove[node] = NONE;
+        return node;
+    }
+}
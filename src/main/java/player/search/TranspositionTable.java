@@ -0,0 +1,125 @@
+package player.search;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Fixed size table of search results keyed by state hash, stored in a single {@code long[]} so it allocates nothing
+ * once built. <br>
+ * An entry is two longs: the key xor the data, and the data. A reader only accepts an entry whose two words xor back
+ * to its key, so the table needs no lock even when shared by threads: a torn write is seen as a miss. <br>
+ * Keys are open addressed within a bucket of {@value #BUCKET} entries, a new result replacing the same key, else an
+ * empty entry, else the shallowest one.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    /**
+     * Returned by {@link #probe(long)} for unknown keys, no stored data is equal to it as bounds are never zero
+     */
+    public static final long MISS = 0L;
+
+    private static final int BUCKET = 4;
+    private static final int MOVE_BITS = 16;
+    private static final int DEPTH_BITS = 8;
+    private static final int BOUND_BITS = 2;
+
+    private final long[] entries;
+    private final int mask;
+
+    /**
+     * @param log2Entries base 2 logarithm of the number of entries, each one taking 16 bytes
+     */
+    public TranspositionTable(int log2Entries) {
+        Preconditions.checkArgument(log2Entries >= 2 && log2Entries <= 28, "Unsupported table size 2^%s",
+                log2Entries);
+        this.entries = new long[2 << log2Entries];
+        this.mask = (1 << log2Entries) - 1;
+    }
+
+    /**
+     * @return the data stored for {@code key}, {@link #MISS} if none
+     */
+    public long probe(long key) {
+        int bucket = bucket(key);
+        for (int i = 0; i < BUCKET; i++) {
+            int entry = 2 * ((bucket + i) & mask);
+            long data = entries[entry + 1];
+            if (data != MISS && (entries[entry] ^ data) == key) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * @param depth remaining depth the score was searched at, within {@code [0, 255]}
+     * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @param move index of the best move found, within {@code [0, 65535]}
+     */
+    public void store(long key, int score, int depth, int bound, int move) {
+        long data = pack(score, depth, bound, move);
+        int bucket = bucket(key);
+
+        int replaced = 2 * bucket;
+        int replacedDepth = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET; i++) {
+            int entry = 2 * ((bucket + i) & mask);
+            long stored = entries[entry + 1];
+            if (stored == MISS || (entries[entry] ^ stored) == key) {
+                replaced = entry;
+                break;
+            }
+            if (depth(stored) < replacedDepth) {
+                replacedDepth = depth(stored);
+                replaced = entry;
+            }
+        }
+        entries[replaced] = key ^ data;
+        entries[replaced + 1] = data;
+    }
+
+    public void clear() {
+        Arrays.fill(entries, 0L);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public static int score(long data) {
+        return (int) (data >> 32);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> (BOUND_BITS + MOVE_BITS)) & ((1 << DEPTH_BITS) - 1);
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> MOVE_BITS) & ((1 << BOUND_BITS) - 1);
+    }
+
+    public static int move(long data) {
+        return (int) data & ((1 << MOVE_BITS) - 1);
+    }
+
+    private static long pack(int score, int depth, int bound, int move) {
+        if (depth < 0 || depth >= 1 << DEPTH_BITS || bound < EXACT || bound > UPPER_BOUND || move < 0
+                || move >= 1 << MOVE_BITS) {
+            throw new IllegalArgumentException(
+                    "Unable to store depth " + depth + ", bound " + bound + " and move " + move);
+        }
+        return ((long) score << 32)
+                | ((long) depth << (BOUND_BITS + MOVE_BITS))
+                | ((long) bound << MOVE_BITS)
+                | move;
+    }
+
+    private int bucket(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
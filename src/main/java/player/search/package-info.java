@@ -0,0 +1,7 @@
+/**
+ * Reusable search algorithms, using a {@link player.engine.GameEngine} that supports snapshots as forward model.
+ */
+@ParametersAreNonnullByDefault
+package player.search;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,98 @@
+package player.tuning;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * A numeric entry of an AI configuration, searched within {@code [min, max]}. <br>
+ * Integer parameters are searched as real numbers and rounded when put in a configuration.
+ */
+public final class Parameter {
+
+    private final String name;
+    private final double min;
+    private final double max;
+    private final double initial;
+    private final boolean integer;
+
+    private Parameter(String name, double min, double max, double initial, boolean integer) {
+        Preconditions.checkArgument(min < max, "Empty range [%s, %s] for %s", min, max, name);
+        Preconditions.checkArgument(
+                initial >= min && initial <= max,
+                "Initial value %s of %s is out of [%s, %s]",
+                initial, name, min, max);
+
+        this.name = name;
+        this.min = min;
+        this.max = max;
+        this.initial = initial;
+        this.integer = integer;
+    }
+
+    public static Parameter integer(String name, int min, int max, int initial) {
+        return new Parameter(name, min, max, initial, true);
+    }
+
+    public static Parameter real(String name, double min, double max, double initial) {
+        return new Parameter(name, min, max, initial, false);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getInitial() {
+        return initial;
+    }
+
+    public boolean isInteger() {
+        return integer;
+    }
+
+    /**
+     * @return the configuration value for {@code value}, an {@code Integer} or a {@code Double}
+     */
+    Object toConf(double value) {
+        if (integer) {
+            return (int) Math.round(value);
+        }
+        return value;
+    }
+
+    /**
+     * @return the position of {@code value} in the range, from 0 to 1
+     */
+    double normalize(double value) {
+        return (value - min) / (max - min);
+    }
+
+    double denormalize(double position) {
+        return min + position * (max - min);
+    }
+
+    /**
+     * @return the smallest perturbation, in normalized units, that changes the configuration value
+     */
+    double resolution() {
+        return integer ? 1.0 / (max - min) : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("name", name)
+                .add("min", min)
+                .add("max", max)
+                .add("initial", initial)
+                .add("integer", integer)
+                .toString();
+    }
+}
@@ -0,0 +1,427 @@
+package player.tuning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import player.game.Game;
+import player.game.Game.GameResult;
+import player.game.ProgressListener;
+import player.match.MatchResultCache;
+import player.match.SeededAIFactory;
+import player.match.SeededGameEngineFactory;
+import player.match.Seeds;
+
+/**
+ * Tunes the numeric parameters of an AI configuration by self-play, with simultaneous perturbation stochastic
+ * approximation (SPSA). <br>
+ * Each iteration draws a random direction over all parameters at once, and plays a game between the configuration
+ * moved forward and the one moved backward along it. The score of the game estimates the slope along that
+ * direction, so every parameter moves after a single game, whatever their number. Several directions are played in
+ * parallel per iteration and averaged. <br>
+ * Parameters are searched in normalized units, where their whole range spans 1. Steps and perturbations shrink over
+ * iterations with the usual SPSA gains: {@code a / (k + 1 + A)^0.602} and {@code c / (k + 1)^0.101}, {@code A} being
+ * a tenth of the iterations. <br>
+ * Games are seeded from the tuner seed, the iteration and the direction, so a tuning run is reproducible and, with a
+ * result cache, an interrupted run replays its last iteration from the cache.
+ */
+public final class Tuner implements Callable<Tuner.TuningResult> {
+
+    private static final int DEFAULT_ITERATIONS = 100;
+    private static final int DEFAULT_PERTURBATIONS = 4;
+    private static final int DEFAULT_NUMBER_OF_MATCHES = 10;
+    private static final double DEFAULT_LEARNING_RATE = 0.02;
+    private static final double DEFAULT_PERTURBATION_SIZE = 0.1;
+
+    private static final String SEED_KEY = "seed";
+    private static final String ITERATION_KEY = "iteration";
+
+    private final Function<Map<String, Object>, SeededAIFactory> ai;
+    private final List<Parameter> parameters;
+    private final SeededGameEngineFactory gameEngine;
+    private final ExecutorService gameExecutorService;
+    private final ExecutorService matchExecutorService;
+    private final int iterations;
+    private final int perturbations;
+    private final int numberOfMatches;
+    private final double learningRate;
+    private final double perturbationSize;
+    private final long seed;
+    @Nullable
+    private final MatchResultCache cache;
+    @Nullable
+    private final Path checkpoint;
+    private final ProgressListener<TuningResult> progressListener;
+
+    private Tuner(Builder builder) {
+        this.ai = builder.ai;
+        this.parameters = builder.parameters;
+        this.gameEngine = builder.gameEngine;
+        this.gameExecutorService = builder.gameExecutorService;
+        this.matchExecutorService = builder.matchExecutorService;
+        this.iterations = builder.iterations;
+        this.perturbations = builder.perturbations;
+        this.numberOfMatches = builder.numberOfMatches;
+        this.learningRate = builder.learningRate;
+        this.perturbationSize = builder.perturbationSize;
+        this.seed = builder.seed;
+        this.cache = builder.cache;
+        this.checkpoint = builder.checkpoint;
+        this.progressListener = builder.progressListener;
+    }
+
+    /**
+     * @param ai builds the AIs to tune from their configuration
+     * @param parameters the configuration entries to tune
+     */
+    public static Builder newBuilder(
+            Function<Map<String, Object>, SeededAIFactory> ai,
+            List<Parameter> parameters,
+            SeededGameEngineFactory gameEngine,
+            ExecutorService gameExecutorService,
+            ExecutorService matchExecutorService) {
+
+        return new Builder(ai, parameters, gameEngine, gameExecutorService, matchExecutorService);
+    }
+
+    /**
+     * Resumes from the checkpoint if there is one, its seed then replaces the tuner seed
+     */
+    @Override
+    public TuningResult call() throws InterruptedException, ExecutionException {
+        double[] position = new double[parameters.size()];
+        for (int i = 0; i < position.length; i++) {
+            position[i] = parameters.get(i).normalize(parameters.get(i).getInitial());
+        }
+
+        long seed = this.seed;
+        int iteration = 0;
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            Properties properties = load(checkpoint);
+            seed = Long.parseLong(properties.getProperty(SEED_KEY));
+            iteration = Integer.parseInt(properties.getProperty(ITERATION_KEY));
+            for (int i = 0; i < position.length; i++) {
+                String value = properties.getProperty(parameters.get(i).getName());
+                if (value != null) {
+                    position[i] = parameters.get(i).normalize(Double.parseDouble(value));
+                }
+            }
+        }
+
+        TuningResult result = result(position, iteration);
+        for (; iteration < iterations; iteration++) {
+            step(Seeds.derive(seed, iteration), iteration, position);
+
+            result = result(position, iteration + 1);
+            if (checkpoint != null) {
+                save(checkpoint, seed, result);
+            }
+            progressListener.onProgress(result, iteration + 1, iterations);
+        }
+        return result;
+    }
+
+    private void step(long iterationSeed, int iteration, double[] position)
+            throws InterruptedException, ExecutionException {
+
+        double stepGain = learningRate / Math.pow(iteration + 1 + iterations / 10.0, 0.602);
+        double perturbationGain = perturbationSize / Math.pow(iteration + 1, 0.101);
+
+        double[] sizes = new double[position.length];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = Math.max(perturbationGain, parameters.get(i).resolution());
+        }
+
+        List<double[]> directions = new ArrayList<>(perturbations);
+        List<Game> games = new ArrayList<>(perturbations);
+        for (int p = 0; p < perturbations; p++) {
+            long gameSeed = Seeds.derive(iterationSeed, p);
+            SplittableRandom random = new SplittableRandom(gameSeed);
+
+            double[] direction = new double[position.length];
+            double[] forward = new double[position.length];
+            double[] backward = new double[position.length];
+            for (int i = 0; i < position.length; i++) {
+                direction[i] = random.nextBoolean() ? 1.0 : -1.0;
+                forward[i] = clamp(position[i] + sizes[i] * direction[i]);
+                backward[i] = clamp(position[i] - sizes[i] * direction[i]);
+            }
+
+            Game.Builder game = Game.newSeededBuilder(
+                    ai.apply(conf(forward)),
+                    ai.apply(conf(backward)),
+                    gameEngine,
+                    matchExecutorService)
+                    .withNumberOfMatches(numberOfMatches)
+                    .withMatchResultsRetained(false)
+                    .withSeed(gameSeed);
+            if (cache != null) {
+                game.withResultCache(cache);
+            }
+
+            directions.add(direction);
+            games.add(game.build());
+        }
+
+        double[] gradient = new double[position.length];
+        List<Future<GameResult>> futures = gameExecutorService.invokeAll(games);
+        for (int p = 0; p < perturbations; p++) {
+            GameResult result = futures.get(p).get();
+            double score = (double) (result.getPlayerVictoryCount() - result.getOpponentVictoryCount())
+                    / result.getNumberOfMatches();
+            for (int i = 0; i < gradient.length; i++) {
+                gradient[i] += score * directions.get(p)[i] / sizes[i];
+            }
+        }
+
+        for (int i = 0; i < position.length; i++) {
+            position[i] = clamp(position[i] + stepGain * gradient[i] / perturbations);
+        }
+    }
+
+    private static double clamp(double position) {
+        return Math.max(0.0, Math.min(1.0, position));
+    }
+
+    private Map<String, Object> conf(double[] position) {
+        Map<String, Object> conf = new LinkedHashMap<>();
+        for (int i = 0; i < position.length; i++) {
+            Parameter parameter = parameters.get(i);
+            conf.put(parameter.getName(), parameter.toConf(parameter.denormalize(position[i])));
+        }
+        return conf;
+    }
+
+    private TuningResult result(double[] position, int iteration) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (int i = 0; i < position.length; i++) {
+            values.put(parameters.get(i).getName(), parameters.get(i).denormalize(position[i]));
+        }
+        return new TuningResult(conf(position), values, iteration);
+    }
+
+    private static Properties load(Path checkpoint) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(checkpoint)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return properties;
+    }
+
+    /**
+     * Writes the checkpoint aside first, so that a crash never leaves a partial checkpoint behind
+     */
+    private static void save(Path checkpoint, long seed, TuningResult result) {
+        Properties properties = new Properties();
+        properties.setProperty(SEED_KEY, Long.toString(seed));
+        properties.setProperty(ITERATION_KEY, Integer.toString(result.getIterations()));
+        for (Map.Entry<String, Double> value : result.getValues().entrySet()) {
+            properties.setProperty(value.getKey(), Double.toString(value.getValue()));
+        }
+
+        Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                properties.store(out, "Tuner checkpoint");
+            }
+            Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static final class Builder {
+
+        private final Function<Map<String, Object>, SeededAIFactory> ai;
+        private final List<Parameter> parameters;
+        private final SeededGameEngineFactory gameEngine;
+        private final ExecutorService gameExecutorService;
+        private final ExecutorService matchExecutorService;
+        private int iterations;
+        private int perturbations;
+        private int numberOfMatches;
+        private double learningRate;
+        private double perturbationSize;
+        private long seed;
+        private boolean seeded;
+        @Nullable
+        private MatchResultCache cache;
+        @Nullable
+        private Path checkpoint;
+        private ProgressListener<TuningResult> progressListener;
+
+        private Builder(
+                Function<Map<String, Object>, SeededAIFactory> ai,
+                List<Parameter> parameters,
+                SeededGameEngineFactory gameEngine,
+                ExecutorService gameExecutorService,
+                ExecutorService matchExecutorService) {
+
+            Preconditions.checkArgument(!parameters.isEmpty(), "No parameter to tune");
+
+            this.ai = ai;
+            this.parameters = parameters;
+            this.gameEngine = gameEngine;
+            this.gameExecutorService = gameExecutorService;
+            this.matchExecutorService = matchExecutorService;
+            this.iterations = DEFAULT_ITERATIONS;
+            this.perturbations = DEFAULT_PERTURBATIONS;
+            this.numberOfMatches = DEFAULT_NUMBER_OF_MATCHES;
+            this.learningRate = DEFAULT_LEARNING_RATE;
+            this.perturbationSize = DEFAULT_PERTURBATION_SIZE;
+            this.seed = Seeds.random();
+            this.seeded = false;
+            this.cache = null;
+            this.checkpoint = null;
+            this.progressListener = ProgressListener.noOp();
+        }
+
+        public Builder withIterations(int iterations) {
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Number of directions played in parallel at each iteration, one game each
+         */
+        public Builder withPerturbations(int perturbations) {
+            Preconditions.checkArgument(perturbations > 0, "Perturbations must be positive, but found %s",
+                    perturbations);
+            this.perturbations = perturbations;
+            return this;
+        }
+
+        /**
+         * Number of matches of each game, the more the less noisy the slope estimates
+         */
+        public Builder withNumberOfMatches(int numberOfMatches) {
+            Preconditions.checkArgument(numberOfMatches > 0, "Number of matches must be positive, but found %s",
+                    numberOfMatches);
+            this.numberOfMatches = numberOfMatches;
+            return this;
+        }
+
+        /**
+         * Step gain {@code a}, in normalized units per unit of score
+         */
+        public Builder withLearningRate(double learningRate) {
+            this.learningRate = learningRate;
+            return this;
+        }
+
+        /**
+         * Perturbation gain {@code c}, in normalized units. Integer parameters are always moved by at least 1.
+         */
+        public Builder withPerturbationSize(double perturbationSize) {
+            this.perturbationSize = perturbationSize;
+            return this;
+        }
+
+        /**
+         * Derives the seed of each game from {@code seed}, the iteration and the direction, a random seed is used by
+         * default
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            this.seeded = true;
+            return this;
+        }
+
+        /**
+         * Only plays the matches missing from {@code cache}. It requires a seed, see {@link MatchResultCache}
+         */
+        public Builder withResultCache(MatchResultCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Saves the parameters to {@code checkpoint} after each iteration, as {@link Properties}, and resumes from it
+         * when it exists
+         */
+        public Builder withCheckpoint(Path checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        /**
+         * Notified with the parameters after each iteration
+         */
+        public Builder withProgressListener(ProgressListener<TuningResult> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        public Tuner build() {
+            Preconditions.checkState(
+                    cache == null || seeded,
+                    "Unable to look up matches played with a random seed, set one");
+            return new Tuner(this);
+        }
+    }
+
+    public static final class TuningResult {
+
+        private final Map<String, Object> conf;
+        private final Map<String, Double> values;
+        private final int iterations;
+
+        private TuningResult(Map<String, Object> conf, Map<String, Double> values, int iterations) {
+            this.conf = Collections.unmodifiableMap(conf);
+            this.values = Collections.unmodifiableMap(values);
+            this.iterations = iterations;
+        }
+
+        /**
+         * @return the tuned configuration, integer parameters rounded
+         */
+        public Map<String, Object> getConf() {
+            return conf;
+        }
+
+        /**
+         * @return the tuned parameters, as searched
+         */
+        public Map<String, Double> getValues() {
+            return values;
+        }
+
+        /**
+         * @return the number of iterations run so far, including the ones of a resumed checkpoint
+         */
+        public int getIterations() {
+            return iterations;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("conf", conf)
+                    .add("iterations", iterations)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Searches the configuration space of an AI by self-play.
+ */
+@ParametersAreNonnullByDefault
+package player.tuning;
+
+import javax.annotation.ParametersAreNonnullByDefault;
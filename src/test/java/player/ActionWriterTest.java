@@ -0,0 +1,138 @@
+package player;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import player.Player.Action;
+import player.Player.ActionWriter;
+
+@DisplayName("An action writer")
+class ActionWriterTest implements WithAssertions {
+
+    @Test
+    @DisplayName("writes one action per line")
+    void writesOneActionPerLine() {
+        CountingOutputStream out = new CountingOutputStream();
+        ActionWriter writer = new ActionWriter(out);
+
+        writer.write(new Action[] { new CommandAction("MOVE 1 2"), new CommandAction("WAIT") });
+
+        assertThat(out.asString()).isEqualTo("MOVE 1 2\nWAIT\n");
+    }
+
+    @Test
+    @DisplayName("writes and flushes only once per turn")
+    void flushesOncePerTurn() {
+        CountingOutputStream out = new CountingOutputStream();
+        ActionWriter writer = new ActionWriter(out);
+
+        writer.write(new Action[] { new CommandAction("A"), new CommandAction("B"), new CommandAction("C") });
+        writer.write(new Action[] { new CommandAction("D") });
+
+        assertThat(out.writeCount).isEqualTo(2);
+        assertThat(out.flushCount).isEqualTo(2);
+        assertThat(out.asString()).isEqualTo("A\nB\nC\nD\n");
+    }
+
+    @Test
+    @DisplayName("uses actions own encoding when available")
+    void usesActionEncoding() {
+        CountingOutputStream out = new CountingOutputStream();
+        ActionWriter writer = new ActionWriter(out);
+
+        writer.write(new Action[] { new MoveAction(3, -4) });
+
+        assertThat(out.asString()).isEqualTo("MOVE 3 -4\n");
+    }
+
+    @Test
+    @DisplayName("encodes non ASCII messages as UTF-8")
+    void encodesUtf8() {
+        CountingOutputStream out = new CountingOutputStream();
+        ActionWriter writer = new ActionWriter(out);
+
+        writer.write(new Action[] { new CommandAction("WAIT olá → 😀") });
+
+        assertThat(out.asString()).isEqualTo("WAIT olá → 😀\n");
+    }
+
+    @Test
+    @DisplayName("grows its buffer for long turns")
+    void growsBuffer() {
+        CountingOutputStream out = new CountingOutputStream();
+        ActionWriter writer = new ActionWriter(out);
+
+        StringBuilder expected = new StringBuilder();
+        Action[] actions = new Action[500];
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = new MoveAction(i, i);
+            expected.append("MOVE ").append(i).append(' ').append(i).append('\n');
+        }
+
+        writer.write(actions);
+
+        assertThat(out.asString()).isEqualTo(expected.toString());
+    }
+
+    private static final class CommandAction extends Action {
+
+        private final String command;
+
+        CommandAction(String command) {
+            this.command = command;
+        }
+
+        @Override
+        public String asString() {
+            return command;
+        }
+    }
+
+    private static final class MoveAction extends Action {
+
+        private final int x;
+        private final int y;
+
+        MoveAction(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public String asString() {
+            throw new UnsupportedOperationException("Should not build a string");
+        }
+
+        @Override
+        public void writeTo(Appendable out) throws IOException {
+            out.append("MOVE ").append(Integer.toString(x)).append(' ').append(Integer.toString(y));
+        }
+    }
+
+    private static final class CountingOutputStream extends ByteArrayOutputStream {
+
+        private int writeCount;
+        private int flushCount;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writeCount++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushCount++;
+            super.flush();
+        }
+
+        String asString() {
+            return new String(toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package player;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import player.Player.FastIntReader;
+
+@DisplayName("A fast int reader")
+class FastIntReaderTest implements WithAssertions {
+
+    @Test
+    @DisplayName("reads whitespace separated ints")
+    void readsInts() {
+        FastIntReader reader = readerOf("1 -2\n  30\r\n\t-400 0");
+
+        assertThat(reader.nextInt()).isEqualTo(1);
+        assertThat(reader.nextInt()).isEqualTo(-2);
+        assertThat(reader.nextInt()).isEqualTo(30);
+        assertThat(reader.nextInt()).isEqualTo(-400);
+        assertThat(reader.getAsInt()).isEqualTo(0);
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("reads longs")
+    void readsLongs() {
+        FastIntReader reader = readerOf("9876543210 -9876543210");
+
+        assertThat(reader.nextLong()).isEqualTo(9876543210L);
+        assertThat(reader.nextLong()).isEqualTo(-9876543210L);
+    }
+
+    @Test
+    @DisplayName("reads values spanning multiple buffer fills")
+    void readsAcrossBufferBoundaries() {
+        FastIntReader reader = new FastIntReader(streamOf("12345 67890 -13579"), 4);
+
+        assertThat(reader.nextInt()).isEqualTo(12345);
+        assertThat(reader.nextInt()).isEqualTo(67890);
+        assertThat(reader.nextInt()).isEqualTo(-13579);
+    }
+
+    @Test
+    @DisplayName("throws IME when next value is not a number")
+    void throwsIMEOnNonNumbers() {
+        FastIntReader reader = readerOf("MOVE");
+
+        assertThatExceptionOfType(InputMismatchException.class)
+                .isThrownBy(reader::nextInt);
+    }
+
+    @Test
+    @DisplayName("throws NSEE when the stream is over")
+    void throwsNSEEOnEndOfStream() {
+        FastIntReader reader = readerOf("  \n");
+
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(reader::nextInt);
+    }
+
+    @Nested
+    @DisplayName("when reading text")
+    class Text {
+
+        @Test
+        @DisplayName("reads tokens into the provided buffer")
+        void readsTokens() {
+            FastIntReader reader = readerOf("MOVE 3 WAIT");
+            char[] token = new char[8];
+
+            int length = reader.nextToken(token);
+            assertThat(new String(token, 0, length)).isEqualTo("MOVE");
+            assertThat(reader.nextInt()).isEqualTo(3);
+
+            length = reader.nextToken(token);
+            assertThat(new String(token, 0, length)).isEqualTo("WAIT");
+        }
+
+        @Test
+        @DisplayName("reads the remaining of a line just like a scanner")
+        void readsLines() {
+            FastIntReader reader = readerOf("3\r\nhello world\n\nlast");
+            char[] line = new char[16];
+
+            assertThat(reader.nextInt()).isEqualTo(3);
+            assertThat(reader.nextLine(line)).isEqualTo(0);
+
+            int length = reader.nextLine(line);
+            assertThat(new String(line, 0, length)).isEqualTo("hello world");
+
+            assertThat(reader.nextLine(line)).isEqualTo(0);
+
+            length = reader.nextLine(line);
+            assertThat(new String(line, 0, length)).isEqualTo("last");
+
+            assertThat(reader.nextLine(line)).isEqualTo(-1);
+        }
+
+        @Test
+        @DisplayName("throws IAE when the token does not fit into the buffer")
+        void throwsIAEOnSmallBuffer() {
+            FastIntReader reader = readerOf("MOVE");
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> reader.nextToken(new char[2]));
+        }
+    }
+
+    private static FastIntReader readerOf(String input) {
+        return new FastIntReader(streamOf(input));
+    }
+
+    private static InputStream streamOf(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -2,6 +2,7 @@ package player;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.SplittableRandom;
 
 import org.mockito.Mockito;
 
@@ -32,6 +33,15 @@ public final class MockedAI {
                 .build();
     }
 
+    /**
+     * @return an AI that can be reset and reused by another match
+     */
+    public static AI anyResettable() {
+        return newBuilder()
+                .withReset(true)
+                .build();
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -40,10 +50,12 @@ public final class MockedAI {
 
         private Map<String, Object> conf;
         private Action[] actions;
+        private boolean resettable;
 
         private Builder() {
             this.conf = Collections.emptyMap();
             this.actions = new Action[] { Mockito.mock(Action.class) };
+            this.resettable = false;
         }
 
         public Builder withConf(Map<String, Object> conf) {
@@ -56,18 +68,25 @@ public final class MockedAI {
             return this;
         }
 
+        public Builder withReset(boolean resettable) {
+            this.resettable = resettable;
+            return this;
+        }
+
         AI build() {
-            return new MockedArtificialIntelligence(conf, actions);
+            return new MockedArtificialIntelligence(conf, actions, resettable);
         }
     }
 
     private static class MockedArtificialIntelligence extends AI {
 
         private final Action[] actions;
+        private final boolean resettable;
 
-        private MockedArtificialIntelligence(Map<String, Object> conf, Action[] actions) {
+        private MockedArtificialIntelligence(Map<String, Object> conf, Action[] actions, boolean resettable) {
             super(conf, MockedArtificialIntelligence::noOp);
             this.actions = actions;
+            this.resettable = resettable;
         }
 
         @Override
@@ -75,6 +94,11 @@ public final class MockedAI {
             return actions;
         }
 
+        @Override
+        public boolean reset(SplittableRandom random) {
+            return resettable;
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this)
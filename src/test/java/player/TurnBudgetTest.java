@@ -0,0 +1,178 @@
+package player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import player.Player.Action;
+import player.Player.TurnBudget;
+
+@DisplayName("A turn budget")
+class TurnBudgetTest implements WithAssertions {
+
+    @Test
+    @DisplayName("is not expired right after the turn starts")
+    void notExpiredOnStart() {
+        TurnBudget budget = new TurnBudget(1, TimeUnit.HOURS);
+        budget.startTurn();
+
+        assertThat(budget.isExpired()).isFalse();
+        assertThat(budget.shouldStop()).isFalse();
+        assertThat(budget.remainingNanos()).isGreaterThan(0L);
+    }
+
+    @Test
+    @DisplayName("expires once the budget is spent")
+    void expiresAfterBudget() throws InterruptedException {
+        TurnBudget budget = new TurnBudget(1, TimeUnit.MILLISECONDS);
+        budget.startTurn();
+
+        Thread.sleep(5);
+
+        assertThat(budget.isExpired()).isTrue();
+        assertThat(budget.remainingNanos()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("eventually tells tight loops to stop")
+    void shouldStopEventually() throws InterruptedException {
+        TurnBudget budget = new TurnBudget(1, TimeUnit.MILLISECONDS);
+        budget.startTurn();
+
+        Thread.sleep(5);
+
+        int iterations = 0;
+        while (!budget.shouldStop()) {
+            iterations++;
+        }
+
+        assertThat(iterations).isLessThan(64);
+        assertThat(budget.shouldStop()).isTrue();
+    }
+
+    @Test
+    @DisplayName("never expires when unlimited")
+    void unlimitedNeverExpires() throws InterruptedException {
+        TurnBudget budget = TurnBudget.unlimited();
+        budget.startTurn();
+
+        Thread.sleep(2);
+
+        assertThat(budget.isExpired()).isFalse();
+        assertThat(budget.remainingNanos()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Nested
+    @DisplayName("records")
+    class Statistics {
+
+        @Test
+        @DisplayName("the number of turns and their latency")
+        void turnsLatency() throws InterruptedException {
+            TurnBudget budget = new TurnBudget(1, TimeUnit.HOURS);
+
+            budget.startTurn();
+            Thread.sleep(2);
+            long first = budget.endTurn();
+
+            budget.startTurn();
+            long second = budget.endTurn();
+
+            assertThat(budget.getTurns()).isEqualTo(2);
+            assertThat(budget.getLastNanos()).isEqualTo(second);
+            assertThat(budget.getMaxNanos()).isEqualTo(Math.max(first, second));
+            assertThat(budget.getAverageNanos()).isEqualTo((first + second) / 2.0);
+            assertThat(budget.getOverruns()).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("the turns that exceeded the budget")
+        void overruns() throws InterruptedException {
+            TurnBudget budget = new TurnBudget(1, TimeUnit.MILLISECONDS);
+
+            budget.startTurn();
+            Thread.sleep(5);
+            budget.endTurn();
+
+            assertThat(budget.getOverruns()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("when iteratively deepening a search")
+    class IterativeDeepening {
+
+        @Test
+        @DisplayName("returns the deepest complete search")
+        void returnsDeepestCompleteSearch() {
+            TurnBudget budget = new TurnBudget(1, TimeUnit.HOURS);
+            budget.startTurn();
+
+            List<Integer> depths = new ArrayList<>();
+            Action[] best = budget.iterativeDeepening((depth, b) -> {
+                depths.add(depth);
+                return depth == 3 ? null : actions(depth);
+            }, 10);
+
+            assertThat(depths).containsExactly(1, 2, 3);
+            assertThat(best).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("does not go beyond the maximum depth")
+        void stopsAtMaxDepth() {
+            TurnBudget budget = new TurnBudget(1, TimeUnit.HOURS);
+            budget.startTurn();
+
+            Action[] best = budget.iterativeDeepening((depth, b) -> actions(depth), 4);
+
+            assertThat(best).hasSize(4);
+        }
+
+        @Test
+        @DisplayName("does not start a new depth when the budget is over")
+        void stopsWhenExpired() {
+            TurnBudget budget = new TurnBudget(1, TimeUnit.MILLISECONDS);
+            budget.startTurn();
+
+            Action[] best = budget.iterativeDeepening((depth, b) -> {
+                sleep(3);
+                return actions(depth);
+            }, 10);
+
+            assertThat(best).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("returns no actions if not even the first depth completes")
+        void returnsNoActionWhenNothingCompletes() {
+            TurnBudget budget = new TurnBudget(1, TimeUnit.HOURS);
+            budget.startTurn();
+
+            Action[] best = budget.iterativeDeepening((depth, b) -> null, 10);
+
+            assertThat(best).isEmpty();
+        }
+    }
+
+    private static Action[] actions(int count) {
+        Action[] actions = new Action[count];
+        for (int i = 0; i < count; i++) {
+            actions[i] = new Action();
+        }
+        return actions;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
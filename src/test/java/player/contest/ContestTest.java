@@ -1,5 +1,8 @@
 package player.contest;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -8,9 +11,12 @@ import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,7 +32,11 @@ import player.contest.Contest.ContestResult;
 import player.contest.Contest.Score;
 import player.engine.GameEngine;
 import player.engine.MockedGE;
+import player.engine.MultipleRoundMockedGE;
 import player.engine.Winner;
+import player.match.MatchResultCache;
+import player.match.SeededAIFactory;
+import player.match.SeededGameEngineFactory;
 
 @DisplayName("A contest")
 class ContestTest implements WithAssertions {
@@ -85,6 +95,173 @@ class ContestTest implements WithAssertions {
         assertThat(third.getVictoryCount()).isEqualTo(2);
     }
 
+    @Test
+    @DisplayName("returns the same classification when games and matches share a fork/join pool")
+    void returnsClassificationOnForkJoinPool() throws Exception {
+        List<Function<IntSupplier, Supplier<AI>>> ais = Arrays.asList(
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "first")),
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "second")),
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "third")));
+
+        List<Supplier<GameEngine>> gameEngines = Arrays.asList(
+                () -> MockedGE.anyWithWinner(Winner.PLAYER),
+                () -> MockedGE.anyWithWinner(Winner.OPPONENT),
+                () -> MockedGE.anyWithWinner(Winner.PLAYER));
+
+        Contest contest = new Contest(ais, gameEngines, new ForkJoinPool(1));
+
+        List<Score> classifications = contest.call().getClassification();
+
+        assertThat(classifications)
+                .extracting(score -> score.getAi().getConf().get("id"))
+                .containsExactly("first", "second", "third");
+        assertThat(classifications)
+                .extracting(Score::getVictoryCount)
+                .containsExactly(4, 3, 2);
+    }
+
+    @Test
+    @DisplayName("reports each ai think time when profiled")
+    void reportsThinkTime() throws Exception {
+        List<Function<IntSupplier, Supplier<AI>>> ais = Arrays.asList(
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "first")),
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "second")),
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "third")));
+
+        List<Supplier<GameEngine>> gameEngines = Collections.singletonList(() -> MockedGE.anyWithWinner(Winner.PLAYER));
+
+        Contest contest = Contest.newBuilder(ais, gameEngines, gameExecutorService, matchExecutorService)
+                .withNumberOfMatches(2)
+                .withProfiling(true)
+                .build();
+
+        List<Score> classifications = contest.call().getClassification();
+
+        assertThat(classifications)
+                .extracting(score -> score.getThinkTime().getLatency().getCount())
+                .containsOnly(4L);
+    }
+
+    @Test
+    @DisplayName("returns the same classification for the same seed whatever the scheduling")
+    void reproducibleWithSeed() throws Exception {
+        List<SeededAIFactory> ais = Arrays.asList(
+                (input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "first")),
+                (input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "second")),
+                (input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "third")));
+
+        List<SeededGameEngineFactory> gameEngines = Arrays.asList(MockedGE::any, MockedGE::any);
+
+        ContestResult sequential = Contest.newSeededBuilder(ais, gameEngines, new ForkJoinPool(1), new ForkJoinPool(1))
+                .withSeed(7L)
+                .build()
+                .call();
+        ContestResult parallel = Contest.newSeededBuilder(ais, gameEngines, gameExecutorService, matchExecutorService)
+                .withSeed(7L)
+                .build()
+                .call();
+
+        assertThat(parallel.getClassification())
+                .extracting(ContestTest::describe)
+                .containsExactlyElementsOf(sequential.getClassification().stream()
+                        .map(ContestTest::describe)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("only plays the pairings of a new ai when its results are cached")
+    void onlyPlaysNewPairings() throws Exception {
+        AtomicInteger played = new AtomicInteger();
+        List<SeededGameEngineFactory> gameEngines = Collections.singletonList((random) -> new MultipleRoundMockedGE(
+                MockedGE.newBuilder(random).withWinner(Winner.ON_GOING),
+                MockedGE.newBuilder(random).withWinner(Winner.PLAYER)) {
+
+            @Override
+            public void start() {
+                played.incrementAndGet();
+                super.start();
+            }
+        });
+
+        List<SeededAIFactory> ais = new ArrayList<>(Arrays.asList(
+                (input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "first")),
+                (input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "second"))));
+
+        Path file = Files.createTempFile("contest", ".cache");
+        Files.delete(file);
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            Contest.newSeededBuilder(ais, gameEngines, gameExecutorService, matchExecutorService)
+                    .withNumberOfMatches(2)
+                    .withSeed(7L)
+                    .withResultCache(cache)
+                    .build()
+                    .call();
+
+            ais.add((input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "third")));
+            List<Score> classifications = Contest.newSeededBuilder(ais, gameEngines, gameExecutorService,
+                    matchExecutorService)
+                    .withNumberOfMatches(2)
+                    .withSeed(7L)
+                    .withResultCache(cache)
+                    .build()
+                    .call()
+                    .getClassification();
+
+            assertThat(played.get()).isEqualTo(2 + 2 * 2);
+            assertThat(classifications).hasSize(3);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("refuses to cache matches played by reused instances")
+    void refusesCacheWithReusedInstances() throws Exception {
+        List<Function<IntSupplier, Supplier<AI>>> ais = Arrays.asList(
+                (t) -> MockedAI::any,
+                (t) -> MockedAI::any);
+        List<Supplier<GameEngine>> gameEngines = Collections.singletonList(MockedGE::any);
+
+        Path file = Files.createTempFile("contest", ".cache");
+        Files.delete(file);
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            Contest.Builder builder = Contest.newBuilder(ais, gameEngines, gameExecutorService, matchExecutorService)
+                    .withSeed(7L)
+                    .withInstancesReused(true)
+                    .withResultCache(cache);
+
+            assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("notifies its progress after each game")
+    void notifiesProgress() throws Exception {
+        List<Function<IntSupplier, Supplier<AI>>> ais = Arrays.asList(
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "first")),
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "second")),
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "third")));
+
+        List<Supplier<GameEngine>> gameEngines = Collections.singletonList(
+                () -> MockedGE.anyWithWinner(Winner.PLAYER));
+
+        List<Integer> completedGames = new ArrayList<>();
+
+        Contest contest = Contest.newBuilder(ais, gameEngines, gameExecutorService, matchExecutorService)
+                .withProgressListener((gameResult, completed, total) -> {
+                    assertThat(total).isEqualTo(3);
+                    assertThat(gameResult.getNumberOfMatches()).isEqualTo(5L);
+                    completedGames.add(completed);
+                })
+                .build();
+
+        contest.call();
+
+        assertThat(completedGames).containsExactly(1, 2, 3);
+    }
+
     @Test
     @DisplayName("cannot run with a one single AI")
     void throwISEWhenSingleAIIsProvided() {
@@ -216,4 +393,9 @@ class ContestTest implements WithAssertions {
         Map<String, Object> conf = ai.getConf();
         return "player".equals(conf.get("id"));
     }
-}
\ No newline at end of file
+
+    private static String describe(Score score) {
+        return score.getAi().getConf().get("id") + ":" + score.getVictoryCount() + ":" + score.getAverageScore() + ":"
+                + score.getAverageWinRate();
+    }
+}
@@ -0,0 +1,195 @@
+package player.contest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import player.MockedAI;
+import player.contest.Contest.ContestResult;
+import player.contest.Contest.Score;
+import player.engine.MockedGE;
+import player.match.SeededAIFactory;
+import player.match.SeededGameEngineFactory;
+
+@DisplayName("A distributed contest")
+class DistributedContestTest implements WithAssertions {
+
+    @Test
+    @DisplayName("returns the same classification as a contest with the same seed")
+    void sameClassificationAsContest() throws Exception {
+        AtomicInteger progress = new AtomicInteger();
+
+        ContestResult distributed = DistributedContest.newBuilder(Setup.class)
+                .withWorkers(2)
+                .withNumberOfMatches(3)
+                .withSeed(7L)
+                .withProgressListener((result, completed, total) -> progress.incrementAndGet())
+                .build()
+                .call();
+
+        Setup setup = new Setup();
+        ForkJoinPool gamePool = new ForkJoinPool(1);
+        ForkJoinPool matchPool = new ForkJoinPool(1);
+        ContestResult local;
+        try {
+            local = Contest.newSeededBuilder(setup.getAIs(), setup.getGameEngines(), gamePool, matchPool)
+                    .withNumberOfMatches(3)
+                    .withSeed(7L)
+                    .build()
+                    .call();
+        } finally {
+            gamePool.shutdownNow();
+            matchPool.shutdownNow();
+        }
+
+        assertThat(describe(distributed)).containsExactlyElementsOf(describe(local));
+        assertThat(progress.get()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("plays again the games of a crashed worker")
+    void retriesGamesOfCrashedWorkers() throws Exception {
+        Path marker = Files.createTempFile("worker", ".crash");
+
+        ContestResult contestResult = DistributedContest.newBuilder(CrashingSetup.class)
+                .withWorkers(1)
+                .withSeed(7L)
+                .withJvmOptions(Collections.singletonList("-Dcrash.marker=" + marker))
+                .build()
+                .call();
+
+        assertThat(Files.exists(marker)).isFalse();
+        assertThat(contestResult.getClassification()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("replaces a worker hung on a game")
+    void replacesHungWorkers() throws Exception {
+        Path marker = Files.createTempFile("worker", ".hang");
+
+        ContestResult contestResult = DistributedContest.newBuilder(HangingSetup.class)
+                .withWorkers(1)
+                .withSeed(7L)
+                .withGameTimeout(5, TimeUnit.SECONDS)
+                .withJvmOptions(Collections.singletonList("-Dhang.marker=" + marker))
+                .build()
+                .call();
+
+        assertThat(Files.exists(marker)).isFalse();
+        assertThat(contestResult.getClassification()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("fails once a game exceeds its retries")
+    void failsAfterMaxRetries() {
+        assertThatThrownBy(() -> DistributedContest.newBuilder(FailingSetup.class)
+                .withWorkers(1)
+                .withMaxRetries(1)
+                .build()
+                .call())
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("failed 2 times");
+    }
+
+    private static List<String> describe(ContestResult result) {
+        return result.getClassification().stream()
+                .map(score -> score.getAi().getConf().get("id") + ":" + score.getVictoryCount() + ":"
+                        + score.getAverageScore() + ":" + score.getAverageWinRate())
+                .collect(Collectors.toList());
+    }
+
+    public static class Setup implements ContestSetup {
+
+        @Override
+        public List<SeededAIFactory> getAIs() {
+            return Arrays.asList(
+                    (input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "first")),
+                    (input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "second")),
+                    (input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "third")));
+        }
+
+        @Override
+        public List<SeededGameEngineFactory> getGameEngines() {
+            return Arrays.asList(MockedGE::any, MockedGE::any);
+        }
+    }
+
+    /**
+     * Halts the worker building its first AI as long as the marker file given to workers exists
+     */
+    public static class CrashingSetup implements ContestSetup {
+
+        @Override
+        public List<SeededAIFactory> getAIs() {
+            List<SeededAIFactory> ais = new ArrayList<>();
+            ais.add((input, random) -> {
+                String marker = System.getProperty("crash.marker");
+                if (marker != null && Paths.get(marker).toFile().delete()) {
+                    Runtime.getRuntime().halt(1);
+                }
+                return MockedAI.anyConf(ImmutableMap.of("id", "crashing"));
+            });
+            ais.add((input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "other")));
+            return ais;
+        }
+
+        @Override
+        public List<SeededGameEngineFactory> getGameEngines() {
+            return Collections.singletonList(MockedGE::any);
+        }
+    }
+
+    /**
+     * Hangs the worker building its first AI as long as the marker file given to workers exists
+     */
+    public static class HangingSetup implements ContestSetup {
+
+        @Override
+        public List<SeededAIFactory> getAIs() {
+            List<SeededAIFactory> ais = new ArrayList<>();
+            ais.add((input, random) -> {
+                String marker = System.getProperty("hang.marker");
+                if (marker != null && Paths.get(marker).toFile().delete()) {
+                    try {
+                        Thread.sleep(Long.MAX_VALUE);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return MockedAI.anyConf(ImmutableMap.of("id", "hanging"));
+            });
+            ais.add((input, random) -> MockedAI.anyConf(ImmutableMap.of("id", "other")));
+            return ais;
+        }
+
+        @Override
+        public List<SeededGameEngineFactory> getGameEngines() {
+            return Collections.singletonList(MockedGE::any);
+        }
+    }
+
+    public static class FailingSetup extends CrashingSetup {
+
+        @Override
+        public List<SeededGameEngineFactory> getGameEngines() {
+            return Collections.singletonList((random) -> {
+                throw new IllegalStateException("Unable to build a game engine");
+            });
+        }
+    }
+}
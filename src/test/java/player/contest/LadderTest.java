@@ -0,0 +1,160 @@
+package player.contest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import player.MockedAI;
+import player.Player.AI;
+import player.contest.Ladder.Rating;
+import player.engine.GameEngine;
+import player.engine.MockedGE;
+import player.engine.Winner;
+
+@DisplayName("A ladder")
+class LadderTest implements WithAssertions {
+
+    @Test
+    @DisplayName("rates a first victory as Glicko does")
+    void glicko() {
+        Ladder ladder = new Ladder(1500.0, 350.0, 0.0);
+
+        ladder.record("winner", "loser", 1, 0);
+
+        Rating winner = ladder.getRating("winner");
+        Rating loser = ladder.getRating("loser");
+        assertThat(winner.getRating()).isBetween(1661.8, 1662.8);
+        assertThat(winner.getDeviation()).isBetween(289.7, 290.7);
+        assertThat(loser.getRating()).isBetween(1337.2, 1338.2);
+        assertThat(winner.getMatches()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("narrows the confidence interval as matches are played")
+    void narrows() {
+        Ladder ladder = new Ladder();
+
+        ladder.record("first", "second", 6, 4);
+        Rating afterTen = ladder.getRating("first");
+        ladder.record("first", "second", 60, 40);
+        Rating afterHundred = ladder.getRating("first");
+
+        assertThat(afterHundred.getUpperBound() - afterHundred.getLowerBound())
+                .isLessThan(afterTen.getUpperBound() - afterTen.getLowerBound());
+        assertThat(afterHundred.getRating()).isBetween(afterHundred.getLowerBound(), afterHundred.getUpperBound());
+    }
+
+    @Test
+    @DisplayName("lets new AIs join with the initial rating")
+    void newAIs() {
+        Ladder ladder = new Ladder();
+        ladder.record("first", "second", 10, 0);
+
+        assertThat(ladder.getRating("newcomer")).isNull();
+
+        ladder.record("newcomer", "first", 5, 5);
+
+        assertThat(ladder.getRating("newcomer").getRating()).isGreaterThan(1500.0);
+        assertThat(ladder.getRating("second").getMatches()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("can be saved and loaded back")
+    void persists() throws IOException {
+        Ladder ladder = new Ladder();
+        ladder.record("first", "second", 7, 3);
+
+        Path file = Files.createTempFile("ladder", ".properties");
+        try {
+            ladder.save(file);
+            Ladder loaded = new Ladder();
+            loaded.load(file);
+
+            assertThat(loaded.getRating("first").getRating()).isEqualTo(ladder.getRating("first").getRating());
+            assertThat(loaded.getRating("second").getDeviation())
+                    .isEqualTo(ladder.getRating("second").getDeviation());
+            assertThat(loaded.getRating("second").getMatches()).isEqualTo(10L);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @DisplayName("rejects invalid saved ratings and keeps its own")
+    void rejectsInvalidRatings() throws IOException {
+        Ladder ladder = new Ladder();
+        ladder.record("first", "second", 7, 3);
+        double rating = ladder.getRating("first").getRating();
+
+        Path file = Files.createTempFile("ladder", ".properties");
+        try {
+            Files.write(file, Arrays.asList("first=1600 -20 4", "third=1500 100 2"), StandardCharsets.ISO_8859_1);
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> ladder.load(file))
+                    .withMessageContaining("first");
+            assertThat(ladder.getRating("first").getRating()).isEqualTo(rating);
+            assertThat(ladder.getRating("third")).isNull();
+
+            Files.write(file, Arrays.asList("first=1600"), StandardCharsets.ISO_8859_1);
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> ladder.load(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @DisplayName("follows a contest game by game, under distinct ids even for AIs of the same configuration")
+    void followsContest() throws Exception {
+        Function<IntSupplier, Supplier<AI>> ai = (input) -> MockedAI::any;
+        List<Supplier<GameEngine>> gameEngines = Arrays.asList(() -> MockedGE.anyWithWinner(Winner.PLAYER));
+
+        ExecutorService gameService = Executors.newFixedThreadPool(2);
+        ExecutorService matchService = Executors.newFixedThreadPool(2);
+        Ladder ladder = new Ladder();
+        try {
+            Contest.newBuilder(Arrays.asList(ai, ai, ai), gameEngines, gameService, matchService)
+                    .withNumberOfMatches(1)
+                    .withLadder(ladder, Arrays.asList("first", "second", "third"))
+                    .build()
+                    .call();
+        } finally {
+            gameService.shutdownNow();
+            matchService.shutdownNow();
+        }
+
+        assertThat(ladder.getClassification())
+                .extracting(Rating::getId)
+                .containsExactly("first", "second", "third");
+    }
+
+    @Test
+    @DisplayName("requires a distinct id per contest AI")
+    void requiresDistinctIds() {
+        Function<IntSupplier, Supplier<AI>> ai = (input) -> MockedAI::any;
+        Contest.Builder builder = Contest.newBuilder(
+                Arrays.asList(ai, ai),
+                Arrays.<Supplier<GameEngine>>asList(MockedGE::any),
+                null,
+                null);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> builder.withLadder(new Ladder(), Arrays.asList("same", "same")));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> builder.withLadder(new Ladder(), Arrays.asList("first")));
+    }
+}
@@ -0,0 +1,182 @@
+package player.contest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import player.MockedAI;
+import player.Player.AI;
+import player.contest.Contest.ContestResult;
+import player.contest.Contest.Score;
+import player.engine.GameEngine;
+import player.engine.MockedGE;
+import player.engine.Winner;
+
+@DisplayName("A racing contest")
+class RacingContestTest implements WithAssertions {
+
+    private ExecutorService gameExecutorService;
+    private ExecutorService matchExecutorService;
+
+    @BeforeEach
+    void init() {
+        gameExecutorService = Executors.newFixedThreadPool(2);
+        matchExecutorService = Executors.newFixedThreadPool(3);
+    }
+
+    @Test
+    @DisplayName("drops dominated ais after the first round")
+    void dropsDominatedAIs() throws Exception {
+        AtomicInteger playedMatches = new AtomicInteger();
+        List<Supplier<GameEngine>> gameEngines = Collections.singletonList(() -> {
+            playedMatches.incrementAndGet();
+            return MockedGE.anyWithWinner(Winner.PLAYER);
+        });
+
+        RacingContest contest = RacingContest.newBuilder(ais(), gameEngines, gameExecutorService, matchExecutorService)
+                .withBatchSize(40)
+                .withMaxRounds(10)
+                .build();
+
+        List<Score> classifications = contest.call().getClassification();
+
+        assertThat(classifications)
+                .extracting(score -> score.getAi().getConf().get("id"))
+                .containsExactly("first", "second", "third");
+        assertThat(classifications)
+                .extracting(Score::getVictoryCount)
+                .containsExactly(2, 1, 0);
+        assertThat(playedMatches.get()).isEqualTo(3 * 40);
+    }
+
+    @Test
+    @DisplayName("schedules its rounds on a shared fork/join pool and notifies its progress after each game")
+    void racesOnForkJoinPool() throws Exception {
+        List<Supplier<GameEngine>> gameEngines = Collections.singletonList(
+                () -> MockedGE.anyWithWinner(Winner.PLAYER));
+        List<Integer> completedGames = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        RacingContest contest = RacingContest.newBuilder(ais(), gameEngines, pool, pool)
+                .withBatchSize(40)
+                .withMaxRounds(10)
+                .withProgressListener((gameResult, completed, total) -> {
+                    assertThat(total).isEqualTo(3);
+                    completedGames.add(completed);
+                })
+                .build();
+
+        List<Score> classifications = contest.call().getClassification();
+
+        assertThat(classifications)
+                .extracting(score -> score.getAi().getConf().get("id"))
+                .containsExactly("first", "second", "third");
+        assertThat(completedGames).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("reports each ai think time when profiled")
+    void reportsThinkTime() throws Exception {
+        List<Supplier<GameEngine>> gameEngines = Collections.singletonList(
+                () -> MockedGE.anyWithWinner(Winner.PLAYER));
+
+        RacingContest contest = RacingContest.newBuilder(ais(), gameEngines, gameExecutorService, matchExecutorService)
+                .withBatchSize(2)
+                .withMaxRounds(1)
+                .withProfiling(true)
+                .build();
+
+        List<Score> classifications = contest.call().getClassification();
+
+        assertThat(classifications)
+                .extracting(score -> score.getThinkTime().getLatency().getCount())
+                .containsOnly(4L);
+    }
+
+    @Test
+    @DisplayName("ranks survivors ahead of dropped ais, even those that won more games")
+    void ranksSurvivorsFirst() {
+        Score dropped = new Score(MockedAI.anyConf(ImmutableMap.of("id", "dropped")));
+        dropped.incrementVictoryCount();
+        dropped.incrementVictoryCount();
+        Score survivor = new Score(MockedAI.anyConf(ImmutableMap.of("id", "survivor")));
+        survivor.incrementVictoryCount();
+        Score weakSurvivor = new Score(MockedAI.anyConf(ImmutableMap.of("id", "weak survivor")));
+
+        ContestResult result = new ContestResult(
+                new Score[] { dropped, weakSurvivor, survivor },
+                new boolean[] { false, true, true });
+
+        assertThat(result.getClassification()).containsExactly(survivor, weakSurvivor, dropped);
+    }
+
+    @Test
+    @DisplayName("plays up to the maximum number of rounds when ais are even")
+    void stopsAtMaxRounds() throws Exception {
+        AtomicInteger playedMatches = new AtomicInteger();
+        List<Supplier<GameEngine>> gameEngines = Collections.singletonList(() -> {
+            boolean even = playedMatches.getAndIncrement() % 2 == 0;
+            return MockedGE.anyWithWinner(even ? Winner.PLAYER : Winner.OPPONENT);
+        });
+
+        RacingContest contest = RacingContest.newBuilder(ais(), gameEngines, gameExecutorService, matchExecutorService)
+                .withBatchSize(4)
+                .withMaxRounds(3)
+                .build();
+
+        List<Score> classifications = contest.call().getClassification();
+
+        assertThat(classifications).hasSize(3);
+        assertThat(playedMatches.get()).isEqualTo(3 * 3 * 4);
+    }
+
+    @Test
+    @DisplayName("throws ISE when playing with a single ai")
+    void throwsISEWithSingleAI() {
+        List<Function<IntSupplier, Supplier<AI>>> ais = Collections.singletonList((t) -> MockedAI::any);
+        List<Supplier<GameEngine>> gameEngines = Collections.singletonList(MockedGE::any);
+
+        RacingContest contest = RacingContest.newBuilder(ais, gameEngines, gameExecutorService, matchExecutorService)
+                .build();
+
+        assertThatThrownBy(contest::call).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("rejects non positive batch sizes")
+    void rejectsNonPositiveBatchSize() {
+        assertThatThrownBy(() -> RacingContest.newBuilder(ais(), Collections.emptyList(), gameExecutorService,
+                matchExecutorService).withBatchSize(0))
+                        .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("rejects non positive maximum numbers of rounds")
+    void rejectsNonPositiveMaxRounds() {
+        assertThatThrownBy(() -> RacingContest.newBuilder(ais(), Collections.emptyList(), gameExecutorService,
+                matchExecutorService).withMaxRounds(0))
+                        .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Function<IntSupplier, Supplier<AI>>> ais() {
+        return Arrays.asList(
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "first")),
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "second")),
+                (t) -> () -> MockedAI.anyConf(ImmutableMap.of("id", "third")));
+    }
+}
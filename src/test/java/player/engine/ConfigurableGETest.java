@@ -2,7 +2,12 @@ package player.engine;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import javax.annotation.Nullable;
 
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.DisplayName;
@@ -64,6 +69,30 @@ class ConfigurableGETest implements WithAssertions {
             assertThat(ge.playerInput()).isEqualTo(4);
         }
 
+        @Test
+        @DisplayName("send the expected values in bulk")
+        void playerAIInputInBulk() {
+            ConfigurableGE ge = new ConfigurableGEImpl(Winner.PLAYER);
+            ge.toPlayerInput(new int[] { 7, 0, 2, 4, 7 }, 1, 3);
+
+            int[] dst = new int[3];
+            ge.playerInput(dst, 0, 3);
+
+            assertThat(dst).containsExactly(0, 2, 4);
+            assertThat(ge.availablePlayerInput()).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("throws ISE when not enough input is available for a bulk read")
+        void throwICEWhenNotEnoughInputIsAvailable() {
+            ConfigurableGE ge = new ConfigurableGEImpl(Winner.PLAYER);
+            ge.toPlayerInput(1, 2);
+
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> ge.playerInput(new int[3], 0, 3))
+                    .withMessageContaining("No inputs are available to player");
+        }
+
         @Test
         @DisplayName("throws ISE when no input is available")
         void throwICEWhenNoInputIsAvailable() {
@@ -90,6 +119,19 @@ class ConfigurableGETest implements WithAssertions {
             assertThat(ge.opponentInput()).isEqualTo(4);
         }
 
+        @Test
+        @DisplayName("send the expected values in bulk")
+        void opponentAIInputInBulk() {
+            ConfigurableGE ge = new ConfigurableGEImpl(Winner.PLAYER);
+            ge.toOpponentInput(new int[] { 7, 0, 2, 4, 7 }, 1, 3);
+
+            int[] dst = new int[3];
+            ge.opponentInput(dst, 0, 3);
+
+            assertThat(dst).containsExactly(0, 2, 4);
+            assertThat(ge.availableOpponentInput()).isEqualTo(0);
+        }
+
         @Test
         @DisplayName("throws ISE when no input is available")
         void throwICEWhenNoInputIsAvailable() {
@@ -119,6 +161,417 @@ class ConfigurableGETest implements WithAssertions {
         assertThat(ge1).isNotEqualTo(ge2);
     }
 
+    @Nested
+    @DisplayName("when reset")
+    class Reset {
+
+        @Test
+        @DisplayName("is not reusable by default")
+        void notResettableByDefault() {
+            ConfigurableGE ge = new ConfigurableGEImpl(Winner.PLAYER);
+            ge.toPlayerInput(1);
+            ge.run(null, null);
+
+            assertThat(ge.reset(new SplittableRandom())).isFalse();
+            assertThat(ge.getNumberOfRounds()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("starts a new on going match without inputs")
+        void startsNewMatch() {
+            ConfigurableGE ge = new ResettableGE(Winner.PLAYER);
+            ge.toPlayerInput(1, 2);
+            ge.toOpponentInput(3);
+            ge.run(null, null);
+
+            assertThat(ge.reset(new SplittableRandom())).isTrue();
+            assertThat(ge.getWinner()).isEqualTo(Winner.ON_GOING);
+            assertThat(ge.getNumberOfRounds()).isEqualTo(0);
+            assertThat(ge.availablePlayerInput()).isEqualTo(0);
+            assertThat(ge.availableOpponentInput()).isEqualTo(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("when snapshot")
+    class Snapshot {
+
+        @Test
+        @DisplayName("is not supported unless the engine opts in, even with state cells")
+        void notSupportedByDefault() {
+            ConfigurableGE ge = new FieldsGE();
+
+            assertThat(ge.supportsSnapshots()).isFalse();
+            assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(ge::snapshot);
+            assertThat(new ConfigurableGEImpl(Winner.PLAYER).supportsSnapshots()).isFalse();
+        }
+
+        @Test
+        @DisplayName("restores cells, rounds, winner and inputs")
+        void restoresState() {
+            CountingGE ge = new CountingGE();
+            ge.start();
+            ge.toOpponentInput(9);
+            ge.run(null, null);
+
+            int token = ge.snapshot();
+            ge.playerInput();
+            ge.run(null, null);
+            ge.run(null, null);
+            assertThat(ge.getWinner()).isEqualTo(Winner.PLAYER);
+
+            ge.restore(token);
+
+            assertThat(ge.getPlayerScore()).isEqualTo(1);
+            assertThat(ge.getNumberOfRounds()).isEqualTo(1);
+            assertThat(ge.getWinner()).isEqualTo(Winner.ON_GOING);
+            assertThat(ge.availablePlayerInput()).isEqualTo(1);
+            assertThat(ge.playerInput()).isEqualTo(1);
+            assertThat(ge.availableOpponentInput()).isEqualTo(1);
+            assertThat(ge.opponentInput()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("can be restored many times")
+        void restoresManyTimes() {
+            CountingGE ge = new CountingGE();
+            ge.start();
+
+            int token = ge.snapshot();
+            for (int i = 0; i < 3; i++) {
+                ge.run(null, null);
+                ge.run(null, null);
+                assertThat(ge.getPlayerScore()).isEqualTo(2);
+
+                ge.restore(token);
+                assertThat(ge.getPlayerScore()).isEqualTo(0);
+                assertThat(ge.availablePlayerInput()).isEqualTo(0);
+            }
+        }
+
+        @Test
+        @DisplayName("nests, restoring an older snapshot discards the newer ones")
+        void nests() {
+            CountingGE ge = new CountingGE();
+            ge.start();
+
+            int outer = ge.snapshot();
+            ge.run(null, null);
+            int inner = ge.snapshot();
+            ge.run(null, null);
+
+            ge.restore(inner);
+            assertThat(ge.getPlayerScore()).isEqualTo(1);
+
+            ge.run(null, null);
+            ge.restore(outer);
+            assertThat(ge.getPlayerScore()).isEqualTo(0);
+            assertThat(ge.getNumberOfRounds()).isEqualTo(0);
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> ge.restore(inner))
+                    .withMessageContaining("Unknown snapshot");
+        }
+
+        @Test
+        @DisplayName("keeps the current state once released")
+        void keepsStateOnceReleased() {
+            CountingGE ge = new CountingGE();
+            ge.start();
+
+            int outer = ge.snapshot();
+            ge.run(null, null);
+            int inner = ge.snapshot();
+            ge.run(null, null);
+            ge.release(inner);
+
+            assertThat(ge.getPlayerScore()).isEqualTo(2);
+
+            ge.restore(outer);
+            assertThat(ge.getPlayerScore()).isEqualTo(0);
+
+            ge.release(outer);
+            ge.run(null, null);
+            assertThat(ge.getPlayerScore()).isEqualTo(1);
+            assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> ge.restore(outer));
+        }
+
+        @Test
+        @DisplayName("restores engines that did not tell a winner")
+        void restoresWithoutWinner() {
+            CellsGE ge = new CellsGE(1, null);
+            ge.start();
+
+            int started = ge.snapshot();
+            ge.run(null, null);
+            assertThat(ge.getWinner()).isNull();
+
+            ge.restore(started);
+            assertThat(ge.getWinner()).isEqualTo(Winner.ON_GOING);
+            ge.run(null, null);
+            int again = ge.snapshot();
+            ge.restore(again);
+            assertThat(ge.getWinner()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("when hashing its state")
+    class StateHash {
+
+        @Test
+        @DisplayName("is not supported unless the engine opts in, even with state cells")
+        void notSupportedByDefault() {
+            ConfigurableGE ge = new FieldsGE();
+
+            assertThat(ge.supportsStateHash()).isFalse();
+            assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(ge::stateHash);
+            assertThat(new ConfigurableGEImpl(Winner.PLAYER).supportsStateHash()).isFalse();
+        }
+
+        @Test
+        @DisplayName("hashes engines that did not tell a winner")
+        void hashesWithoutWinner() {
+            CellsGE ge = new CellsGE(1, null);
+            ge.start();
+            long started = ge.stateHash();
+
+            ge.run(null, null);
+
+            assertThat(ge.getWinner()).isNull();
+            assertThat(ge.stateHash()).isEqualTo(ge.rehash()).isNotEqualTo(started);
+        }
+
+        @Test
+        @DisplayName("keeps the incremental hash equal to the full one")
+        void incrementalMatchesFull() {
+            CellsGE ge = new CellsGE(64);
+            SplittableRandom random = new SplittableRandom(7L);
+
+            for (int i = 0; i < 10_000; i++) {
+                ge.setCell(random.nextInt(64), random.nextInt());
+                if (i % 100 == 0) {
+                    ge.run(null, null);
+                }
+                assertThat(ge.stateHash()).isEqualTo(ge.rehash());
+            }
+        }
+
+        @Test
+        @DisplayName("gives the same hash to the same state whatever the writes order")
+        void transpositions() {
+            CellsGE first = new CellsGE(4);
+            first.setCell(0, 5);
+            first.setCell(3, -1);
+            first.setCell(0, 2);
+
+            CellsGE second = new CellsGE(4);
+            second.setCell(3, -1);
+            second.setCell(0, 2);
+
+            assertThat(first.stateHash()).isEqualTo(second.stateHash());
+
+            second.setCell(1, 0);
+            assertThat(first.stateHash()).isEqualTo(second.stateHash());
+
+            second.run(null, null);
+            assertThat(first.stateHash()).isNotEqualTo(second.stateHash());
+        }
+
+        @Test
+        @DisplayName("restores the hash along with the snapshot")
+        void restoredBySnapshots() {
+            CellsGE ge = new CellsGE(8);
+            ge.setCell(2, 9);
+            long hash = ge.stateHash();
+
+            int token = ge.snapshot();
+            ge.setCell(2, 3);
+            ge.setCell(5, 4);
+            ge.run(null, null);
+            ge.restore(token);
+
+            assertThat(ge.stateHash()).isEqualTo(hash);
+            assertThat(ge.rehash()).isEqualTo(hash);
+        }
+
+        @Test
+        @DisplayName("has no collisions and spreads evenly over buckets on random states")
+        void collisionStatistics() {
+            int cells = 8;
+            int buckets = 1 << 10;
+            SplittableRandom random = new SplittableRandom(11L);
+            Set<Long> states = new HashSet<>();
+            Set<Long> hashes = new HashSet<>();
+            int[] bucketCounts = new int[buckets];
+
+            CellsGE ge = new CellsGE(cells);
+            for (int i = 0; i < 200_000; i++) {
+                long state = 0L;
+                for (int cell = 0; cell < cells; cell++) {
+                    int value = random.nextInt(16);
+                    ge.setCell(cell, value);
+                    state = (state << 4) | value;
+                }
+                if (states.add(state)) {
+                    long hash = ge.stateHash();
+                    hashes.add(hash);
+                    bucketCounts[(int) hash & (buckets - 1)]++;
+                }
+            }
+
+            assertThat(hashes).hasSameSizeAs(states);
+
+            double expected = (double) states.size() / buckets;
+            double chiSquare = 0.0;
+            for (int count : bucketCounts) {
+                chiSquare += (count - expected) * (count - expected) / expected;
+            }
+            // 1023 degrees of freedom, the 99.9th percentile is about 1168
+            assertThat(chiSquare).isLessThan(1168.0);
+        }
+    }
+
+    /**
+     * Exposes its cells, and never finishes unless told a winner. Its whole state lives in cells, so it supports
+     * snapshots and state hashes.
+     */
+    private static final class CellsGE extends ConfigurableGE {
+
+        @Nullable
+        private final Winner winner;
+
+        CellsGE(int cells) {
+            this(cells, Winner.ON_GOING);
+        }
+
+        /**
+         * @param winner the winner of every round, {@code null} to tell none
+         */
+        CellsGE(int cells, @Nullable Winner winner) {
+            super(Collections.emptyMap(), cells);
+            this.winner = winner;
+        }
+
+        @Override
+        public void start() {
+            // ILB
+        }
+
+        @Override
+        protected Winner runRound(Player.Action[] playerActions, Player.Action[] opponentActions) {
+            return winner;
+        }
+
+        @Override
+        public boolean supportsSnapshots() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsStateHash() {
+            return true;
+        }
+
+        @Override
+        public int getPlayerScore() {
+            return 0;
+        }
+
+        @Override
+        public int getOpponentScore() {
+            return 0;
+        }
+    }
+
+    /**
+     * Keeps its score in a field along with its cells, so it must not support snapshots nor state hashes
+     */
+    private static final class FieldsGE extends ConfigurableGE {
+
+        private int playerScore;
+
+        FieldsGE() {
+            super(Collections.emptyMap(), 1);
+        }
+
+        @Override
+        public void start() {
+            playerScore = 0;
+        }
+
+        @Override
+        protected Winner runRound(Player.Action[] playerActions, Player.Action[] opponentActions) {
+            playerScore++;
+            return Winner.ON_GOING;
+        }
+
+        @Override
+        public int getPlayerScore() {
+            return playerScore;
+        }
+
+        @Override
+        public int getOpponentScore() {
+            return 0;
+        }
+    }
+
+    /**
+     * Counts rounds in a state cell, sending the count to the player, and makes the player win on the third round.
+     * Its whole state lives in cells, so it supports snapshots and state hashes.
+     */
+    private static final class CountingGE extends ConfigurableGE {
+
+        CountingGE() {
+            super(Collections.emptyMap(), 1);
+        }
+
+        @Override
+        public void start() {
+            setCell(0, 0);
+        }
+
+        @Override
+        protected Winner runRound(Player.Action[] playerActions, Player.Action[] opponentActions) {
+            setCell(0, getCell(0) + 1);
+            toPlayerInput(getCell(0));
+            return getCell(0) >= 3 ? Winner.PLAYER : Winner.ON_GOING;
+        }
+
+        @Override
+        public boolean supportsSnapshots() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsStateHash() {
+            return true;
+        }
+
+        @Override
+        public int getPlayerScore() {
+            return getCell(0);
+        }
+
+        @Override
+        public int getOpponentScore() {
+            return 0;
+        }
+    }
+
+    private static final class ResettableGE extends ConfigurableGEImpl {
+
+        ResettableGE(Winner winner) {
+            super(winner);
+        }
+
+        @Override
+        protected boolean resetState(SplittableRandom random) {
+            return true;
+        }
+    }
+
     private static class ConfigurableGEImpl extends ConfigurableGE {
 
         private final Winner winner;
@@ -0,0 +1,131 @@
+package player.engine;
+
+import java.util.NoSuchElementException;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("An int ring buffer")
+class IntRingBufferTest implements WithAssertions {
+
+    @Test
+    @DisplayName("starts empty")
+    void startsEmpty() {
+        IntRingBuffer buffer = new IntRingBuffer();
+
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(buffer.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("polls values in the same order they were added")
+    void fifoOrder() {
+        IntRingBuffer buffer = new IntRingBuffer();
+        buffer.add(3);
+        buffer.add(1);
+        buffer.add(2);
+
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isEqualTo(1);
+        assertThat(buffer.poll()).isEqualTo(2);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("grows beyond its initial capacity keeping values order")
+    void grows() {
+        IntRingBuffer buffer = new IntRingBuffer(2);
+        for (int i = 0; i < 100; i++) {
+            buffer.add(i);
+        }
+
+        assertThat(buffer.size()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(buffer.poll()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("keeps values order when growing while wrapped around")
+    void growsWhileWrapped() {
+        IntRingBuffer buffer = new IntRingBuffer(4);
+        buffer.addAll(new int[] { 0, 1, 2 }, 0, 3);
+        buffer.poll();
+        buffer.poll();
+        buffer.addAll(new int[] { 3, 4, 5, 6, 7 }, 0, 5);
+
+        int[] dst = new int[6];
+        int read = buffer.poll(dst, 0, dst.length);
+
+        assertThat(read).isEqualTo(6);
+        assertThat(dst).containsExactly(2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    @DisplayName("copies wrapped around values without polling them")
+    void peeksWrappedValues() {
+        IntRingBuffer buffer = new IntRingBuffer(4);
+        buffer.addAll(new int[] { 0, 1, 2 }, 0, 3);
+        buffer.poll();
+        buffer.poll();
+        buffer.addAll(new int[] { 3, 4 }, 0, 2);
+
+        int[] dst = new int[4];
+        int copied = buffer.peek(dst, 1);
+
+        assertThat(copied).isEqualTo(3);
+        assertThat(dst).containsExactly(0, 2, 3, 4);
+        assertThat(buffer.poll()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("throws NSEE when polling an empty buffer")
+    void throwNSEEWhenEmpty() {
+        IntRingBuffer buffer = new IntRingBuffer();
+
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(buffer::poll);
+    }
+
+    @Nested
+    @DisplayName("when working in bulk")
+    class Bulk {
+
+        @Test
+        @DisplayName("adds only the requested slice")
+        void addSlice() {
+            IntRingBuffer buffer = new IntRingBuffer();
+            buffer.addAll(new int[] { 9, 1, 2, 3, 9 }, 1, 3);
+
+            assertThat(buffer.size()).isEqualTo(3);
+            assertThat(buffer.poll()).isEqualTo(1);
+            assertThat(buffer.poll()).isEqualTo(2);
+            assertThat(buffer.poll()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("polls at most the available values")
+        void pollAvailable() {
+            IntRingBuffer buffer = new IntRingBuffer();
+            buffer.addAll(new int[] { 1, 2 }, 0, 2);
+
+            int[] dst = new int[] { -1, -1, -1, -1 };
+            int read = buffer.poll(dst, 1, 3);
+
+            assertThat(read).isEqualTo(2);
+            assertThat(dst).containsExactly(-1, 1, 2, -1);
+            assertThat(buffer.isEmpty()).isTrue();
+        }
+
+        @Test
+        @DisplayName("rejects slices out of the array bounds")
+        void rejectsOutOfBounds() {
+            IntRingBuffer buffer = new IntRingBuffer();
+
+            assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                    .isThrownBy(() -> buffer.addAll(new int[2], 1, 2));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 import com.google.common.base.MoreObjects;
 
@@ -17,13 +18,24 @@ public final class MockedGE {
     }
 
     public static Builder newBuilder() {
-        return new Builder();
+        return new Builder(new Random());
+    }
+
+    /**
+     * @return a builder whose random values are drawn from {@code random}, so that it is reproducible
+     */
+    public static Builder newBuilder(SplittableRandom random) {
+        return new Builder(new Random(random.nextLong()));
     }
 
     public static GameEngine any() {
         return newBuilder().build();
     }
 
+    public static GameEngine any(SplittableRandom random) {
+        return newBuilder(random).build();
+    }
+
     public static GameEngine anyWithWinner(Winner winner) {
         return newBuilder()
                 .withWinner(winner)
@@ -67,12 +79,13 @@ public final class MockedGE {
         private int playerScore;
         private int opponentScore;
         private int numberOfRounds;
+        private boolean resettable;
 
         private List<Integer> playerInput;
         private List<Integer> opponentInput;
 
-        private Builder() {
-            this.random = new Random();
+        private Builder(Random random) {
+            this.random = random;
 
             this.winner = random.nextBoolean() ? Winner.PLAYER : Winner.OPPONENT;
             this.playerScore = random.nextInt(100);
@@ -111,6 +124,14 @@ public final class MockedGE {
             return this;
         }
 
+        /**
+         * Whether the engine can be reset and reused by another match
+         */
+        public Builder withReset(boolean resettable) {
+            this.resettable = resettable;
+            return this;
+        }
+
         public Builder withPlayerInput(int[] playerInput) {
             List<Integer> input = new ArrayList<>();
             for (int i : playerInput) {
@@ -130,7 +151,14 @@ public final class MockedGE {
         }
 
         public GameEngine build() {
-            return new MockedGameEngine(winner, playerScore, opponentScore, numberOfRounds, playerInput, opponentInput);
+            return new MockedGameEngine(
+                    winner,
+                    playerScore,
+                    opponentScore,
+                    numberOfRounds,
+                    resettable,
+                    playerInput,
+                    opponentInput);
         }
     }
 
@@ -140,18 +168,20 @@ public final class MockedGE {
         private final int playerScore;
         private final int opponentScore;
         private final int numberOfRounds;
+        private final boolean resettable;
 
         private final List<Integer> playerInput;
         private final List<Integer> opponentInput;
 
-        private final Iterator<Integer> playerInputIt;
-        private final Iterator<Integer> opponentInputIt;
+        private Iterator<Integer> playerInputIt;
+        private Iterator<Integer> opponentInputIt;
 
         private MockedGameEngine(
                 Winner winner,
                 int playerScore,
                 int opponentScore,
                 int numberOfRounds,
+                boolean resettable,
                 List<Integer> playerInput,
                 List<Integer> opponentInput) {
 
@@ -159,6 +189,7 @@ public final class MockedGE {
             this.playerScore = playerScore;
             this.opponentScore = opponentScore;
             this.numberOfRounds = numberOfRounds;
+            this.resettable = resettable;
             this.playerInput = playerInput;
             this.opponentInput = opponentInput;
 
@@ -206,6 +237,16 @@ public final class MockedGE {
             return numberOfRounds;
         }
 
+        @Override
+        public boolean reset(SplittableRandom random) {
+            if (!resettable) {
+                return false;
+            }
+            playerInputIt = playerInput.iterator();
+            opponentInputIt = opponentInput.iterator();
+            return true;
+        }
+
         @Override
         public boolean equals(Object o) {
             return this == o || !(o == null || getClass() != o.getClass());
@@ -0,0 +1,88 @@
+package player.engine;
+
+import com.google.common.collect.ImmutableMap;
+
+import player.Player.Action;
+
+/**
+ * Game where both sides pick a number each round and score it, playing the forbidden number loses at once. <br>
+ * After the last round, the player wins with a strictly greater score. The state lives in cells, so it supports
+ * snapshots and state hashes.
+ */
+public final class NumberGE extends ConfigurableGE {
+
+    private static final int PLAYER_SCORE = 0;
+    private static final int OPPONENT_SCORE = 1;
+
+    private final int rounds;
+    private final int forbidden;
+
+    public NumberGE(int rounds, int forbidden) {
+        super(ImmutableMap.of("rounds", rounds, "forbidden", forbidden), 2);
+        this.rounds = rounds;
+        this.forbidden = forbidden;
+    }
+
+    @Override
+    public void start() {
+        setCell(PLAYER_SCORE, 0);
+        setCell(OPPONENT_SCORE, 0);
+    }
+
+    @Override
+    protected Winner runRound(Action[] playerActions, Action[] opponentActions) {
+        int player = ((Pick) playerActions[0]).value;
+        int opponent = ((Pick) opponentActions[0]).value;
+        if (player == forbidden) {
+            return Winner.OPPONENT;
+        }
+        if (opponent == forbidden) {
+            return Winner.PLAYER;
+        }
+
+        setCell(PLAYER_SCORE, getCell(PLAYER_SCORE) + player);
+        setCell(OPPONENT_SCORE, getCell(OPPONENT_SCORE) + opponent);
+        if (getNumberOfRounds() + 1 < rounds) {
+            return Winner.ON_GOING;
+        }
+        return getCell(PLAYER_SCORE) > getCell(OPPONENT_SCORE) ? Winner.PLAYER : Winner.OPPONENT;
+    }
+
+    @Override
+    public boolean supportsSnapshots() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsStateHash() {
+        return true;
+    }
+
+    @Override
+    public int getPlayerScore() {
+        return getCell(PLAYER_SCORE);
+    }
+
+    @Override
+    public int getOpponentScore() {
+        return getCell(OPPONENT_SCORE);
+    }
+
+    public static final class Pick extends Action {
+
+        private final int value;
+
+        public Pick(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        @Override
+        public String asString() {
+            return Integer.toString(value);
+        }
+    }
+}
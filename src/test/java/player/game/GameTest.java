@@ -1,14 +1,21 @@
 package player.game;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +30,13 @@ import player.engine.GameEngine;
 import player.engine.MockedGE;
 import player.engine.Winner;
 import player.game.Game.GameResult;
+import player.game.Game.MatchSummary;
+import player.match.MatchResultCache;
+import player.match.SeededAIFactory;
+import player.match.SeededGameEngineFactory;
+import player.match.Seeds;
+import player.replay.MatchReplay;
+import player.replay.ReplayReader;
 
 @DisplayName("A game")
 class GameTest implements WithAssertions {
@@ -45,6 +59,46 @@ class GameTest implements WithAssertions {
         assertThat(result.getMatchResults()).hasSize(4);
     }
 
+    @Test
+    @DisplayName("can be split into fork/join tasks")
+    void playMatchesOnForkJoinPool() throws Exception {
+        GameEngine match1 = MockedGE.anyWithPlayerScore(15);
+        GameEngine match2 = MockedGE.anyWithPlayerScore(16);
+        GameEngine match3 = MockedGE.anyWithPlayerScore(17);
+
+        List<GameEngine> matches = Arrays.asList(match1, match2, match3);
+        Iterator<GameEngine> it = matches.iterator();
+
+        Game game = new Game(anyAIInput(), anyAIInput(), it::next, new ForkJoinPool(2), matches.size());
+
+        GameResult result = game.call();
+
+        assertThat(result.getMatchResults())
+                .extracting(MatchSummary::getPlayerScore)
+                .containsOnly(15, 16, 17);
+    }
+
+    @Test
+    @DisplayName("reports a failed match by an execution exception, whether split into fork/join tasks or not")
+    void reportsFailedMatch() {
+        Supplier<GameEngine> failing = () -> {
+            throw new IllegalStateException("Broken game engine");
+        };
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            for (ExecutorService executor : Arrays.asList(service, pool)) {
+                Game game = new Game(anyAIInput(), anyAIInput(), failing, executor, 3);
+
+                assertThatExceptionOfType(ExecutionException.class)
+                        .isThrownBy(game::call)
+                        .withCauseInstanceOf(IllegalStateException.class);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     @DisplayName("winner is the player that won the most number of matches")
     void playerWinRate() throws Exception {
@@ -112,6 +166,225 @@ class GameTest implements WithAssertions {
                 .withMessageContaining("Illegal usage, game engines should always be the same");
     }
 
+    @Test
+    @DisplayName("does not retain match results when asked not to")
+    void doesNotRetainMatchResults() throws Exception {
+        Game game = new Game(anyAIInput(), anyAIInput(), MockedGE::any, service, 4, false);
+
+        GameResult result = game.call();
+
+        assertThat(result.hasMatchResults()).isFalse();
+        assertThat(result.getNumberOfMatches()).isEqualTo(4L);
+        assertThat(result.getPlayer()).isNotNull();
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(result::getMatchResults)
+                .withMessageContaining("Match results were not retained");
+    }
+
+    @Test
+    @DisplayName("results can be combined")
+    void combineResults() throws Exception {
+        Iterator<GameEngine> first = Arrays.asList(
+                MockedGE.anyWithPlayerScore(10),
+                MockedGE.anyWithPlayerScore(20)).iterator();
+        Iterator<GameEngine> second = Arrays.asList(
+                MockedGE.anyWithPlayerScore(30),
+                MockedGE.anyWithPlayerScore(40)).iterator();
+
+        GameResult result = new Game(anyAIInput(), anyAIInput(), first::next, service, 2).call()
+                .combine(new Game(anyAIInput(), anyAIInput(), second::next, service, 2).call());
+
+        assertThat(result.getNumberOfMatches()).isEqualTo(4L);
+        assertThat(result.getAveragePlayerScore()).isEqualTo(25.0);
+        assertThat(result.getMatchResults())
+                .extracting(MatchSummary::getPlayerScore)
+                .containsOnly(10, 20, 30, 40);
+    }
+
+    @Test
+    @DisplayName("notifies its progress after each match")
+    void notifiesProgress() throws Exception {
+        List<String> progress = new ArrayList<>();
+
+        Game game = Game.newBuilder(anyAIInput(), anyAIInput(), () -> MockedGE.anyWithPlayerScore(10), service)
+                .withNumberOfMatches(3)
+                .withProgressListener((partial, completed, total) -> progress.add(
+                        completed + "/" + total + ":" + partial.getNumberOfMatches()))
+                .build();
+
+        game.call();
+
+        assertThat(progress).containsExactly("1/3:1", "2/3:2", "3/3:3");
+    }
+
+    @Test
+    @DisplayName("reuses ais and game engines on the same thread when asked to")
+    void reusesInstances() throws Exception {
+        AtomicInteger engines = new AtomicInteger();
+        Supplier<GameEngine> gameEngine = () -> {
+            engines.incrementAndGet();
+            return MockedGE.newBuilder().withPlayerScore(10).withReset(true).build();
+        };
+        Function<IntSupplier, Supplier<AI>> ai = (t) -> MockedAI::anyResettable;
+
+        GameResult result = Game.newBuilder(ai, ai, gameEngine, Executors.newSingleThreadExecutor())
+                .withNumberOfMatches(4)
+                .withInstancesReused(true)
+                .build()
+                .call();
+
+        assertThat(result.getNumberOfMatches()).isEqualTo(4L);
+        assertThat(result.getAveragePlayerScore()).isEqualTo(10.0);
+        assertThat(engines.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("refuses to cache matches played by reused instances")
+    void refusesCacheWithReusedInstances() throws Exception {
+        Path file = Files.createTempFile("game", ".cache");
+        Files.delete(file);
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            Game.Builder builder = Game.newBuilder(anyAIInput(), anyAIInput(), MockedGE::any, service)
+                    .withSeed(42L)
+                    .withInstancesReused(true)
+                    .withResultCache(cache);
+
+            assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("rolls up match profiles when profiled")
+    void rollsUpProfiles() throws Exception {
+        GameResult result = Game.newBuilder(anyAIInput(), anyAIInput(), () -> MockedGE.anyWithWinner(Winner.PLAYER),
+                service)
+                .withNumberOfMatches(3)
+                .withProfiling(true)
+                .build()
+                .call();
+
+        assertThat(result.getProfile().getPlayer().getLatency().getCount()).isEqualTo(3);
+        assertThat(result.getProfile().getGameEngine().getLatency().getCount()).isEqualTo(3);
+        assertThat(result.combine(result).getProfile().getOpponent().getLatency().getCount()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("plays the same matches for the same seed whatever the number of threads")
+    void reproducibleWithSeed() throws Exception {
+        SeededAIFactory ai = (input, random) -> MockedAI.any();
+        SeededGameEngineFactory gameEngine = MockedGE::any;
+
+        GameResult sequential = Game.newSeededBuilder(ai, ai, gameEngine, new ForkJoinPool(1))
+                .withNumberOfMatches(20)
+                .withSeed(42L)
+                .build()
+                .call();
+        GameResult parallel = Game.newSeededBuilder(ai, ai, gameEngine, service)
+                .withNumberOfMatches(20)
+                .withSeed(42L)
+                .build()
+                .call();
+
+        assertThat(parallel.getAveragePlayerScore()).isEqualTo(sequential.getAveragePlayerScore());
+        assertThat(parallel.getAverageNumberOfRounds()).isEqualTo(sequential.getAverageNumberOfRounds());
+        assertThat(parallel.getPlayerVictoryCount()).isEqualTo(sequential.getPlayerVictoryCount());
+        assertThat(parallel.getMatchResults())
+                .extracting(result -> result.getSeed() + ":" + result.getPlayerScore())
+                .containsOnlyElementsOf(sequential.getMatchResults().stream()
+                        .map(result -> result.getSeed() + ":" + result.getPlayerScore())
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("records its matches to a replay file named after its seed")
+    void recordsReplays() throws Exception {
+        Path directory = Files.createTempDirectory("replays");
+        Path file = Game.replayFile(directory, 42L);
+        try {
+            Function<IntSupplier, Supplier<AI>> ai = (input) -> () -> MockedAI.anyWithActions(new Action());
+
+            Game.newBuilder(ai, ai, MockedGE::any, service)
+                    .withNumberOfMatches(4)
+                    .withSeed(42L)
+                    .withInstancesReused(true)
+                    .withReplayDirectory(directory)
+                    .build()
+                    .call();
+
+            assertThat(ReplayReader.readAll(file))
+                    .extracting(MatchReplay::getSeed)
+                    .containsOnly(
+                            Seeds.derive(42L, 0),
+                            Seeds.derive(42L, 1),
+                            Seeds.derive(42L, 2),
+                            Seeds.derive(42L, 3));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Nested
+    @DisplayName("with a stopping rule")
+    class WithStoppingRule {
+
+        @Test
+        @DisplayName("stops as soon as the winner is clear")
+        void stopsEarly() throws Exception {
+            Game game = Game.newBuilder(
+                    anyAIInput(),
+                    anyAIInput(),
+                    () -> MockedGE.anyWithWinner(Winner.PLAYER),
+                    service)
+                    .withNumberOfMatches(1000)
+                    .withStoppingRule(new WinRateConfidence(0.95, 10), 10)
+                    .build();
+
+            GameResult result = game.call();
+
+            assertThat(result.getNumberOfMatches()).isEqualTo(10L);
+            assertThat(result.getNumberOfMatchesSaved()).isEqualTo(990L);
+            assertThat(result.getWinner()).isEqualTo(Winner.PLAYER);
+        }
+
+        @Test
+        @DisplayName("plays up to the number of matches when the winner is not clear")
+        void playsAllMatchesWhenUndecided() throws Exception {
+            boolean[] playerWins = { false };
+            Supplier<GameEngine> alternating = () -> {
+                playerWins[0] = !playerWins[0];
+                return MockedGE.anyWithWinner(playerWins[0] ? Winner.PLAYER : Winner.OPPONENT);
+            };
+
+            Game game = Game.newBuilder(anyAIInput(), anyAIInput(), alternating, service)
+                    .withNumberOfMatches(40)
+                    .withStoppingRule(new WinRateConfidence(0.95, 10), 8)
+                    .build();
+
+            GameResult result = game.call();
+
+            assertThat(result.getNumberOfMatches()).isEqualTo(40L);
+            assertThat(result.getNumberOfMatchesSaved()).isEqualTo(0L);
+        }
+
+        @Test
+        @DisplayName("stops within the number of matches even when not a multiple of the batch size")
+        void lastBatchIsTruncated() throws Exception {
+            Supplier<GameEngine> gameEngine = () -> MockedGE.anyWithWinner(Winner.PLAYER);
+
+            Game game = Game.newBuilder(anyAIInput(), anyAIInput(), gameEngine, service)
+                    .withNumberOfMatches(7)
+                    .withStoppingRule(result -> false, 5)
+                    .build();
+
+            GameResult result = game.call();
+
+            assertThat(result.getNumberOfMatches()).isEqualTo(7L);
+        }
+    }
+
     @Nested
     @DisplayName("that finished, returns a result with")
     class Statisticts {
@@ -133,6 +406,23 @@ class GameTest implements WithAssertions {
             assertThat(result.getAveragePlayerScore()).isEqualTo(16);
         }
 
+        @Test
+        @DisplayName("the right player score variance")
+        void playerScoreVariance() throws Exception {
+            GameEngine match1 = MockedGE.anyWithPlayerScore(15);
+            GameEngine match2 = MockedGE.anyWithPlayerScore(16);
+            GameEngine match3 = MockedGE.anyWithPlayerScore(20);
+
+            List<GameEngine> matches = Arrays.asList(match1, match2, match3);
+            Iterator<GameEngine> it = matches.iterator();
+
+            Game game = new Game(anyAIInput(), anyAIInput(), it::next, service, matches.size());
+
+            GameResult result = game.call();
+
+            assertThat(result.getPlayerScoreVariance()).isCloseTo(7.0, within(1e-9));
+        }
+
         @Test
         @DisplayName("the right average opponent score")
         void averageOpponentScore() throws Exception {
@@ -0,0 +1,101 @@
+package player.game;
+
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import player.engine.Winner;
+import player.game.Game.MatchSummary;
+
+@DisplayName("A match result store")
+class MatchResultStoreTest implements WithAssertions {
+
+    @Test
+    @DisplayName("keeps the scores, rounds, winner, seed and cache status of each match")
+    void keepsOutcomes() {
+        MatchResultStore store = new MatchResultStore();
+
+        store.add(10, 5, 3, Winner.PLAYER, 42L, false);
+        store.add(2, 7, 9, Winner.OPPONENT, -1L, true);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.getPlayerScore(1)).isEqualTo(2);
+        assertThat(store.getOpponentScore(1)).isEqualTo(7);
+        assertThat(store.getRounds(1)).isEqualTo(9);
+        assertThat(store.getWinner(1)).isEqualTo(Winner.OPPONENT);
+        assertThat(store.getSeed(1)).isEqualTo(-1L);
+        assertThat(store.isCached(1)).isTrue();
+        assertThat(store.isCached(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("keeps matches whose game engine did not tell a winner")
+    void keepsMatchesWithoutWinner() {
+        MatchResultStore store = new MatchResultStore();
+
+        store.add(1, 1, 2, null, 7L, false);
+
+        assertThat(store.getWinner(0)).isNull();
+        assertThat(store.asList().get(0).getWinner()).isNull();
+    }
+
+    @Test
+    @DisplayName("grows past its initial capacity")
+    void grows() {
+        MatchResultStore store = new MatchResultStore();
+
+        for (int i = 0; i < 1000; i++) {
+            store.add(i, 0, 1, Winner.PLAYER, i, i % 2 == 0);
+        }
+
+        assertThat(store.size()).isEqualTo(1000);
+        assertThat(store.getPlayerScore(999)).isEqualTo(999);
+        assertThat(store.getSeed(500)).isEqualTo(500L);
+        assertThat(store.isCached(500)).isTrue();
+    }
+
+    @Test
+    @DisplayName("combined with another holds both matches, this ones first")
+    void combine() {
+        MatchResultStore first = new MatchResultStore();
+        first.add(1, 0, 1, Winner.PLAYER, 1L, false);
+        MatchResultStore second = new MatchResultStore();
+        second.add(2, 0, 1, Winner.PLAYER, 2L, false);
+        second.add(3, 0, 1, Winner.PLAYER, 3L, true);
+
+        MatchResultStore combined = first.combine(second);
+
+        assertThat(combined.size()).isEqualTo(3);
+        assertThat(combined.asList())
+                .extracting(MatchSummary::getPlayerScore)
+                .containsExactly(1, 2, 3);
+        assertThat(combined.asList())
+                .extracting(MatchSummary::isCached)
+                .containsExactly(false, false, true);
+        assertThat(first.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("is seen as a read only list of match summaries")
+    void asList() {
+        MatchResultStore store = new MatchResultStore();
+        store.add(10, 5, 3, Winner.PLAYER, 42L, true);
+
+        List<MatchSummary> results = store.asList();
+
+        assertThat(results).hasSize(1);
+        MatchSummary result = results.get(0);
+        assertThat(result.getPlayerScore()).isEqualTo(10);
+        assertThat(result.getOpponentScore()).isEqualTo(5);
+        assertThat(result.getRounds()).isEqualTo(3);
+        assertThat(result.getWinner()).isEqualTo(Winner.PLAYER);
+        assertThat(result.getSeed()).isEqualTo(42L);
+        assertThat(result.isCached()).isTrue();
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> results.add(result));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> results.get(1));
+    }
+}
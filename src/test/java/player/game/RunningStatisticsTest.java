@@ -0,0 +1,66 @@
+package player.game;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Running statistics")
+class RunningStatisticsTest implements WithAssertions {
+
+    @Test
+    @DisplayName("have no mean when empty")
+    void emptyMean() {
+        RunningStatistics statistics = new RunningStatistics();
+
+        assertThat(statistics.getCount()).isEqualTo(0L);
+        assertThat(statistics.getMean()).isNaN();
+        assertThat(statistics.getVariance()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("compute the mean and the sample variance")
+    void meanAndVariance() {
+        RunningStatistics statistics = new RunningStatistics();
+        for (double value : new double[] { 2, 4, 4, 4, 5, 5, 7, 9 }) {
+            statistics.add(value);
+        }
+
+        assertThat(statistics.getCount()).isEqualTo(8L);
+        assertThat(statistics.getSum()).isEqualTo(40.0);
+        assertThat(statistics.getMean()).isEqualTo(5.0);
+        assertThat(statistics.getVariance()).isCloseTo(32.0 / 7, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("can be combined into the statistics of all values")
+    void combine() {
+        RunningStatistics all = new RunningStatistics();
+        RunningStatistics left = new RunningStatistics();
+        RunningStatistics right = new RunningStatistics();
+
+        double[] values = { 1.5, 3, -2, 8, 13, 0.25, 7 };
+        for (int i = 0; i < values.length; i++) {
+            all.add(values[i]);
+            (i < 3 ? left : right).add(values[i]);
+        }
+
+        RunningStatistics combined = left.combine(right);
+
+        assertThat(combined.getCount()).isEqualTo(all.getCount());
+        assertThat(combined.getMean()).isCloseTo(all.getMean(), within(1e-9));
+        assertThat(combined.getVariance()).isCloseTo(all.getVariance(), within(1e-9));
+    }
+
+    @Test
+    @DisplayName("combined with empty statistics remain the same")
+    void combineWithEmpty() {
+        RunningStatistics statistics = new RunningStatistics();
+        statistics.add(3);
+        statistics.add(5);
+
+        RunningStatistics combined = new RunningStatistics().combine(statistics);
+
+        assertThat(combined.getMean()).isEqualTo(4.0);
+        assertThat(combined.getVariance()).isEqualTo(2.0);
+    }
+}
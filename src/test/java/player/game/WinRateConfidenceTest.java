@@ -0,0 +1,34 @@
+package player.game;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("A win rate confidence rule")
+class WinRateConfidenceTest implements WithAssertions {
+
+    @Test
+    @DisplayName("computes the standard normal quantiles")
+    void normalQuantiles() {
+        assertThat(WinRateConfidence.normalQuantile(0.975)).isCloseTo(1.959964, within(1e-3));
+        assertThat(WinRateConfidence.normalQuantile(0.995)).isCloseTo(2.575829, within(1e-3));
+        assertThat(WinRateConfidence.normalQuantile(0.025)).isCloseTo(-1.959964, within(1e-3));
+        assertThat(WinRateConfidence.normalQuantile(0.5)).isCloseTo(0.0, within(1e-3));
+    }
+
+    @Test
+    @DisplayName("computes the Wilson score interval")
+    void wilsonInterval() {
+        double[] interval = WinRateConfidence.wilsonInterval(8, 10, 1.959964);
+
+        assertThat(interval[0]).isCloseTo(0.4902, within(1e-4));
+        assertThat(interval[1]).isCloseTo(0.9433, within(1e-4));
+    }
+
+    @Test
+    @DisplayName("rejects confidence levels out of (0, 1)")
+    void rejectsInvalidConfidence() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new WinRateConfidence(1.0, 10));
+    }
+}
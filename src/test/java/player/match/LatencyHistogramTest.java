@@ -0,0 +1,85 @@
+package player.match;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("A latency histogram")
+class LatencyHistogramTest implements WithAssertions {
+
+    @Test
+    @DisplayName("has exact percentiles for small values")
+    void exactSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(10);
+        assertThat(histogram.getNanosAtPercentile(50.0)).isEqualTo(5);
+        assertThat(histogram.getNanosAtPercentile(100.0)).isEqualTo(10);
+        assertThat(histogram.getMaxNanos()).isEqualTo(10);
+        assertThat(histogram.getMeanNanos()).isEqualTo(5.5);
+    }
+
+    @Test
+    @DisplayName("keeps percentiles within their bucket precision")
+    void boundedRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertThat(histogram.getNanosAtPercentile(50.0)).isBetween(50_000_000L, 53_125_000L);
+        assertThat(histogram.getNanosAtPercentile(99.0)).isBetween(99_000_000L, 105_187_500L);
+        assertThat(histogram.getNanosAtPercentile(100.0)).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    @DisplayName("maps each value to a bucket that contains it")
+    void bucketsContainTheirValues() {
+        long[] values = { 0, 1, 15, 16, 17, 31, 32, 33, 1_000, 123_456_789, 1L << 40, (1L << 41) - 1 };
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucketOf(value);
+
+            assertThat(LatencyHistogram.highestValueOf(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.highestValueOf(bucket - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("records huge values in the last bucket")
+    void hugeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.getNanosAtPercentile(50.0)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("can be combined with another one")
+    void combine() {
+        LatencyHistogram first = new LatencyHistogram();
+        first.record(1);
+        first.record(2);
+        LatencyHistogram second = new LatencyHistogram();
+        second.record(3);
+
+        LatencyHistogram combined = first.combine(second);
+
+        assertThat(combined.getCount()).isEqualTo(3);
+        assertThat(combined.getMaxNanos()).isEqualTo(3);
+        assertThat(first.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("has no percentile when empty")
+    void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getNanosAtPercentile(99.0)).isEqualTo(0L);
+        assertThat(histogram.getMeanNanos()).isNaN();
+    }
+}
@@ -0,0 +1,218 @@
+package player.match;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import player.MockedAI;
+import player.Player.AI;
+import player.Player.Action;
+import player.engine.GameEngine;
+import player.engine.MockedGE;
+import player.engine.Winner;
+import player.match.Match.MatchResult;
+
+@DisplayName("A match pool")
+class MatchPoolTest implements WithAssertions {
+
+    @Test
+    @DisplayName("reuses instances that can be reset")
+    void reusesResettableInstances() {
+        AtomicInteger engines = new AtomicInteger();
+        AtomicInteger ais = new AtomicInteger();
+
+        MatchPool pool = new MatchPool(
+                countingAI(ais, true),
+                countingAI(ais, true),
+                countingGameEngine(engines, true));
+
+        MatchResult first = play(pool);
+        MatchResult second = play(pool);
+        play(pool);
+
+        assertThat(engines.get()).isEqualTo(1);
+        assertThat(ais.get()).isEqualTo(2);
+        assertThat(second.getGameEngine()).isSameAs(first.getGameEngine());
+        assertThat(second.getPlayer()).isSameAs(first.getPlayer());
+    }
+
+    @Test
+    @DisplayName("builds new instances when the game engine cannot be reset")
+    void buildsNewInstancesWhenEngineIsNotResettable() {
+        AtomicInteger engines = new AtomicInteger();
+        AtomicInteger ais = new AtomicInteger();
+
+        MatchPool pool = new MatchPool(
+                countingAI(ais, true),
+                countingAI(ais, true),
+                countingGameEngine(engines, false));
+
+        play(pool);
+        play(pool);
+        play(pool);
+
+        assertThat(engines.get()).isEqualTo(3);
+        assertThat(ais.get()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("builds new ais when only them cannot be reset")
+    void buildsNewAIsWhenNotResettable() {
+        AtomicInteger engines = new AtomicInteger();
+        AtomicInteger ais = new AtomicInteger();
+
+        MatchPool pool = new MatchPool(
+                countingAI(ais, false),
+                countingAI(ais, false),
+                countingGameEngine(engines, true));
+
+        play(pool);
+        play(pool);
+        play(pool);
+
+        assertThat(engines.get()).isEqualTo(1);
+        assertThat(ais.get()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("does not share instances between matches played at once")
+    void doesNotShareInstancesBetweenConcurrentMatches() {
+        AtomicInteger engines = new AtomicInteger();
+        AtomicInteger ais = new AtomicInteger();
+
+        MatchPool pool = new MatchPool(
+                countingAI(ais, true),
+                countingAI(ais, true),
+                countingGameEngine(engines, true));
+
+        Match first = pool.newMatch();
+        Match second = pool.newMatch();
+        MatchResult firstResult = first.call();
+        MatchResult secondResult = second.call();
+
+        assertThat(engines.get()).isEqualTo(2);
+        assertThat(secondResult.getGameEngine()).isNotSameAs(firstResult.getGameEngine());
+    }
+
+    @Test
+    @DisplayName("reuses instances released by another thread, rather than keeping them per thread")
+    void reusesInstancesAcrossThreads() throws Exception {
+        AtomicInteger engines = new AtomicInteger();
+        AtomicInteger ais = new AtomicInteger();
+
+        MatchPool pool = new MatchPool(
+                countingAI(ais, true),
+                countingAI(ais, true),
+                countingGameEngine(engines, true));
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        MatchResult first = executorService.submit(() -> play(pool)).get();
+        executorService.shutdown();
+
+        MatchResult other = play(pool);
+
+        assertThat(engines.get()).isEqualTo(1);
+        assertThat(other.getGameEngine()).isSameAs(first.getGameEngine());
+    }
+
+    @Test
+    @DisplayName("does not reuse instances that were not released")
+    void doesNotReuseUnreleasedInstances() {
+        AtomicInteger engines = new AtomicInteger();
+        AtomicInteger ais = new AtomicInteger();
+
+        MatchPool pool = new MatchPool(
+                countingAI(ais, true),
+                countingAI(ais, true),
+                countingGameEngine(engines, true));
+
+        pool.newMatch().call();
+        pool.newMatch().call();
+
+        assertThat(engines.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("hands the random streams of the match to reused instances, so that it only depends on its seed")
+    void reseedsReusedInstances() {
+        MatchPool fresh = drawingPool();
+        MatchPool reused = drawingPool();
+        MatchResult former = reused.newMatch(7L).call();
+        reused.release(former);
+
+        MatchResult expected = fresh.newMatch(42L).call();
+        MatchResult actual = reused.newMatch(42L).call();
+
+        assertThat(actual.getPlayer()).isSameAs(former.getPlayer());
+        assertThat(((DrawingAI) actual.getPlayer()).draw).isEqualTo(((DrawingAI) expected.getPlayer()).draw);
+        assertThat(((DrawingAI) actual.getOpponent()).draw).isEqualTo(((DrawingAI) expected.getOpponent()).draw);
+    }
+
+    private static MatchPool drawingPool() {
+        return new MatchPool(
+                (input, random) -> new DrawingAI(random),
+                (input, random) -> new DrawingAI(random),
+                SeededGameEngineFactory.of(() -> MockedGE.newBuilder()
+                        .withWinner(Winner.PLAYER)
+                        .withReset(true)
+                        .build()),
+                false);
+    }
+
+    private static MatchResult play(MatchPool pool) {
+        MatchResult result = pool.newMatch().call();
+        pool.release(result);
+        return result;
+    }
+
+    private static Function<IntSupplier, Supplier<AI>> countingAI(AtomicInteger counter, boolean resettable) {
+        return (input) -> () -> {
+            counter.incrementAndGet();
+            return resettable ? MockedAI.anyResettable() : MockedAI.any();
+        };
+    }
+
+    private static Supplier<GameEngine> countingGameEngine(AtomicInteger counter, boolean resettable) {
+        return () -> {
+            counter.incrementAndGet();
+            return MockedGE.newBuilder()
+                    .withWinner(Winner.PLAYER)
+                    .withReset(resettable)
+                    .build();
+        };
+    }
+
+    /**
+     * Draws a number from its random stream when built or reset
+     */
+    private static final class DrawingAI extends AI {
+
+        private long draw;
+
+        DrawingAI(SplittableRandom random) {
+            super(() -> {
+                // ILB
+            });
+            this.draw = random.nextLong();
+        }
+
+        @Override
+        public Action[] play() {
+            return new Action[0];
+        }
+
+        @Override
+        public boolean reset(SplittableRandom random) {
+            draw = random.nextLong();
+            return true;
+        }
+    }
+}
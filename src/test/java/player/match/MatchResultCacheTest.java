@@ -0,0 +1,264 @@
+package player.match;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+
+import player.MockedAI;
+import player.engine.MockedGE;
+import player.engine.MultipleRoundMockedGE;
+import player.engine.Winner;
+import player.match.Match.MatchResult;
+
+@DisplayName("A match result cache")
+class MatchResultCacheTest implements WithAssertions {
+
+    private Path file;
+
+    @BeforeEach
+    void init() throws IOException {
+        file = Files.createTempFile("matches", ".cache");
+        Files.delete(file);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("does not play again an already played match")
+    void doesNotPlayAgain() throws IOException {
+        AtomicInteger played = new AtomicInteger();
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            MatchResult first = play(cache, played, 42L, 7);
+            MatchResult second = play(cache, played, 42L, 7);
+
+            assertThat(played.get()).isEqualTo(1);
+            assertThat(first.isCached()).isFalse();
+            assertThat(second.isCached()).isTrue();
+            assertThat(second.getPlayerScore()).isEqualTo(7);
+            assertThat(second.getWinner()).isEqualTo(Winner.PLAYER);
+        }
+    }
+
+    @Test
+    @DisplayName("plays matches with another seed")
+    void playsOtherSeeds() throws IOException {
+        AtomicInteger played = new AtomicInteger();
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            play(cache, played, 42L, 7);
+            play(cache, played, 43L, 7);
+
+            assertThat(played.get()).isEqualTo(2);
+            assertThat(cache.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("keeps results from one run to another")
+    void persistsResults() throws IOException {
+        AtomicInteger played = new AtomicInteger();
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            play(cache, played, 42L, 7);
+        }
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            MatchResult result = play(cache, played, 42L, 9);
+
+            assertThat(played.get()).isEqualTo(1);
+            assertThat(result.getPlayerScore()).isEqualTo(7);
+        }
+    }
+
+    @Test
+    @DisplayName("drops a truncated record")
+    void dropsTruncatedRecord() throws IOException {
+        AtomicInteger played = new AtomicInteger();
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            play(cache, played, 42L, 7);
+        }
+        Files.write(file, new byte[] { 0, 42, 'p' }, StandardOpenOption.APPEND);
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            assertThat(cache.size()).isEqualTo(1);
+            play(cache, played, 43L, 7);
+        }
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            assertThat(cache.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("drops a corrupted record and the rest of the file")
+    void dropsCorruptedRecord() throws IOException {
+        AtomicInteger played = new AtomicInteger();
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            play(cache, played, 42L, 7);
+            play(cache, played, 43L, 7);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 10] ^= 1;
+        Files.write(file, bytes);
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            assertThat(cache.size()).isEqualTo(1);
+            play(cache, played, 44L, 7);
+        }
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            assertThat(cache.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("starts over from a file that is not a cache")
+    void startsOverFromForeignFile() throws IOException {
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            assertThat(cache.size()).isEqualTo(0);
+            play(cache, new AtomicInteger(), 42L, 7);
+        }
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            assertThat(cache.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("keeps matches whose game engine did not tell a winner")
+    void keepsMatchesWithoutWinner() throws IOException {
+        AtomicInteger played = new AtomicInteger();
+        SeededAIFactory ai = (input, random) -> MockedAI.any();
+        SeededGameEngineFactory gameEngine = (random) -> {
+            played.incrementAndGet();
+            return MockedGE.newBuilder().withWinner(null).build();
+        };
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            Match.newSeededBuilder(ai, ai, gameEngine).withSeed(1L).withResultCache(cache).build().call();
+        }
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            MatchResult result = Match.newSeededBuilder(ai, ai, gameEngine)
+                    .withSeed(1L)
+                    .withResultCache(cache)
+                    .build()
+                    .call();
+
+            assertThat(result.isCached()).isTrue();
+            assertThat(result.getWinner()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("does not build the ais and game engine of a cached match")
+    void doesNotBuildCachedMatches() throws IOException {
+        AtomicInteger built = new AtomicInteger();
+        SeededAIFactory ai = (input, random) -> {
+            built.incrementAndGet();
+            return MockedAI.any();
+        };
+        SeededGameEngineFactory gameEngine = (random) -> {
+            built.incrementAndGet();
+            return MockedGE.anyWithWinner(Winner.PLAYER);
+        };
+
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            MatchResult first = Match.newSeededBuilder(ai, ai, gameEngine)
+                    .withSeed(1L)
+                    .withResultCache(cache)
+                    .build()
+                    .call();
+            MatchResult second = Match.newSeededBuilder(ai, ai, gameEngine)
+                    .withSeed(1L)
+                    .withResultCache(cache)
+                    .build()
+                    .call();
+
+            assertThat(built.get()).isEqualTo(3);
+            assertThat(second.isCached()).isTrue();
+            assertThat(second.getPlayer()).isEqualTo(first.getPlayer());
+        }
+    }
+
+    @Test
+    @DisplayName("requires matches to be seeded")
+    void requiresSeed() throws IOException {
+        try (MatchResultCache cache = new MatchResultCache(file)) {
+            Match.Builder builder = Match.newBuilder((input) -> MockedAI::any, (input) -> MockedAI::any, MockedGE::any)
+                    .withResultCache(cache);
+
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(builder::build)
+                    .withMessageContaining("random seed");
+        }
+    }
+
+    @Test
+    @DisplayName("rejects configurations that are not stable from one run to another")
+    void rejectsUnstableConfiguration() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> MatchResultCache.key(
+                        MockedAI.anyConf(ImmutableMap.of("model", new Object())),
+                        MockedAI.any(),
+                        MockedGE.any(),
+                        1L))
+                .withMessageContaining("model");
+    }
+
+    @Test
+    @DisplayName("identifies matches by class and configuration, whatever the configuration order")
+    void keyIgnoresConfigurationOrder() {
+        HashCode key = MatchResultCache.key(
+                MockedAI.anyConf(ImmutableMap.of("a", 1, "b", 2)),
+                MockedAI.any(),
+                MockedGE.any(),
+                1L);
+        HashCode sameKey = MatchResultCache.key(
+                MockedAI.anyConf(ImmutableMap.of("b", 2, "a", 1)),
+                MockedAI.any(),
+                MockedGE.any(),
+                1L);
+        HashCode otherKey = MatchResultCache.key(
+                MockedAI.anyConf(ImmutableMap.of("a", 1, "b", 3)),
+                MockedAI.any(),
+                MockedGE.any(),
+                1L);
+
+        assertThat(key).isEqualTo(sameKey).isNotEqualTo(otherKey);
+    }
+
+    private static MatchResult play(MatchResultCache cache, AtomicInteger played, long seed, int playerScore) {
+        SeededAIFactory ai = (input, random) -> MockedAI.any();
+        SeededGameEngineFactory gameEngine = (random) -> new MultipleRoundMockedGE(
+                MockedGE.newBuilder().withWinner(Winner.ON_GOING),
+                MockedGE.newBuilder().withWinner(Winner.PLAYER).withPlayerScore(playerScore)) {
+
+            @Override
+            public void start() {
+                played.incrementAndGet();
+                super.start();
+            }
+        };
+
+        return Match.newSeededBuilder(ai, ai, gameEngine)
+                .withSeed(seed)
+                .withResultCache(cache)
+                .build()
+                .call();
+    }
+}
@@ -3,6 +3,13 @@ package player.match;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
@@ -22,6 +29,10 @@ import player.engine.MockedGE;
 import player.engine.MultipleRoundMockedGE;
 import player.engine.Winner;
 import player.match.Match.MatchResult;
+import player.match.Match.OverrunPolicy;
+import player.replay.MatchReplay;
+import player.replay.ReplayReader;
+import player.replay.ReplayRecorder;
 
 @DisplayName("A match")
 class MatchTest implements WithAssertions {
@@ -90,6 +101,210 @@ class MatchTest implements WithAssertions {
         assertThat(opponentAction).isEqualTo(opponentActions.getValue()[0]);
     }
 
+    @Nested
+    @DisplayName("when seeded")
+    class Seeded {
+
+        @Test
+        @DisplayName("gives the same random streams for the same seed")
+        void sameSeedSameStreams() {
+            List<Long> first = new ArrayList<>();
+            List<Long> second = new ArrayList<>();
+
+            playSeeded(first, 42L);
+            playSeeded(second, 42L);
+
+            assertThat(first).hasSize(3).isEqualTo(second);
+        }
+
+        @Test
+        @DisplayName("gives different random streams to each factory and for different seeds")
+        void differentSeedsDifferentStreams() {
+            List<Long> first = new ArrayList<>();
+            List<Long> second = new ArrayList<>();
+
+            MatchResult result = playSeeded(first, 42L);
+            playSeeded(second, 43L);
+
+            assertThat(first).doesNotHaveDuplicates();
+            assertThat(first).doesNotContainAnyElementsOf(second);
+            assertThat(result.getSeed()).isEqualTo(42L);
+        }
+
+        private MatchResult playSeeded(List<Long> draws, long seed) {
+            SeededAIFactory ai = (input, random) -> {
+                draws.add(random.nextLong());
+                return MockedAI.any();
+            };
+            SeededGameEngineFactory gameEngine = (random) -> {
+                draws.add(random.nextLong());
+                return MockedGE.anyWithWinner(Winner.PLAYER);
+            };
+
+            return Match.newSeededBuilder(ai, ai, gameEngine)
+                    .withSeed(seed)
+                    .build()
+                    .call();
+        }
+    }
+
+    @Nested
+    @DisplayName("when profiled")
+    class Profiled {
+
+        @Test
+        @DisplayName("records every AI play and game engine run")
+        void recordsEveryCall() {
+            MockedGE.Builder start = MockedGE.newBuilder().withWinner(Winner.ON_GOING);
+            MockedGE.Builder round1 = MockedGE.newBuilder().withWinner(Winner.ON_GOING);
+            MockedGE.Builder round2 = MockedGE.newBuilder().withWinner(Winner.PLAYER);
+
+            MultipleRoundMockedGE gameEngine = new MultipleRoundMockedGE(start, round1, round2);
+
+            MatchResult matchResult = Match.newBuilder(slowAIInput(), anyAIInput(), () -> gameEngine)
+                    .withProfiling(true)
+                    .build()
+                    .call();
+
+            MatchProfile profile = matchResult.getProfile();
+            assertThat(profile.getPlayer().getLatency().getCount()).isEqualTo(2);
+            assertThat(profile.getOpponent().getLatency().getCount()).isEqualTo(2);
+            assertThat(profile.getGameEngine().getLatency().getCount()).isEqualTo(2);
+            assertThat(profile.getPlayer().getLatency().getNanosAtPercentile(50.0))
+                    .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+            assertThat(profile.getPlayer().getAllocatedBytes()).isGreaterThanOrEqualTo(0L);
+        }
+
+        @Test
+        @DisplayName("is not profiled by default")
+        void notProfiledByDefault() {
+            Match match = new Match(anyAIInput(), anyAIInput(), () -> MockedGE.anyWithWinner(Winner.PLAYER));
+
+            MatchResult matchResult = match.call();
+
+            assertThat(matchResult.hasProfile()).isFalse();
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(matchResult::getProfile);
+        }
+    }
+
+    @Nested
+    @DisplayName("when recorded")
+    class Recorded {
+
+        @Test
+        @DisplayName("writes the inputs read and the actions played at each turn")
+        void recordsTurns() throws IOException {
+            MockedGE.Builder start = MockedGE.newBuilder()
+                    .withWinner(Winner.ON_GOING)
+                    .withPlayerInput(new int[] { 3 })
+                    .withOpponentInput(4);
+            MockedGE.Builder round1 = MockedGE.newBuilder()
+                    .withWinner(Winner.ON_GOING)
+                    .withPlayerInput(new int[] { 5 })
+                    .withOpponentInput(6);
+            MockedGE.Builder round2 = MockedGE.newBuilder()
+                    .withWinner(Winner.PLAYER)
+                    .withPlayerScore(12)
+                    .withPlayerInput(new int[] { 7 })
+                    .withOpponentInput(8);
+
+            MultipleRoundMockedGE gameEngine = new MultipleRoundMockedGE(start, round1, round2);
+
+            Path file = Files.createTempFile("match", ".replay");
+            try {
+                try (ReplayRecorder recorder = new ReplayRecorder(file)) {
+                    Match.newBuilder(readingAIInput(), readingAIInput(), () -> gameEngine)
+                            .withSeed(42L)
+                            .withReplayRecorder(recorder)
+                            .build()
+                            .call();
+                }
+
+                MatchReplay replay = ReplayReader.readAll(file).get(0);
+                assertThat(replay.getSeed()).isEqualTo(42L);
+                assertThat(replay.getPlayerScore()).isEqualTo(12);
+                assertThat(replay.getWinner()).isEqualTo(Winner.PLAYER);
+                assertThat(replay.getTurns()).hasSize(2);
+                assertThat(replay.getTurns().get(0).getPlayerInputs()).containsExactly(3);
+                assertThat(replay.getTurns().get(0).getOpponentInputs()).containsExactly(4);
+                assertThat(replay.getTurns().get(0).getPlayerActions()).containsExactly("READ 3");
+                assertThat(replay.getTurns().get(1).getPlayerInputs()).containsExactly(5);
+                assertThat(replay.getTurns().get(1).getOpponentActions()).containsExactly("READ 6");
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("with a turn budget")
+    class WithTurnBudget {
+
+        @Test
+        @DisplayName("records each AI turns")
+        void recordsTurns() {
+            MockedGE.Builder start = MockedGE.newBuilder().withWinner(Winner.ON_GOING);
+            MockedGE.Builder round1 = MockedGE.newBuilder().withWinner(Winner.ON_GOING);
+            MockedGE.Builder round2 = MockedGE.newBuilder().withWinner(Winner.PLAYER);
+
+            MultipleRoundMockedGE gameEngine = new MultipleRoundMockedGE(start, round1, round2);
+
+            Match match = new Match(
+                    anyAIInput(),
+                    anyAIInput(),
+                    () -> gameEngine,
+                    1,
+                    TimeUnit.HOURS,
+                    OverrunPolicy.RECORD);
+
+            MatchResult matchResult = match.call();
+
+            assertThat(matchResult.getPlayerTurnBudget().getTurns()).isEqualTo(2);
+            assertThat(matchResult.getOpponentTurnBudget().getTurns()).isEqualTo(2);
+            assertThat(matchResult.getPlayerTurnBudget().getOverruns()).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("only records overruns by default")
+        void recordsOverruns() {
+            Supplier<GameEngine> gameEngineBuild = () -> MockedGE.anyWithWinner(Winner.PLAYER);
+
+            Match match = new Match(
+                    slowAIInput(),
+                    anyAIInput(),
+                    gameEngineBuild,
+                    1,
+                    TimeUnit.MILLISECONDS,
+                    OverrunPolicy.RECORD);
+
+            MatchResult matchResult = match.call();
+
+            assertThat(matchResult.getWinner()).isEqualTo(Winner.PLAYER);
+            assertThat(matchResult.getPlayerTurnBudget().getOverruns()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("makes an AI that exceeds its budget forfeit")
+        void forfeitsOnOverrun() {
+            GameEngine gameEngine = Mockito.mock(GameEngine.class);
+            when(gameEngine.getWinner()).thenReturn(Winner.PLAYER);
+
+            Match match = new Match(
+                    slowAIInput(),
+                    anyAIInput(),
+                    () -> gameEngine,
+                    1,
+                    TimeUnit.MILLISECONDS,
+                    OverrunPolicy.FORFEIT);
+
+            MatchResult matchResult = match.call();
+
+            assertThat(matchResult.getWinner()).isEqualTo(Winner.OPPONENT);
+            verify(gameEngine, Mockito.never()).run(Mockito.any(), Mockito.any());
+        }
+    }
+
     @Nested
     @DisplayName("returns")
     class MatchResults {
@@ -146,4 +361,61 @@ class MatchTest implements WithAssertions {
     private static Function<IntSupplier, Supplier<Player.AI>> anyAIInput() {
         return (input) -> MockedAI::any;
     }
+
+    private static Function<IntSupplier, Supplier<Player.AI>> slowAIInput() {
+        return (input) -> SlowAI::new;
+    }
+
+    private static Function<IntSupplier, Supplier<Player.AI>> readingAIInput() {
+        return (input) -> () -> new ReadingAI(input);
+    }
+
+    /**
+     * Reads a single input per turn, and plays it back
+     */
+    private static class ReadingAI extends Player.AI {
+
+        private final IntSupplier input;
+
+        ReadingAI(IntSupplier input) {
+            super(Collections.emptyMap(), ReadingAI::noOp);
+            this.input = input;
+        }
+
+        @Override
+        public Action[] play() {
+            String command = "READ " + input.getAsInt();
+            return new Action[] { new Action() {
+                @Override
+                public String asString() {
+                    return command;
+                }
+            } };
+        }
+
+        private static void noOp() {
+            // ILB
+        }
+    }
+
+    private static class SlowAI extends Player.AI {
+
+        SlowAI() {
+            super(Collections.emptyMap(), SlowAI::noOp);
+        }
+
+        @Override
+        public Action[] play() {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Action[0];
+        }
+
+        private static void noOp() {
+            // ILB
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package player.match;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Seeds")
+class SeedsTest implements WithAssertions {
+
+    @Test
+    @DisplayName("derive the same seed from the same root and index")
+    void deterministic() {
+        assertThat(Seeds.derive(42L, 7)).isEqualTo(Seeds.derive(42L, 7));
+    }
+
+    @Test
+    @DisplayName("derive distinct seeds for distinct indexes and roots")
+    void distinct() {
+        Set<Long> seeds = new HashSet<>();
+        for (long root = 0; root < 10; root++) {
+            for (int index = 0; index < 1_000; index++) {
+                seeds.add(Seeds.derive(root, index));
+            }
+        }
+
+        assertThat(seeds).hasSize(10_000);
+    }
+}
@@ -0,0 +1,76 @@
+package player.replay;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import player.Player.Action;
+import player.engine.GameEngine;
+import player.engine.Winner;
+
+@DisplayName("A capture importer")
+class CaptureImporterTest implements WithAssertions {
+
+    private static final Action[] NO_ACTIONS = new Action[0];
+
+    private Path capture;
+    private Path file;
+
+    @BeforeEach
+    void init() throws IOException {
+        capture = Files.createTempFile("stdin", ".txt");
+        file = Files.createTempFile("game", ".replay");
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Files.deleteIfExists(capture);
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("records the captured inputs of the player turn by turn")
+    void importsTurns() throws IOException {
+        Files.write(capture, Arrays.asList("3 -4", "5", "", "", "6", "  7 8  ", ""), StandardCharsets.UTF_8);
+
+        try (ReplayRecorder recorder = new ReplayRecorder(file)) {
+            assertThat(CaptureImporter.importCapture(capture, recorder, 9L)).isEqualTo(2);
+        }
+
+        GameEngine gameEngine = ReplayFile.open(file).gameEngine(0);
+        gameEngine.start();
+        assertThat(gameEngine.playerInput()).isEqualTo(3);
+        assertThat(gameEngine.playerInput()).isEqualTo(-4);
+        assertThat(gameEngine.playerInput()).isEqualTo(5);
+        gameEngine.run(NO_ACTIONS, NO_ACTIONS);
+        assertThat(gameEngine.playerInput()).isEqualTo(6);
+        assertThat(gameEngine.playerInput()).isEqualTo(7);
+        assertThat(gameEngine.playerInput()).isEqualTo(8);
+        gameEngine.run(NO_ACTIONS, NO_ACTIONS);
+
+        assertThat(gameEngine.getWinner()).isNull();
+        assertThat(gameEngine.getNumberOfRounds()).isEqualTo(2);
+        assertThat(ReplayReader.readAll(file)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("rejects captures holding anything but integers")
+    void rejectsNonIntegers() throws IOException {
+        Files.write(capture, Arrays.asList("1 2", "three"), StandardCharsets.UTF_8);
+
+        try (ReplayRecorder recorder = new ReplayRecorder(file)) {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> CaptureImporter.importCapture(capture, recorder, 0L))
+                    .withMessageContaining("line 2");
+            assertThat(recorder.getNumberOfMatches()).isZero();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package player.replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import player.MockedAI;
+import player.Player.AI;
+import player.Player.Action;
+import player.engine.GameEngine;
+import player.engine.Winner;
+import player.game.Game;
+import player.game.Game.GameResult;
+import player.match.Match;
+import player.match.Match.MatchResult;
+
+@DisplayName("A replay game engine")
+class ReplayGETest implements WithAssertions {
+
+    private static final Action[] NO_ACTIONS = new Action[0];
+
+    private Path file;
+
+    @BeforeEach
+    void init() throws IOException {
+        file = Files.createTempFile("game", ".replay");
+        try (ReplayRecorder recorder = new ReplayRecorder(file)) {
+            MatchRecording first = recorder.newRecording(1L);
+            first.playerInput(10);
+            first.playerInput(-20);
+            first.opponentInput(30);
+            first.turn(actions("MOVE"), NO_ACTIONS);
+            first.playerInput(40);
+            first.opponentInput(50);
+            first.opponentInput(60);
+            first.turn(NO_ACTIONS, actions("WAIT", "WAIT"));
+            first.end(Winner.OPPONENT, 3, 9, 2);
+
+            MatchRecording second = recorder.newRecording(2L);
+            second.playerInput(7);
+            second.turn(NO_ACTIONS, NO_ACTIONS);
+            second.end(Winner.PLAYER, 1, 0, 1);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("indexes the recorded matches")
+    void indexesMatches() throws IOException {
+        assertThat(ReplayFile.open(file).getNumberOfMatches()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("serves the recorded inputs turn by turn, and ends as recorded")
+    void servesInputs() throws IOException {
+        GameEngine gameEngine = ReplayFile.open(file).gameEngine(0);
+
+        gameEngine.start();
+        assertThat(gameEngine.getWinner()).isEqualTo(Winner.ON_GOING);
+        assertThat(gameEngine.playerInput()).isEqualTo(10);
+        assertThat(gameEngine.playerInput()).isEqualTo(-20);
+        assertThat(gameEngine.opponentInput()).isEqualTo(30);
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(gameEngine::playerInput);
+
+        gameEngine.run(NO_ACTIONS, NO_ACTIONS);
+        assertThat(gameEngine.getWinner()).isEqualTo(Winner.ON_GOING);
+        assertThat(gameEngine.playerInput()).isEqualTo(40);
+        assertThat(gameEngine.opponentInput()).isEqualTo(50);
+        assertThat(gameEngine.opponentInput()).isEqualTo(60);
+
+        gameEngine.run(NO_ACTIONS, NO_ACTIONS);
+        assertThat(gameEngine.getWinner()).isEqualTo(Winner.OPPONENT);
+        assertThat(gameEngine.getPlayerScore()).isEqualTo(3);
+        assertThat(gameEngine.getOpponentScore()).isEqualTo(9);
+        assertThat(gameEngine.getNumberOfRounds()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("drops the inputs left unread at the end of a turn")
+    void dropsUnreadInputs() throws IOException {
+        GameEngine gameEngine = ReplayFile.open(file).gameEngine(0);
+
+        gameEngine.start();
+        gameEngine.run(NO_ACTIONS, NO_ACTIONS);
+
+        assertThat(gameEngine.playerInput()).isEqualTo(40);
+        assertThat(gameEngine.opponentInput()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("is not reused by another match, which must play its own recording")
+    void reset() throws IOException {
+        GameEngine gameEngine = ReplayFile.open(file).gameEngine(1);
+        gameEngine.start();
+        gameEngine.run(NO_ACTIONS, NO_ACTIONS);
+
+        assertThat(gameEngine.reset(new SplittableRandom())).isFalse();
+    }
+
+    @Test
+    @DisplayName("plays recorded matches against any AI")
+    void playsAgainstAI() throws IOException {
+        ReplayFile replays = ReplayFile.open(file);
+        List<Integer> read = new ArrayList<>();
+
+        MatchResult result = Match.newBuilder(
+                (input) -> () -> new ReadingAI(input, read),
+                (input) -> MockedAI::any,
+                () -> replays.gameEngine(0))
+                .build()
+                .call();
+
+        assertThat(read).containsExactly(10, 40);
+        assertThat(result.getWinner()).isEqualTo(Winner.OPPONENT);
+        assertThat(result.getRounds()).isEqualTo(2);
+        assertThat(result.getGameEngine().getConf()).isEqualTo(replays.gameEngine(1).getConf());
+    }
+
+    @Test
+    @DisplayName("plays the recorded match drawn from the match seed")
+    void drawsMatchFromSeed() throws IOException {
+        ReplayFile replays = ReplayFile.open(file);
+
+        for (long seed = 0; seed < 20; seed++) {
+            List<Winner> winners = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                winners.add(Match.newSeededBuilder(
+                        (input, random) -> MockedAI.any(),
+                        (input, random) -> MockedAI.any(),
+                        replays.bySeed())
+                        .withSeed(seed)
+                        .build()
+                        .call()
+                        .getWinner());
+            }
+
+            assertThat(winners.get(1)).isEqualTo(winners.get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("plays all recorded matches of a game")
+    void playsAllMatchesOfGame() throws Exception {
+        ReplayFile replays = ReplayFile.open(file);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GameResult result = Game.newSeededBuilder(
+                    (input, random) -> MockedAI.any(),
+                    (input, random) -> MockedAI.any(),
+                    replays.bySeed(),
+                    executor)
+                    .withNumberOfMatches(50)
+                    .withInstancesReused(true)
+                    .withSeed(42L)
+                    .build()
+                    .call();
+
+            assertThat(result.getPlayerVictoryCount()).isPositive();
+            assertThat(result.getOpponentVictoryCount()).isPositive();
+            assertThat(result.getPlayerVictoryCount() + result.getOpponentVictoryCount()).isEqualTo(50L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Action[] actions(String... commands) {
+        Action[] actions = new Action[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            String command = commands[i];
+            actions[i] = new Action() {
+                @Override
+                public String asString() {
+                    return command;
+                }
+            };
+        }
+        return actions;
+    }
+
+    /**
+     * Reads a single input per turn
+     */
+    private static class ReadingAI extends AI {
+
+        private final IntSupplier input;
+        private final List<Integer> read;
+
+        ReadingAI(IntSupplier input, List<Integer> read) {
+            super(ReadingAI::noOp);
+            this.input = input;
+            this.read = read;
+        }
+
+        @Override
+        public Action[] play() {
+            read.add(input.getAsInt());
+            return NO_ACTIONS;
+        }
+
+        private static void noOp() {
+            // ILB
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package player.replay;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import player.Player.Action;
+import player.engine.Winner;
+import player.replay.MatchReplay.Turn;
+
+@DisplayName("A replay recorder")
+class ReplayRecorderTest implements WithAssertions {
+
+    private Path file;
+
+    @BeforeEach
+    void init() throws IOException {
+        file = Files.createTempFile("game", ".replay");
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("records the inputs and actions of every turn")
+    void recordsTurns() throws IOException {
+        try (ReplayRecorder recorder = new ReplayRecorder(file)) {
+            MatchRecording recording = recorder.newRecording(-42L);
+            recording.playerInput(10);
+            recording.playerInput(-3);
+            recording.opponentInput(Integer.MIN_VALUE);
+            recording.turn(actions("MOVE 1 2"), actions("WAIT", "SAY é"));
+            recording.playerInput(Integer.MAX_VALUE);
+            recording.turn(actions(), actions("WAIT"));
+            recording.end(Winner.OPPONENT, 3, -7, 2);
+        }
+
+        List<MatchReplay> replays = ReplayReader.readAll(file);
+
+        assertThat(replays).hasSize(1);
+        MatchReplay replay = replays.get(0);
+        assertThat(replay.getSeed()).isEqualTo(-42L);
+        assertThat(replay.getWinner()).isEqualTo(Winner.OPPONENT);
+        assertThat(replay.getPlayerScore()).isEqualTo(3);
+        assertThat(replay.getOpponentScore()).isEqualTo(-7);
+        assertThat(replay.getRounds()).isEqualTo(2);
+        assertThat(replay.getTurns()).hasSize(2);
+
+        Turn first = replay.getTurns().get(0);
+        assertThat(first.getPlayerInputs()).containsExactly(10, -3);
+        assertThat(first.getPlayerActions()).containsExactly("MOVE 1 2");
+        assertThat(first.getOpponentInputs()).containsExactly(Integer.MIN_VALUE);
+        assertThat(first.getOpponentActions()).containsExactly("WAIT", "SAY é");
+
+        Turn second = replay.getTurns().get(1);
+        assertThat(second.getPlayerInputs()).containsExactly(Integer.MAX_VALUE);
+        assertThat(second.getPlayerActions()).isEmpty();
+        assertThat(second.getOpponentInputs()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("records matches whose game engine did not tell a winner")
+    void recordsMatchesWithoutWinner() throws IOException {
+        try (ReplayRecorder recorder = new ReplayRecorder(file)) {
+            MatchRecording recording = recorder.newRecording(1L);
+            recording.turn(actions("WAIT"), actions("WAIT"));
+            recording.end(null, 0, 0, 1);
+        }
+
+        List<MatchReplay> replays = ReplayReader.readAll(file);
+
+        assertThat(replays).extracting(MatchReplay::getWinner).containsExactly((Winner) null);
+    }
+
+    @Test
+    @DisplayName("writes matches in the order they end, whatever their size")
+    void recordsManyMatches() throws IOException {
+        try (ReplayRecorder recorder = new ReplayRecorder(file)) {
+            for (int match = 0; match < 50; match++) {
+                MatchRecording recording = recorder.newRecording(match);
+                for (int turn = 0; turn < 100 * match; turn++) {
+                    recording.playerInput(turn * 1000);
+                    recording.turn(actions("MOVE " + turn), actions());
+                }
+                recording.end(Winner.PLAYER, match, 0, 100 * match);
+            }
+
+            assertThat(recorder.getNumberOfMatches()).isEqualTo(50);
+        }
+
+        List<MatchReplay> replays = ReplayReader.readAll(file);
+
+        assertThat(replays).extracting(MatchReplay::getSeed).hasSize(50).isSorted();
+        MatchReplay last = replays.get(49);
+        assertThat(last.getTurns()).hasSize(4900);
+        assertThat(last.getTurns().get(4899).getPlayerInputs()).containsExactly(4899000);
+        assertThat(last.getTurns().get(4899).getPlayerActions()).containsExactly("MOVE 4899");
+    }
+
+    @Test
+    @DisplayName("encodes inputs with a few bytes each")
+    void compact() throws IOException {
+        try (ReplayRecorder recorder = new ReplayRecorder(file)) {
+            MatchRecording recording = recorder.newRecording(0L);
+            for (int turn = 0; turn < 1000; turn++) {
+                for (int i = 0; i < 10; i++) {
+                    recording.playerInput(1_000_000 + turn + i);
+                    recording.opponentInput(-1_000_000 - turn - i);
+                }
+                recording.turn(actions(), actions());
+            }
+            recording.end(Winner.PLAYER, 0, 0, 1000);
+        }
+
+        assertThat(Files.size(file)).isLessThan(20_000 * 2L);
+    }
+
+    @Test
+    @DisplayName("refuses to read other files")
+    void notAReplay() throws IOException {
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6 });
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> ReplayReader.open(file));
+    }
+
+    private static Action[] actions(String... commands) {
+        Action[] actions = new Action[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            String command = commands[i];
+            actions[i] = new Action() {
+                @Override
+                public String asString() {
+                    return command;
+                }
+            };
+        }
+        return actions;
+    }
+}
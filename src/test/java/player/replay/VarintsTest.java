@@ -0,0 +1,41 @@
+package player.replay;
+
+import java.nio.ByteBuffer;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Varints")
+class VarintsTest implements WithAssertions {
+
+    @Test
+    @DisplayName("take a single byte for small values")
+    void smallValues() {
+        byte[] bytes = new byte[Varints.MAX_LENGTH];
+
+        assertThat(Varints.write(bytes, 0, 0L)).isEqualTo(1);
+        assertThat(Varints.write(bytes, 0, 127L)).isEqualTo(1);
+        assertThat(Varints.write(bytes, 0, 128L)).isEqualTo(2);
+        assertThat(Varints.write(bytes, 0, Varints.zigZag(-64L))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("read back the written values")
+    void roundTrip() {
+        long[] values = { 0L, 1L, -1L, 300L, -300L, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE,
+                Long.MIN_VALUE };
+        byte[] bytes = new byte[values.length * Varints.MAX_LENGTH];
+
+        int pos = 0;
+        for (long value : values) {
+            pos = Varints.write(bytes, pos, Varints.zigZag(value));
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, pos);
+        for (long value : values) {
+            assertThat(Varints.unZigZag(Varints.read(buffer))).isEqualTo(value);
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+}
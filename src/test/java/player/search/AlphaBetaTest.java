@@ -0,0 +1,129 @@
+package player.search;
+
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import player.Player.Action;
+import player.Player.TurnBudget;
+import player.engine.MockedGE;
+import player.engine.NumberGE;
+import player.engine.NumberGE.Pick;
+import player.search.MctsTest.Picks;
+
+@DisplayName("An alpha-beta search")
+class AlphaBetaTest implements WithAssertions {
+
+    @Test
+    @DisplayName("avoids the losing move and finds the winning one")
+    void findsWinningMove() {
+        NumberGE engine = start(new NumberGE(1, 2));
+
+        AlphaBeta search = AlphaBeta.newBuilder(new Picks(3, 1))
+                .withMaxDepth(3)
+                .build();
+        Action[] actions = search.search(engine, TurnBudget.unlimited());
+
+        assertThat(((Pick) actions[0]).getValue()).isEqualTo(1);
+        assertThat(search.getCompletedDepth()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("picks the move winning whatever the opponent answers")
+    void assumesBestAnswer() {
+        NumberGE engine = start(new NumberGE(1, 0));
+
+        Action[] actions = AlphaBeta.newBuilder(new Picks(3, 2))
+                .withMaxDepth(1)
+                .build()
+                .search(engine, TurnBudget.unlimited());
+
+        assertThat(((Pick) actions[0]).getValue()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("leaves the engine in the state it was given")
+    void restoresEngine() {
+        NumberGE engine = start(new NumberGE(6, 9));
+        engine.run(new Action[] { new Pick(2) }, new Action[] { new Pick(1) });
+
+        AlphaBeta.newBuilder(new Picks(3, 3))
+                .withMaxDepth(4)
+                .build()
+                .search(engine, TurnBudget.unlimited());
+
+        assertThat(engine.getNumberOfRounds()).isEqualTo(1);
+        assertThat(engine.getPlayerScore()).isEqualTo(2);
+        assertThat(engine.getOpponentScore()).isEqualTo(1);
+        assertThat(engine.snapshot()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("stops deepening once the turn budget is spent")
+    void stopsOnBudget() {
+        NumberGE engine = start(new NumberGE(60, 9));
+
+        TurnBudget budget = new TurnBudget(20, TimeUnit.MILLISECONDS);
+        budget.startTurn();
+        AlphaBeta search = AlphaBeta.newBuilder(new Picks(4, 4)).build();
+        Action[] actions = search.search(engine, budget);
+
+        assertThat(actions).hasSize(1);
+        assertThat(budget.elapsedNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(search.getCompletedDepth()).isBetween(1, 63);
+    }
+
+    @Nested
+    @DisplayName("with a transposition table")
+    class WithTable {
+
+        @Test
+        @DisplayName("finds the same move visiting fewer nodes")
+        void visitsFewerNodes() {
+            AlphaBeta plain = AlphaBeta.newBuilder(new Picks(4, 4))
+                    .withMaxDepth(4)
+                    .build();
+            AlphaBeta cached = AlphaBeta.newBuilder(new Picks(4, 4))
+                    .withMaxDepth(4)
+                    .withTranspositionTable(new TranspositionTable(16))
+                    .build();
+
+            Action[] expected = plain.search(start(new NumberGE(4, 3)), TurnBudget.unlimited());
+            Action[] actual = cached.search(start(new NumberGE(4, 3)), TurnBudget.unlimited());
+
+            assertThat(((Pick) actual[0]).getValue()).isEqualTo(((Pick) expected[0]).getValue());
+            assertThat(cached.getNodes()).isLessThan(plain.getNodes());
+        }
+
+        @Test
+        @DisplayName("finds the winning move, keyed by the engine state hash")
+        void findsWinningMove() {
+            AlphaBeta search = AlphaBeta.newBuilder(new Picks(3, 1))
+                    .withMaxDepth(3)
+                    .withTranspositionTable(new TranspositionTable(10))
+                    .build();
+
+            Action[] actions = search.search(start(new NumberGE(1, 2)), TurnBudget.unlimited());
+
+            assertThat(((Pick) actions[0]).getValue()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("rejects engines without snapshots")
+    void rejectsEngineWithoutSnapshots() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> AlphaBeta.newBuilder(new Picks(2, 2))
+                        .build()
+                        .search(MockedGE.any(), TurnBudget.unlimited()))
+                .withMessageContaining("does not support snapshots");
+    }
+
+    private static NumberGE start(NumberGE engine) {
+        engine.start();
+        return engine;
+    }
+}
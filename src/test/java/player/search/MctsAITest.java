@@ -0,0 +1,82 @@
+package player.search;
+
+import java.util.Map;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import player.Player.Action;
+import player.engine.GameEngine;
+import player.engine.NumberGE;
+import player.engine.NumberGE.Pick;
+import player.search.MctsTest.Picks;
+
+@DisplayName("A Monte Carlo tree search AI")
+class MctsAITest implements WithAssertions {
+
+    @Test
+    @DisplayName("searches on a single thread by default")
+    void singleThreadedByDefault() {
+        NumbersAI ai = new NumbersAI(ImmutableMap.of());
+
+        Action[] actions = ai.play();
+
+        assertThat(((Pick) actions[0]).getValue()).isEqualTo(1);
+        assertThat(ai.getPlayouts()).isEqualTo(2000);
+        assertThat(ai.requestedThreads).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("searches on the configured threads with the configured parallelism")
+    void parallelWhenConfigured() {
+        NumbersAI ai = new NumbersAI(ImmutableMap.of(MctsAI.THREADS, 3, MctsAI.PARALLELISM, "tree"));
+
+        Action[] actions = ai.play();
+
+        assertThat(((Pick) actions[0]).getValue()).isEqualTo(1);
+        assertThat(ai.getPlayouts()).isEqualTo(2000);
+        assertThat(ai.requestedThreads).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("shares search threads between AIs, so AIs built per match leave no thread behind")
+    void sharesSearchThreads() {
+        for (int i = 0; i < 20; i++) {
+            new NumbersAI(ImmutableMap.of(MctsAI.THREADS, 3)).play();
+        }
+
+        long searchThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("mcts-"))
+                .count();
+        assertThat(searchThreads).isPositive().isLessThan(20L * 3);
+    }
+
+    @Test
+    @DisplayName("rejects unknown parallelism")
+    void rejectsUnknownParallelism() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new NumbersAI(ImmutableMap.of(MctsAI.THREADS, 2, MctsAI.PARALLELISM, "leaf")));
+    }
+
+    private static final class NumbersAI extends MctsAI {
+
+        private int requestedThreads;
+
+        NumbersAI(Map<String, Object> conf) {
+            super(conf, () -> {
+                // ILB
+            }, Mcts.newBuilder(new Picks(3, 1)).withMaxPlayouts(2000));
+        }
+
+        @Override
+        protected GameEngine forwardModel(int thread) {
+            requestedThreads = Math.max(requestedThreads, thread + 1);
+            NumberGE engine = new NumberGE(3, 2);
+            engine.start();
+            return engine;
+        }
+    }
+}
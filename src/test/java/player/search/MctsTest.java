@@ -0,0 +1,202 @@
+package player.search;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import player.Player.Action;
+import player.Player.TurnBudget;
+import player.engine.GameEngine;
+import player.engine.MockedGE;
+import player.engine.NumberGE;
+import player.engine.NumberGE.Pick;
+
+@DisplayName("A Monte Carlo tree search")
+class MctsTest implements WithAssertions {
+
+    @Test
+    @DisplayName("avoids the losing move and finds the winning one")
+    void findsWinningMove() {
+        NumberGE engine = new NumberGE(3, 2);
+        engine.start();
+
+        Mcts mcts = Mcts.newBuilder(new Picks(3, 1))
+                .withMaxPlayouts(2000)
+                .withRandom(new SplittableRandom(7L))
+                .build();
+
+        Action[] actions = mcts.search(engine, TurnBudget.unlimited());
+
+        assertThat(((Pick) actions[0]).getValue()).isEqualTo(1);
+        assertThat(mcts.getPlayouts()).isEqualTo(2000);
+        assertThat(mcts.getRootVisits()[1]).isGreaterThan(mcts.getRootVisits()[0]);
+    }
+
+    @Test
+    @DisplayName("leaves the engine in the state it was given")
+    void restoresEngine() {
+        NumberGE engine = new NumberGE(3, 5);
+        engine.start();
+        engine.run(new Action[] { new Pick(1) }, new Action[] { new Pick(0) });
+
+        Mcts.newBuilder(new Picks(4, 4))
+                .withMaxPlayouts(500)
+                .build()
+                .search(engine, TurnBudget.unlimited());
+
+        assertThat(engine.getNumberOfRounds()).isEqualTo(1);
+        assertThat(engine.getPlayerScore()).isEqualTo(1);
+        assertThat(engine.getOpponentScore()).isEqualTo(0);
+        assertThat(engine.snapshot()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("mostly visits the move winning against every opponent move")
+    void visitsDominantMove() {
+        NumberGE engine = new NumberGE(1, 0);
+        engine.start();
+
+        Mcts mcts = Mcts.newBuilder(new Picks(3, 2))
+                .withMaxPlayouts(1000)
+                .build();
+        mcts.search(engine, TurnBudget.unlimited());
+
+        int[] visits = mcts.getRootVisits();
+        assertThat(visits[2]).isGreaterThan(visits[0] + visits[1]);
+    }
+
+    @Test
+    @DisplayName("plays the only move without searching")
+    void playsOnlyMove() {
+        NumberGE engine = new NumberGE(3, 2);
+        engine.start();
+
+        Mcts mcts = Mcts.newBuilder(new Picks(1, 3))
+                .withMaxPlayouts(100)
+                .build();
+        Action[] actions = mcts.search(engine, TurnBudget.unlimited());
+
+        assertThat(((Pick) actions[0]).getValue()).isEqualTo(0);
+        assertThat(mcts.getPlayouts()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("stops once the turn budget is spent")
+    void stopsOnBudget() {
+        NumberGE engine = new NumberGE(50, 9);
+        engine.start();
+
+        TurnBudget budget = new TurnBudget(20, TimeUnit.MILLISECONDS);
+        budget.startTurn();
+        Mcts mcts = Mcts.newBuilder(new Picks(3, 3)).build();
+        mcts.search(engine, budget);
+
+        assertThat(budget.elapsedNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(mcts.getPlayouts()).isGreaterThan(0);
+    }
+
+    @Nested
+    @DisplayName("with a small arena")
+    class Arena {
+
+        @Test
+        @DisplayName("keeps playing out once it is full")
+        void playsOutWhenFull() {
+            NumberGE engine = new NumberGE(10, 9);
+            engine.start();
+
+            Mcts mcts = Mcts.newBuilder(new Picks(3, 3))
+                    .withCapacity(16)
+                    .withMaxPlayouts(1000)
+                    .build();
+            mcts.search(engine, TurnBudget.unlimited());
+
+            assertThat(mcts.getNodes()).isEqualTo(16);
+            assertThat(mcts.getPlayouts()).isEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("only expands visited enough nodes")
+        void expandsAfterVisits() {
+            NumberGE engine = new NumberGE(10, 9);
+            engine.start();
+
+            Mcts mcts = Mcts.newBuilder(new Picks(3, 3))
+                    .withExpansionPolicy(ExpansionPolicy.afterVisits(100))
+                    .withMaxPlayouts(50)
+                    .build();
+            mcts.search(engine, TurnBudget.unlimited());
+
+            assertThat(mcts.getNodes()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("rejects engines without snapshots")
+    void rejectsEngineWithoutSnapshots() {
+        GameEngine engine = MockedGE.any();
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> Mcts.newBuilder(new Picks(2, 2))
+                        .withMaxPlayouts(1)
+                        .build()
+                        .search(engine, TurnBudget.unlimited()))
+                .withMessageContaining("does not support snapshots");
+    }
+
+    @Test
+    @DisplayName("rejects unbounded searches")
+    void rejectsUnboundedSearches() {
+        NumberGE engine = new NumberGE(3, 2);
+        engine.start();
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> Mcts.newBuilder(new Picks(2, 2)).build().search(engine, TurnBudget.unlimited()));
+    }
+
+    /**
+     * Lets each side pick any number below its own bound
+     */
+    static final class Picks implements MoveGenerator {
+
+        private final Action[][] playerMoves;
+        private final Action[][] opponentMoves;
+
+        Picks(int playerBound, int opponentBound) {
+            this.playerMoves = picks(playerBound);
+            this.opponentMoves = picks(opponentBound);
+        }
+
+        private static Action[][] picks(int bound) {
+            Action[][] picks = new Action[bound][];
+            for (int i = 0; i < bound; i++) {
+                picks[i] = new Action[] { new Pick(i) };
+            }
+            return picks;
+        }
+
+        @Override
+        public int playerMoves(GameEngine engine) {
+            return playerMoves.length;
+        }
+
+        @Override
+        public int opponentMoves(GameEngine engine) {
+            return opponentMoves.length;
+        }
+
+        @Override
+        public Action[] playerMove(GameEngine engine, int index) {
+            return playerMoves[index];
+        }
+
+        @Override
+        public Action[] opponentMove(GameEngine engine, int index) {
+            return opponentMoves[index];
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package player.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import player.Player.Action;
+import player.Player.TurnBudget;
+import player.engine.GameEngine;
+import player.engine.NumberGE;
+import player.engine.NumberGE.Pick;
+import player.search.MctsTest.Picks;
+import player.search.ParallelMcts.Parallelism;
+
+@DisplayName("A parallel Monte Carlo tree search")
+class ParallelMctsTest implements WithAssertions {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Nested
+    @DisplayName("with root parallelism")
+    class Root {
+
+        @Test
+        @DisplayName("finds the winning move from the merged trees")
+        void findsWinningMove() {
+            ParallelMcts mcts = ParallelMcts.root(search(4000), 4, executor);
+
+            Action[] actions = mcts.search(engines(4, 3, 2), TurnBudget.unlimited());
+
+            assertThat(((Pick) actions[0]).getValue()).isEqualTo(1);
+            assertThat(mcts.getPlayouts()).isEqualTo(4000);
+            assertThat(IntStream.of(mcts.getRootVisits()).sum()).isEqualTo(4000);
+        }
+    }
+
+    @Nested
+    @DisplayName("with tree parallelism")
+    class Tree {
+
+        @Test
+        @DisplayName("finds the winning move from the shared tree")
+        void findsWinningMove() {
+            ParallelMcts mcts = ParallelMcts.tree(search(4000), 4, executor);
+
+            Action[] actions = mcts.search(engines(4, 3, 2), TurnBudget.unlimited());
+
+            assertThat(((Pick) actions[0]).getValue()).isEqualTo(1);
+            assertThat(mcts.getPlayouts()).isEqualTo(4000);
+            assertThat(IntStream.of(mcts.getRootVisits()).sum()).isEqualTo(4000);
+        }
+
+        @Test
+        @DisplayName("counts every playout once however threads race")
+        void countsEveryPlayout() {
+            ParallelMcts mcts = ParallelMcts.tree(
+                    Mcts.newBuilder(new Picks(3, 3)).withMaxPlayouts(20_000).withCapacity(512), 8, executor);
+
+            for (int search = 0; search < 3; search++) {
+                mcts.search(engines(8, 10, 9), TurnBudget.unlimited());
+
+                assertThat(mcts.getPlayouts()).isEqualTo(20_000);
+                assertThat(IntStream.of(mcts.getRootVisits()).sum()).isEqualTo(20_000);
+                assertThat(mcts.getNodes()).isBetween(2, 512);
+            }
+        }
+
+        @Test
+        @DisplayName("grows up to its node capacity once given enough statistics for the moves of each node")
+        void growsWithStatsCapacity() {
+            Mcts.Builder search = Mcts.newBuilder(new Picks(10, 10)).withMaxPlayouts(2000).withCapacity(64);
+
+            ParallelMcts bounded = ParallelMcts.tree(search, 1, executor);
+            bounded.search(engines(1, 10, 9), TurnBudget.unlimited());
+            ParallelMcts sized = ParallelMcts.tree(search.withStatsCapacity(64 * 20), 1, executor);
+            sized.search(engines(1, 10, 9), TurnBudget.unlimited());
+
+            assertThat(bounded.getNodes()).isLessThan(64);
+            assertThat(sized.getNodes()).isEqualTo(64);
+        }
+
+        @Test
+        @DisplayName("rejects a root with more moves than its statistics")
+        void rejectsOversizedRoot() {
+            ParallelMcts mcts = ParallelMcts.tree(
+                    Mcts.newBuilder(new Picks(10, 10)).withMaxPlayouts(10).withStatsCapacity(10), 1, executor);
+
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> mcts.search(engines(1, 10, 9), TurnBudget.unlimited()))
+                    .withMessageContaining("Unable to fit 20 moves");
+        }
+    }
+
+    @Test
+    @DisplayName("leaves every engine in the state it was given")
+    void restoresEngines() {
+        for (Parallelism parallelism : Parallelism.values()) {
+            List<GameEngine> engines = engines(3, 3, 5);
+            for (GameEngine engine : engines) {
+                engine.run(new Action[] { new Pick(1) }, new Action[] { new Pick(0) });
+            }
+
+            ParallelMcts.of(search(600), parallelism, 3, executor).search(engines, TurnBudget.unlimited());
+
+            assertThat(engines).extracting(GameEngine::getNumberOfRounds).containsOnly(1);
+            assertThat(engines).extracting(GameEngine::getPlayerScore).containsOnly(1);
+        }
+    }
+
+    @Test
+    @DisplayName("stops all threads once the turn budget is spent")
+    void stopsOnBudget() {
+        for (Parallelism parallelism : Parallelism.values()) {
+            ParallelMcts mcts = ParallelMcts.of(Mcts.newBuilder(new Picks(3, 3)), parallelism, 2, executor);
+
+            TurnBudget budget = new TurnBudget(20, TimeUnit.MILLISECONDS);
+            budget.startTurn();
+            mcts.search(engines(2, 50, 9), budget);
+
+            assertThat(budget.elapsedNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+            assertThat(mcts.getPlayouts()).isGreaterThan(0);
+        }
+    }
+
+    @Test
+    @DisplayName("requires an engine per thread")
+    void requiresEnginePerThread() {
+        ParallelMcts mcts = ParallelMcts.root(search(10), 2, executor);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> mcts.search(Collections.singletonList(new NumberGE(3, 2)), TurnBudget.unlimited()))
+                .withMessageContaining("Expected 2 engines");
+    }
+
+    private static Mcts.Builder search(int playouts) {
+        return Mcts.newBuilder(new Picks(3, 1))
+                .withMaxPlayouts(playouts)
+                .withRandom(new SplittableRandom(7L));
+    }
+
+    private static List<GameEngine> engines(int count, int rounds, int forbidden) {
+        List<GameEngine> engines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            NumberGE engine = new NumberGE(rounds, forbidden);
+            engine.start();
+            engines.add(engine);
+        }
+        return engines;
+    }
+}
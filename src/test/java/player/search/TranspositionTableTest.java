@@ -0,0 +1,73 @@
+package player.search;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("A transposition table")
+class TranspositionTableTest implements WithAssertions {
+
+    @Test
+    @DisplayName("returns the stored score, depth, bound and move")
+    void storesEntries() {
+        TranspositionTable table = new TranspositionTable(8);
+        table.store(0x1234_5678_9ABC_DEF0L, -42_000, 17, TranspositionTable.LOWER_BOUND, 65_535);
+
+        long data = table.probe(0x1234_5678_9ABC_DEF0L);
+
+        assertThat(TranspositionTable.score(data)).isEqualTo(-42_000);
+        assertThat(TranspositionTable.depth(data)).isEqualTo(17);
+        assertThat(TranspositionTable.bound(data)).isEqualTo(TranspositionTable.LOWER_BOUND);
+        assertThat(TranspositionTable.move(data)).isEqualTo(65_535);
+    }
+
+    @Test
+    @DisplayName("misses unknown keys, even sharing a bucket with a stored one")
+    void missesUnknownKeys() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.store(3L, 1, 1, TranspositionTable.EXACT, 0);
+
+        assertThat(table.probe(4L)).isEqualTo(TranspositionTable.MISS);
+        assertThat(table.probe(3L + (1L << 40))).isEqualTo(TranspositionTable.MISS);
+    }
+
+    @Test
+    @DisplayName("overwrites the entry of the same key")
+    void overwritesSameKey() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.store(5L, 1, 1, TranspositionTable.EXACT, 0);
+        table.store(5L, 2, 3, TranspositionTable.UPPER_BOUND, 1);
+
+        long data = table.probe(5L);
+
+        assertThat(TranspositionTable.score(data)).isEqualTo(2);
+        assertThat(TranspositionTable.depth(data)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("replaces the shallowest entry of a full bucket")
+    void replacesShallowest() {
+        TranspositionTable table = new TranspositionTable(4);
+        long stride = (1L << 32) + 1;
+        for (int i = 0; i < 4; i++) {
+            table.store(i * stride, i, i == 2 ? 1 : 10, TranspositionTable.EXACT, 0);
+        }
+
+        table.store(4 * stride, 4, 5, TranspositionTable.EXACT, 0);
+
+        assertThat(table.probe(2 * stride)).isEqualTo(TranspositionTable.MISS);
+        assertThat(TranspositionTable.score(table.probe(4 * stride))).isEqualTo(4);
+        assertThat(TranspositionTable.score(table.probe(3 * stride))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("forgets every entry once cleared")
+    void clears() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.store(5L, 1, 1, TranspositionTable.EXACT, 0);
+
+        table.clear();
+
+        assertThat(table.probe(5L)).isEqualTo(TranspositionTable.MISS);
+    }
+}
@@ -0,0 +1,213 @@
+package player.tuning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import player.Player.AI;
+import player.Player.Action;
+import player.engine.GameEngine;
+import player.engine.Winner;
+import player.match.MatchResultCache;
+import player.tuning.Tuner.TuningResult;
+
+@DisplayName("A tuner")
+class TunerTest implements WithAssertions {
+
+    private static final double TARGET = 70.0;
+
+    private ExecutorService gameService;
+    private ExecutorService matchService;
+    private Path directory;
+
+    @BeforeEach
+    void init() throws IOException {
+        gameService = Executors.newFixedThreadPool(2);
+        matchService = Executors.newFixedThreadPool(2);
+        directory = Files.createTempDirectory("tuning");
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        gameService.shutdownNow();
+        matchService.shutdownNow();
+        for (Path file : Files.newDirectoryStream(directory)) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    @DisplayName("moves parameters toward the configuration that wins")
+    void converges() throws Exception {
+        TuningResult result = newTuner(40).build().call();
+
+        assertThat(result.getIterations()).isEqualTo(40);
+        assertThat(result.getValues().get("x")).isBetween(TARGET - 10.0, TARGET + 10.0);
+        assertThat((Integer) result.getConf().get("n")).isBetween(60, 80);
+    }
+
+    @Test
+    @DisplayName("finds the same parameters for the same seed")
+    void reproducible() throws Exception {
+        TuningResult first = newTuner(10).build().call();
+        TuningResult second = newTuner(10).build().call();
+
+        assertThat(second.getValues()).isEqualTo(first.getValues());
+    }
+
+    @Test
+    @DisplayName("resumes from its checkpoint")
+    void resumes() throws Exception {
+        Path checkpoint = directory.resolve("tuner.properties");
+        List<Integer> progress = new ArrayList<>();
+
+        TuningResult interrupted = newTuner(10).withCheckpoint(checkpoint).build().call();
+        Properties saved = new Properties();
+        try (InputStream in = Files.newInputStream(checkpoint)) {
+            saved.load(in);
+        }
+
+        TuningResult resumed = newTuner(20)
+                .withCheckpoint(checkpoint)
+                .withProgressListener((result, completed, total) -> progress.add(completed))
+                .build()
+                .call();
+
+        assertThat(saved.getProperty("iteration")).isEqualTo("10");
+        assertThat(saved.getProperty("seed")).isEqualTo("42");
+        assertThat(Double.parseDouble(saved.getProperty("x"))).isEqualTo(interrupted.getValues().get("x"));
+        assertThat(progress).containsExactly(11, 12, 13, 14, 15, 16, 17, 18, 19, 20);
+        assertThat(resumed.getIterations()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("plays again no match already in its result cache")
+    void reusesCache() throws Exception {
+        try (MatchResultCache cache = new MatchResultCache(directory.resolve("matches.cache"))) {
+            newTuner(5).withResultCache(cache).build().call();
+            int size = cache.size();
+            TuningResult result = newTuner(5).withResultCache(cache).build().call();
+
+            assertThat(cache.size()).isEqualTo(size);
+            assertThat(result.getValues()).isEqualTo(newTuner(5).build().call().getValues());
+        }
+    }
+
+    private Tuner.Builder newTuner(int iterations) {
+        List<Parameter> parameters = Arrays.asList(
+                Parameter.real("x", 0.0, 100.0, 20.0),
+                Parameter.integer("n", 0, 100, 20));
+
+        return Tuner.newBuilder(
+                (conf) -> (input, random) -> new TargetAI(conf),
+                parameters,
+                (random) -> new TargetGE(),
+                gameService,
+                matchService)
+                .withIterations(iterations)
+                .withNumberOfMatches(1)
+                .withLearningRate(0.05)
+                .withSeed(42L);
+    }
+
+    /**
+     * Plays the sum of its distances to the target
+     */
+    private static final class TargetAI extends AI {
+
+        TargetAI(Map<String, Object> conf) {
+            super(conf, TargetAI::noOp);
+        }
+
+        @Override
+        public Action[] play() {
+            double x = (Double) getConf().get("x");
+            int n = (Integer) getConf().get("n");
+            return new Action[] { new Distance(Math.abs(x - TARGET) + Math.abs(n - TARGET)) };
+        }
+
+        private static void noOp() {
+            // ILB
+        }
+    }
+
+    private static final class Distance extends Action {
+
+        private final double value;
+
+        Distance(double value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Single round game won by the AI closest to the target
+     */
+    private static final class TargetGE implements GameEngine {
+
+        private Winner winner = Winner.ON_GOING;
+
+        @Override
+        public void start() {
+            winner = Winner.ON_GOING;
+        }
+
+        @Override
+        public void run(Action[] playerActions, Action[] opponentActions) {
+            double player = ((Distance) playerActions[0]).value;
+            double opponent = ((Distance) opponentActions[0]).value;
+            winner = player < opponent ? Winner.PLAYER : Winner.OPPONENT;
+        }
+
+        @Override
+        public Winner getWinner() {
+            return winner;
+        }
+
+        @Override
+        public int playerInput() {
+            return 0;
+        }
+
+        @Override
+        public int opponentInput() {
+            return 0;
+        }
+
+        @Override
+        public int getPlayerScore() {
+            return 0;
+        }
+
+        @Override
+        public int getOpponentScore() {
+            return 0;
+        }
+
+        @Override
+        public int getNumberOfRounds() {
+            return 1;
+        }
+
+        @Override
+        public Map<String, Object> getConf() {
+            return Collections.emptyMap();
+        }
+    }
+}